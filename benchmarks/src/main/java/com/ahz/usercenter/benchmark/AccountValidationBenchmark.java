@@ -0,0 +1,50 @@
+package com.ahz.usercenter.benchmark;
+
+import com.ahz.usercenter.validation.CharRule;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 账号校验基准测试
+ * 注册和登录时检查账号是否包含特殊字符；
+ * compilePerCall 为旧版 UserServiceImpl 的写法（每次请求编译正则），precompiled 为预编译正则，
+ * codePointTable 为当前 validation 包的码点位图查表（CharRule.ACCOUNT）
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountValidationBenchmark {
+
+    /**
+     * 旧版 UserServiceImpl 登录校验中的正则
+     */
+    private static final String VALID_PATTERN = "[`~!@#$%^&*()+=|{}':;',\\\\[\\\\].<>/?~！@#￥%……&*（）——+|{}【】'；：\"\"'。，、？]";
+
+    private static final Pattern COMPILED = Pattern.compile(VALID_PATTERN);
+
+    @Param({"testuser", "test_user_with_a_long_account_name_2024", "bad#user"})
+    private String account;
+
+    @Benchmark
+    public boolean compilePerCall() {
+        return Pattern.compile(VALID_PATTERN).matcher(account).find();
+    }
+
+    @Benchmark
+    public boolean precompiled() {
+        return COMPILED.matcher(account).find();
+    }
+
+    @Benchmark
+    public boolean codePointTable() {
+        return !CharRule.ACCOUNT.accepts(account);
+    }
+}
@@ -0,0 +1,81 @@
+package com.ahz.usercenter.benchmark;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 基准测试结果对比
+ * 读取两份 JMH JSON 结果（-rf json），按基准测试和参数逐项对比得分，变差超过阈值时以非零状态退出
+ * <p>
+ * 用法：java -cp benchmarks/target/benchmarks.jar com.ahz.usercenter.benchmark.BaselineComparator
+ * benchmarks/results/baseline.json current.json [阈值百分比，默认 10]
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+public class BaselineComparator {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparator <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        Map<String, JSONObject> baseline = load(Path.of(args[0]));
+        Map<String, JSONObject> current = load(Path.of(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JSONObject> entry : current.entrySet()) {
+            JSONObject before = baseline.get(entry.getKey());
+            JSONObject metric = entry.getValue().getJSONObject("primaryMetric");
+            String unit = metric.getString("scoreUnit");
+            double score = metric.getDoubleValue("score");
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  %s%n", entry.getKey(), "-", score, "new", unit);
+                continue;
+            }
+            double baseScore = before.getJSONObject("primaryMetric").getDoubleValue("score");
+            double change = (score - baseScore) / baseScore * 100;
+            // 吞吐量模式得分越高越好，其余模式（耗时）越低越好
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().getString("mode"));
+            double worse = higherIsBetter ? -change : change;
+            boolean regressed = worse > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), baseScore, score, change, unit,
+                    regressed ? "  REGRESSION" : "");
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 读取 JMH 结果，键为 "基准测试方法 参数"
+     */
+    private static Map<String, JSONObject> load(Path path) throws IOException {
+        JSONArray results = JSON.parseArray(Files.readString(path));
+        Map<String, JSONObject> byKey = new LinkedHashMap<>();
+        for (int i = 0; i < results.size(); i++) {
+            JSONObject result = results.getJSONObject(i);
+            String name = result.getString("benchmark").replace("com.ahz.usercenter.benchmark.", "");
+            JSONObject params = result.getJSONObject("params");
+            String key = params == null || params.isEmpty() ? name : name + " " + new TreeMap<>(params);
+            byKey.put(key, result);
+        }
+        return byKey;
+    }
+}
@@ -0,0 +1,63 @@
+package com.ahz.usercenter.benchmark;
+
+import com.ahz.usercenter.model.dto.UserDTO;
+import com.ahz.usercenter.utils.BinarySessionCodec;
+import com.ahz.usercenter.utils.JsonSessionCodec;
+import com.ahz.usercenter.utils.SessionCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 会话编解码器基准测试
+ * 对比 JSON 与紧凑二进制格式的编码、解码耗时（编码大小在 setup 时打印）
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SessionCodecBenchmark {
+
+    @Param({JsonSessionCodec.NAME, BinarySessionCodec.NAME})
+    private String codecName;
+
+    private SessionCodec codec;
+
+    private UserDTO user;
+
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        codec = JsonSessionCodec.NAME.equals(codecName) ? new JsonSessionCodec() : new BinarySessionCodec();
+        user = new UserDTO();
+        user.setId(1234567L);
+        user.setUsername("测试用户");
+        user.setUserAccount("testuser");
+        user.setAvatarUrl("https://636f-codenav-8grj8px727565176-1256524210.tcb.qcloud.la/img/logo.png");
+        user.setGender("unknown");
+        user.setPhone("12345678901");
+        user.setEmail("test@example.com");
+        user.setUserStatus("active");
+        user.setCreateTime(new Date(1700000000000L));
+        user.setUserRole("user");
+        encoded = codec.encode(user);
+        System.out.println(codecName + " encoded size: " + encoded.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(user);
+    }
+
+    @Benchmark
+    public UserDTO decode() {
+        return codec.decode(encoded);
+    }
+}
@@ -0,0 +1,77 @@
+package com.ahz.usercenter.benchmark;
+
+import com.ahz.usercenter.model.domain.User;
+import com.ahz.usercenter.model.dto.UserDTO;
+import com.ahz.usercenter.service.impl.UserServiceImpl;
+import com.ahz.usercenter.utils.UserConvertor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanUtils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户对象转换基准测试
+ * beanUtilsToDTO 为旧版 UserConvertor.toDTO（BeanUtils 反射复制），toDTO 为 MapStruct 编译期生成的转换，
+ * getSafetyUser 为脱敏副本；legacyListPath 为旧版管理员列表接口对每条记录先脱敏再反射复制的两次复制，
+ * 当前列表接口只执行一次 toDTO
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserConvertBenchmark {
+
+    private UserServiceImpl userService;
+
+    private User user;
+
+    @Setup
+    public void setup() {
+        // getSafetyUser 不依赖注入的字段，直接实例化
+        userService = new UserServiceImpl();
+        user = new User();
+        user.setId(1234567L);
+        user.setUsername("测试用户");
+        user.setUserAccount("testuser");
+        user.setAvatarUrl("https://636f-codenav-8grj8px727565176-1256524210.tcb.qcloud.la/img/logo.png");
+        user.setGender("unknown");
+        user.setUserPassword("$2a$10$abcdefghijklmnopqrstuu5Jf9Yl1yH9bOqJ6PpQ6x8zvXGq2nV7W");
+        user.setPhone("12345678901");
+        user.setEmail("test@example.com");
+        user.setUserStatus("active");
+        user.setCreateTime(new Date(1700000000000L));
+        user.setUpdateTime(new Date(1700000000000L));
+        user.setIsDelete(0L);
+        user.setUserRole("user");
+    }
+
+    @Benchmark
+    public UserDTO beanUtilsToDTO() {
+        UserDTO userDTO = new UserDTO();
+        BeanUtils.copyProperties(user, userDTO);
+        return userDTO;
+    }
+
+    @Benchmark
+    public UserDTO toDTO() {
+        return UserConvertor.toDTO(user);
+    }
+
+    @Benchmark
+    public User getSafetyUser() {
+        return userService.getSafetyUser(user);
+    }
+
+    @Benchmark
+    public UserDTO legacyListPath() {
+        UserDTO userDTO = new UserDTO();
+        BeanUtils.copyProperties(userService.getSafetyUser(user), userDTO);
+        return userDTO;
+    }
+}
@@ -0,0 +1,111 @@
+package com.ahz.usercenter.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 虚拟线程与平台线程的请求处理吞吐量对比
+ * 模拟一批并发请求，每个请求依次访问 Redis 和 MySQL（以固定阻塞时长模拟网络往返），
+ * 平台线程模式使用与 Tomcat 默认值相同的 200 线程池，虚拟线程模式每个请求一个虚拟线程
+ * Redis 命令默认走 Lettuce 共享的原生连接（多路复用，不受连接池限制），数据库查询受连接池（信号量）限制
+ * 结果为每秒处理的批次数，乘以 concurrency 即为请求吞吐量；
+ * redisOnlyPercent=100 时瓶颈在线程数，虚拟线程优势明显，有数据库查询时瓶颈转移到数据库连接池
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+
+    /**
+     * Tomcat 默认最大线程数
+     */
+    private static final int PLATFORM_THREADS = 200;
+
+    /**
+     * 数据库连接池大小（spring.datasource.hikari.maximum-pool-size）
+     */
+    private static final int DB_POOL_SIZE = 20;
+
+    /**
+     * Redis 往返耗时（微秒）
+     */
+    private static final long REDIS_LATENCY_MICROS = 1_000;
+
+    /**
+     * 数据库查询耗时（微秒）
+     */
+    private static final long DB_LATENCY_MICROS = 2_000;
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    @Param({"1000", "10000"})
+    private int concurrency;
+
+    /**
+     * 只访问 Redis 的请求占比（百分比），其余请求还会查询一次数据库（如缓存未命中）
+     */
+    @Param({"100", "90"})
+    private int redisOnlyPercent;
+
+    private ExecutorService executor;
+
+    private Semaphore dbPool;
+
+    @Setup
+    public void setup() {
+        executor = "virtual".equals(mode)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+        dbPool = new Semaphore(DB_POOL_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int handleRequests() throws Exception {
+        List<Future<Integer>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            boolean redisOnly = i % 100 < redisOnlyPercent;
+            futures.add(executor.submit(() -> handle(redisOnly)));
+        }
+        int handled = 0;
+        for (Future<Integer> future : futures) {
+            handled += future.get();
+        }
+        return handled;
+    }
+
+    /**
+     * 处理单个请求：校验 Token（Redis），按需查询用户（MySQL）
+     */
+    private int handle(boolean redisOnly) throws InterruptedException {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(REDIS_LATENCY_MICROS));
+        if (!redisOnly) {
+            dbPool.acquire();
+            try {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(DB_LATENCY_MICROS));
+            } finally {
+                dbPool.release();
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,410 @@
+package com.ahz.usercenter.cache;
+
+import com.ahz.usercenter.config.AccountBloomProperties;
+import com.ahz.usercenter.mapper.UserMapper;
+import com.ahz.usercenter.model.domain.User;
+import com.ahz.usercenter.utils.BloomFilter;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 账号布隆过滤器
+ * 判定账号一定不存在时，注册和导入跳过查重查询，账号可用性查询不访问数据库；判定可能存在时再查数据库确认
+ * <p>
+ * 可扩展：每层写满预期数量后追加容量翻倍、误判率减半的新层，整体误判率不超过配置值；
+ * 单层位数不超过 Redis 位图上限（2^32 位），达到上限后新层不再扩大容量，只增加层数。
+ * 进程内保存完整位图，写入时同步 SETBIT 到 Redis 位图（每层一个 key），其他节点定时从 Redis 合并；
+ * 启动时从 Redis 加载，Redis 中没有时（首次部署或数据被清空）由一个节点扫描用户表重建。
+ * 加载完成前、或 Redis 不可用导致其他节点写入的账号尚未合并时，唯一索引仍保证账号不重复
+ * <p>
+ * 账号删除后位不会清除，只会增加误判（多一次查询），不影响正确性
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Component
+@Slf4j
+public class AccountBloomFilter {
+
+    private static final String KEY_PREFIX = "ACCOUNT_BLOOM:";
+
+    /**
+     * 元数据（Hash）：count:{层序号} -> 该层已写入的账号数；version:{层序号} -> 该层被整体合并写入的次数；
+     * complete 表示位图包含用户表中的全部账号
+     */
+    private static final String META_KEY = KEY_PREFIX + "META";
+
+    private static final String COUNT_FIELD_PREFIX = "count:";
+
+    private static final String VERSION_FIELD_PREFIX = "version:";
+
+    /**
+     * 只有完整重建或恢复后才写入，Redis 被清空后零散的 SETBIT 不会被误认为完整数据
+     */
+    private static final String COMPLETE_FIELD = "complete";
+
+    private static final String REBUILD_LOCK_KEY = KEY_PREFIX + "REBUILD_LOCK";
+
+    private static final Duration REBUILD_LOCK_TTL = Duration.ofMinutes(10);
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Resource
+    private UserMapper userMapper;
+
+    @Resource
+    private AccountBloomProperties bloomProperties;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    private final List<BloomFilter> layers = new CopyOnWriteArrayList<>();
+
+    /**
+     * 各层已写入的账号数（本节点视角，合并时取与 Redis 的较大值）
+     */
+    private final List<Long> counts = new ArrayList<>();
+
+    /**
+     * 各层上次从 Redis 读取位图时的计数和版本（只在定时线程上访问），未变化的层合并时不再读取
+     */
+    private final Map<Integer, String> loadedStamps = new HashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "account-bloom");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 是否已从 Redis 加载或从用户表重建完成
+     */
+    private volatile boolean ready;
+
+    private Counter absentCounter;
+
+    private Counter maybeCounter;
+
+    @PostConstruct
+    public void init() {
+        addLayer();
+        absentCounter = checkCounter("absent");
+        maybeCounter = checkCounter("maybe");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (bloomProperties.isEnabled()) {
+            scheduler.execute(this::initialize);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 是否已就绪（未就绪时所有账号都按可能存在处理）
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 账号可能已存在（false 表示一定不存在）
+     *
+     * @param userAccount 用户账号
+     * @return 是否可能存在
+     */
+    public boolean mightContain(String userAccount) {
+        if (!bloomProperties.isEnabled() || !ready) {
+            return true;
+        }
+        long[] hash = BloomFilter.hash(userAccount);
+        for (BloomFilter layer : layers) {
+            if (layer.mightContain(hash)) {
+                maybeCounter.increment();
+                return true;
+            }
+        }
+        absentCounter.increment();
+        return false;
+    }
+
+    /**
+     * 记录新账号
+     *
+     * @param userAccount 用户账号
+     */
+    public void put(String userAccount) {
+        putAll(List.of(userAccount));
+    }
+
+    /**
+     * 批量记录新账号（一次 Redis 管道写入）
+     *
+     * @param userAccounts 用户账号
+     */
+    public void putAll(Collection<String> userAccounts) {
+        if (!bloomProperties.isEnabled() || userAccounts.isEmpty()) {
+            return;
+        }
+        List<PendingBits> pending = new ArrayList<>(userAccounts.size());
+        synchronized (this) {
+            for (String userAccount : userAccounts) {
+                pending.add(putLocal(userAccount));
+            }
+        }
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (PendingBits bits : pending) {
+                    byte[] key = layerKey(bits.layer);
+                    for (long offset : bits.offsets) {
+                        connection.stringCommands().setBit(key, offset, true);
+                    }
+                    connection.hashCommands().hIncrBy(bytes(META_KEY), bytes(COUNT_FIELD_PREFIX + bits.layer), 1);
+                }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            // 本节点的位图已更新；Redis 中缺少的位在下次定时合并时补写
+            log.warn("Failed to write account bloom bits to Redis: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 启动时加载或重建，失败时稍后重试
+     */
+    private void initialize() {
+        try {
+            if (load()) {
+                log.info("Account bloom filter loaded from Redis, layers={}, accounts={}", layers.size(), totalCount());
+            } else if (!rebuild()) {
+                // 其他节点正在重建，稍后加载
+                scheduler.schedule(this::initialize, bloomProperties.getRefreshInterval().toMillis(), TimeUnit.MILLISECONDS);
+                return;
+            }
+            ready = true;
+            long interval = bloomProperties.getRefreshInterval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            log.warn("Failed to initialize account bloom filter, retry in {}: {}", bloomProperties.getRefreshInterval(), e.getMessage());
+            scheduler.schedule(this::initialize, bloomProperties.getRefreshInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 合并其他节点写入的位；Redis 中的数据丢失时用本节点的位图恢复
+     */
+    private void refresh() {
+        try {
+            if (!load()) {
+                log.warn("Account bloom filter missing in Redis, restoring from local copy");
+                loadedStamps.clear();
+                persist();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh account bloom filter: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 从 Redis 合并位图和计数
+     * 每层写入账号时计数递增、整体合并写入时版本递增，只读取计数或版本与上次读取时不同的层；
+     * 已写满的层不再变化，定时合并只读取一次元数据和最新一层
+     *
+     * @return Redis 中是否有完整数据
+     */
+    private boolean load() {
+        Map<Object, Object> meta = stringRedisTemplate.opsForHash().entries(META_KEY);
+        if (!meta.containsKey(COMPLETE_FIELD)) {
+            return false;
+        }
+        for (int index = 0; index < meta.size(); index++) {
+            Object count = meta.get(COUNT_FIELD_PREFIX + index);
+            if (count == null) {
+                break;
+            }
+            // 先读元数据再读位图：写入方先写位再递增计数，读到的位图不会比记录的计数旧
+            String stamp = count + ":" + meta.getOrDefault(VERSION_FIELD_PREFIX + index, "0");
+            if (stamp.equals(loadedStamps.get(index))) {
+                continue;
+            }
+            byte[] key = layerKey(index);
+            byte[] data = stringRedisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands().get(key));
+            if (data != null) {
+                loadedStamps.put(index, stamp);
+            }
+            synchronized (this) {
+                while (layers.size() <= index) {
+                    addLayer();
+                }
+                if (data != null) {
+                    layers.get(index).merge(data);
+                }
+                counts.set(index, Math.max(counts.get(index), Long.parseLong(count.toString())));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 扫描用户表重建（同一时间只有一个节点重建）
+     *
+     * @return 是否由本节点完成重建
+     */
+    private boolean rebuild() {
+        String owner = UUID.randomUUID().toString();
+        Boolean locked = stringRedisTemplate.opsForValue().setIfAbsent(REBUILD_LOCK_KEY, owner, REBUILD_LOCK_TTL);
+        if (!Boolean.TRUE.equals(locked)) {
+            return false;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            int batchSize = bloomProperties.getRebuildBatchSize();
+            long lastId = 0;
+            long total = 0;
+            while (true) {
+                QueryWrapper<User> queryWrapper = new QueryWrapper<>();
+                queryWrapper.select("user_id", "user_account").gt("user_id", lastId)
+                        .orderByAsc("user_id").last("limit " + batchSize);
+                List<User> users = userMapper.selectList(queryWrapper);
+                synchronized (this) {
+                    for (User user : users) {
+                        if (user.getUserAccount() != null) {
+                            putLocal(user.getUserAccount());
+                        }
+                    }
+                }
+                total += users.size();
+                if (users.size() < batchSize) {
+                    break;
+                }
+                lastId = users.get(users.size() - 1).getId();
+            }
+            persist();
+            log.info("Account bloom filter rebuilt from user table, accounts={}, layers={}, elapsedMs={}",
+                    total, layers.size(), System.currentTimeMillis() - start);
+            return true;
+        } finally {
+            if (owner.equals(stringRedisTemplate.opsForValue().get(REBUILD_LOCK_KEY))) {
+                stringRedisTemplate.delete(REBUILD_LOCK_KEY);
+            }
+        }
+    }
+
+    /**
+     * 把本节点的位图按位或写入 Redis（不覆盖其他节点已写入的位），并写入计数
+     */
+    private void persist() {
+        List<byte[]> snapshots = new ArrayList<>();
+        List<Long> snapshotCounts;
+        synchronized (this) {
+            for (BloomFilter layer : layers) {
+                snapshots.add(layer.toByteArray());
+            }
+            snapshotCounts = new ArrayList<>(counts);
+        }
+        for (int index = 0; index < snapshots.size(); index++) {
+            byte[] key = layerKey(index);
+            byte[] temp = bytes(KEY_PREFIX + "MERGE:" + UUID.randomUUID());
+            byte[] data = snapshots.get(index);
+            stringRedisTemplate.execute((RedisCallback<Object>) connection -> {
+                connection.stringCommands().set(temp, data, Expiration.seconds(60), RedisStringCommands.SetOption.upsert());
+                connection.stringCommands().bitOp(RedisStringCommands.BitOperation.OR, key, key, temp);
+                connection.keyCommands().del(temp);
+                return null;
+            });
+            stringRedisTemplate.opsForHash().increment(META_KEY, VERSION_FIELD_PREFIX + index, 1);
+            String field = COUNT_FIELD_PREFIX + index;
+            Object current = stringRedisTemplate.opsForHash().get(META_KEY, field);
+            long stored = current != null ? Long.parseLong(current.toString()) : 0;
+            if (snapshotCounts.get(index) > stored) {
+                stringRedisTemplate.opsForHash().increment(META_KEY, field, snapshotCounts.get(index) - stored);
+            }
+        }
+        stringRedisTemplate.opsForHash().put(META_KEY, COMPLETE_FIELD, "1");
+    }
+
+    /**
+     * 写入本节点位图的最新一层，写满时追加新层（调用方持有锁）
+     *
+     * @param userAccount 用户账号
+     * @return 写入的位
+     */
+    private PendingBits putLocal(String userAccount) {
+        int index = layers.size() - 1;
+        long[] offsets = layers.get(index).put(BloomFilter.hash(userAccount));
+        counts.set(index, counts.get(index) + 1);
+        if (counts.get(index) >= layers.get(index).getCapacity()) {
+            addLayer();
+        }
+        return new PendingBits(index, offsets);
+    }
+
+    /**
+     * 追加一层：第 i 层容量为初始容量的 2^i 倍，误判率为总误判率的 1/2^(i+1)
+     * 所需位数超过 Redis 位图上限时按上限缩小该层容量（误判率不变），账号更多时由后续层承接
+     */
+    private synchronized void addLayer() {
+        int index = layers.size();
+        double falsePositiveRate = bloomProperties.getFalsePositiveRate() / (1L << Math.min(index + 1, 40));
+        long capacity = Math.min(bloomProperties.getInitialCapacity() << Math.min(index, 20),
+                BloomFilter.maxCapacity(falsePositiveRate));
+        layers.add(new BloomFilter(capacity, falsePositiveRate));
+        counts.add(0L);
+    }
+
+    private synchronized long totalCount() {
+        return counts.stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static byte[] layerKey(int index) {
+        return bytes(KEY_PREFIX + index);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Counter checkCounter(String result) {
+        return Counter.builder("userhub.account.bloom.checks")
+                .description("账号布隆过滤器判定次数（absent 表示跳过了数据库查询）")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 待同步到 Redis 的位
+     */
+    private record PendingBits(int layer, long[] offsets) {
+    }
+}
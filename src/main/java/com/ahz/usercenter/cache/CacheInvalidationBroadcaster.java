@@ -0,0 +1,138 @@
+package com.ahz.usercenter.cache;
+
+import com.ahz.usercenter.config.TokenProperties;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 缓存失效广播
+ * 本节点先同步失效本地缓存，再通过 Redis 发布订阅通知其他节点
+ * 消息格式：{类型}:{内容}，例如 token:USER_TOKEN:xxx、user:1、users:1,2,3、all:*
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBroadcaster implements MessageListener {
+
+    private static final String TYPE_TOKEN = "token";
+
+    private static final String TYPE_USER = "user";
+
+    private static final String TYPE_USERS = "users";
+
+    private static final String TYPE_ALL = "all";
+
+    @Resource(name = "stringRedisTemplate")
+    private StringRedisTemplate redisTemplate;
+
+    @Resource
+    private TokenProperties tokenProperties;
+
+    @Resource
+    private List<InvalidationHandler> handlers;
+
+    /**
+     * 广播 Token 失效
+     *
+     * @param token Token
+     */
+    public void publishTokenInvalidation(@NonNull String token) {
+        dispatch(TYPE_TOKEN, token);
+        publish(TYPE_TOKEN + ":" + token);
+    }
+
+    /**
+     * 广播用户数据失效
+     *
+     * @param userId 用户 ID
+     */
+    public void publishUserInvalidation(@Nullable Long userId) {
+        if (userId == null) {
+            return;
+        }
+        dispatch(TYPE_USER, String.valueOf(userId));
+        publish(TYPE_USER + ":" + userId);
+    }
+
+    /**
+     * 批量广播用户数据失效（批量操作时合并为一条消息）
+     *
+     * @param userIds 用户 ID
+     */
+    public void publishUsersInvalidation(@NonNull Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        String value = userIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        dispatch(TYPE_USERS, value);
+        publish(TYPE_USERS + ":" + value);
+    }
+
+    /**
+     * 广播全部 Token 失效（全员下线）
+     */
+    public void publishAllTokensInvalidation() {
+        dispatch(TYPE_ALL, "*");
+        publish(TYPE_ALL + ":*");
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int index = body.indexOf(':');
+        if (index <= 0) {
+            log.warn("Ignore malformed invalidation message: {}", body);
+            return;
+        }
+        dispatch(body.substring(0, index), body.substring(index + 1));
+    }
+
+    /**
+     * 分发到本地缓存（失效操作幂等，收到自己发出的消息不会有副作用）
+     */
+    private void dispatch(String type, String value) {
+        try {
+            switch (type) {
+                case TYPE_TOKEN -> handlers.forEach(handler -> handler.onTokenInvalidated(value));
+                case TYPE_USER -> {
+                    Long userId = Long.valueOf(value);
+                    handlers.forEach(handler -> handler.onUserInvalidated(userId));
+                }
+                case TYPE_USERS -> {
+                    for (String id : value.split(",")) {
+                        Long userId = Long.valueOf(id);
+                        handlers.forEach(handler -> handler.onUserInvalidated(userId));
+                    }
+                }
+                case TYPE_ALL -> handlers.forEach(InvalidationHandler::onAllTokensInvalidated);
+                default -> log.warn("Unknown invalidation type: {}", type);
+            }
+        } catch (Exception e) {
+            log.error("Failed to apply invalidation {}:{}", type, value, e);
+        }
+    }
+
+    /**
+     * 发布失效消息，Redis 不可用时只记录日志（其他节点的近端缓存会在 TTL 后自然过期）
+     */
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(tokenProperties.getInvalidationChannel(), message);
+        } catch (Exception e) {
+            log.error("Failed to publish invalidation message: {}", message, e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.ahz.usercenter.cache;
+
+/**
+ * 缓存失效处理器
+ * 由各个进程内缓存实现，接收来自本节点或其他节点的失效通知
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+public interface InvalidationHandler {
+
+    /**
+     * 指定 Token 失效
+     *
+     * @param token Token
+     */
+    default void onTokenInvalidated(String token) {
+    }
+
+    /**
+     * 指定用户的数据失效
+     *
+     * @param userId 用户 ID
+     */
+    default void onUserInvalidated(Long userId) {
+    }
+
+    /**
+     * 全部 Token 失效（全员下线）
+     */
+    default void onAllTokensInvalidated() {
+    }
+}
@@ -0,0 +1,101 @@
+package com.ahz.usercenter.cache;
+
+import com.ahz.usercenter.config.TokenProperties;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 缓存失效订阅
+ * 应用就绪后订阅 Redis 失效频道，Redis 不可用时定时重试，不阻塞应用启动
+ * 监听容器不注册为 Spring Bean，避免容器随上下文启动时因 Redis 不可用导致启动失败
+ * 开启虚拟线程时，失效消息在虚拟线程上分发
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Component
+@Slf4j
+public class InvalidationSubscriber {
+
+    /**
+     * 重试间隔（秒）
+     */
+    private static final long RETRY_INTERVAL_SECONDS = 5;
+
+    @Resource
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Resource
+    private CacheInvalidationBroadcaster invalidationBroadcaster;
+
+    @Resource
+    private TokenProperties tokenProperties;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "invalidation-subscriber");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Resource
+    private Environment environment;
+
+    private volatile RedisMessageListenerContainer container;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduler.execute(this::trySubscribe);
+    }
+
+    private void trySubscribe() {
+        RedisMessageListenerContainer listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(redisConnectionFactory);
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("invalidation-listener-");
+            taskExecutor.setVirtualThreads(true);
+            listenerContainer.setTaskExecutor(taskExecutor);
+        }
+        listenerContainer.addMessageListener(invalidationBroadcaster,
+                new ChannelTopic(tokenProperties.getInvalidationChannel()));
+        try {
+            listenerContainer.afterPropertiesSet();
+            listenerContainer.start();
+            container = listenerContainer;
+            log.info("Subscribed cache invalidation channel: {}", tokenProperties.getInvalidationChannel());
+        } catch (Exception e) {
+            log.warn("Failed to subscribe cache invalidation channel, retry in {}s: {}", RETRY_INTERVAL_SECONDS, e.getMessage());
+            destroyQuietly(listenerContainer);
+            scheduler.schedule(this::trySubscribe, RETRY_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        scheduler.shutdownNow();
+        if (container != null) {
+            destroyQuietly(container);
+        }
+    }
+
+    private void destroyQuietly(RedisMessageListenerContainer listenerContainer) {
+        try {
+            listenerContainer.destroy();
+        } catch (Exception e) {
+            log.debug("Failed to destroy listener container", e);
+        }
+    }
+}
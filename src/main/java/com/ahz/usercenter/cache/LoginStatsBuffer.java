@@ -0,0 +1,210 @@
+package com.ahz.usercenter.cache;
+
+import com.ahz.usercenter.config.LoginStatsProperties;
+import com.ahz.usercenter.mapper.UserMapper;
+import com.ahz.usercenter.model.domain.UserLoginStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 登录统计写入缓冲（最近登录时间、最近登录 IP、登录次数）
+ * 登录时只在进程内按用户合并累计值，不访问数据库；后台线程定期把各用户的累计值
+ * 以一条关联 UPDATE 批量写入 user 表，同一用户在一个周期内多次登录只写一次
+ * <p>
+ * 各节点独立累计：登录次数为累加，最近登录时间和 IP 只在更晚时覆盖，因此多节点并发写入结果正确；
+ * 进程异常退出时丢失最近一个周期的统计
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Component
+@Slf4j
+public class LoginStatsBuffer {
+
+    private static final int MAX_IP_LENGTH = 64;
+
+    @Resource
+    private UserMapper userMapper;
+
+    @Resource
+    private UserCache userCache;
+
+    @Resource
+    private LoginStatsProperties loginStatsProperties;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 用户 ID -> 本周期累计的统计（值不可变，通过 merge 原子替换）
+     */
+    private final Map<Long, UserLoginStats> pending = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "login-stats-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 是否已提交提前写入的任务
+     */
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private Counter writtenCounter;
+
+    private Counter droppedCounter;
+
+    private Timer flushTimer;
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("userhub.login.stats.pending", pending, Map::size)
+                .description("等待写入登录统计的用户数")
+                .register(meterRegistry);
+        writtenCounter = Counter.builder("userhub.login.stats.written")
+                .description("已写入数据库的用户登录统计数（每个用户每个周期计一次）")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("userhub.login.stats.dropped")
+                .description("积压过多或写入失败而丢弃的登录次数")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("userhub.login.stats.flush")
+                .description("登录统计批量写入耗时")
+                .register(meterRegistry);
+        long intervalMs = Math.max(1, loginStatsProperties.getFlushInterval().toMillis());
+        writer.scheduleWithFixedDelay(this::drain, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                writer.shutdownNow();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        drain();
+    }
+
+    /**
+     * 记录一次成功登录
+     *
+     * @param userId   用户 ID
+     * @param clientIp 登录 IP（可为空）
+     */
+    public void record(Long userId, String clientIp) {
+        if (!loginStatsProperties.isEnabled() || userId == null) {
+            return;
+        }
+        UserLoginStats stats = new UserLoginStats(userId, 1, new Date(), StringUtils.truncate(clientIp, MAX_IP_LENGTH));
+        if (!offer(stats)) {
+            droppedCounter.increment();
+            return;
+        }
+        if (pending.size() >= loginStatsProperties.getMaxPending() && flushRequested.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // 正在关闭，剩余统计由 destroy 写入
+            }
+        }
+    }
+
+    /**
+     * 立即写入全部累计值并等待完成
+     */
+    public void flush() {
+        try {
+            writer.submit(this::drain).get();
+        } catch (RejectedExecutionException e) {
+            log.debug("Login stats writer is shutting down, skip flush");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Failed to flush login stats", e.getCause());
+        }
+    }
+
+    /**
+     * 合并到累计值；已有该用户时总是合并，新用户在积压超过上限（数据库长时间不可用）时拒绝
+     *
+     * @param stats 统计
+     * @return 是否已合并
+     */
+    private boolean offer(UserLoginStats stats) {
+        if (pending.size() >= loginStatsProperties.getMaxPending() * 2L && !pending.containsKey(stats.getUserId())) {
+            return false;
+        }
+        pending.merge(stats.getUserId(), stats, UserLoginStats::merge);
+        return true;
+    }
+
+    /**
+     * 取出全部累计值并按批写入（只在写入线程或写入线程结束后调用）
+     * 逐个 remove 取出：取出后的新登录会产生新的累计值，留到下个周期写入，不会丢失
+     */
+    private void drain() {
+        flushRequested.set(false);
+        int batchSize = Math.max(1, loginStatsProperties.getBatchSize());
+        List<UserLoginStats> batch = new ArrayList<>(batchSize);
+        for (Long userId : pending.keySet()) {
+            UserLoginStats stats = pending.remove(userId);
+            if (stats == null) {
+                continue;
+            }
+            batch.add(stats);
+            if (batch.size() >= batchSize) {
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void write(List<UserLoginStats> batch) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            userMapper.updateLoginStats(batch);
+            writtenCounter.increment(batch.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to write login stats for {} users, will retry next interval", batch.size(), e);
+            // 放回累计值，下个周期重试（积压超过上限的部分丢弃）
+            for (UserLoginStats stats : batch) {
+                if (!offer(stats)) {
+                    droppedCounter.increment(stats.getLoginCount());
+                }
+            }
+            return;
+        } finally {
+            sample.stop(flushTimer);
+        }
+        // 管理员查看单个用户时读取用户缓存，写入后清除，其他节点的 L1 缓存在 TTL 内过期
+        userCache.evictShared(batch.stream().map(UserLoginStats::getUserId).toList());
+    }
+}
@@ -0,0 +1,91 @@
+package com.ahz.usercenter.cache;
+
+import com.ahz.usercenter.config.TokenProperties;
+import com.ahz.usercenter.model.dto.UserDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token 近端缓存
+ * 在进程内缓存已验证的 Token -> UserDTO，命中时跳过 Redis 访问和反序列化
+ * 条目存活时间远小于 Token 过期时间，跨节点一致性由 Redis 发布订阅的失效通知保证
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Component
+public class TokenNearCache implements InvalidationHandler {
+
+    @Resource
+    private TokenProperties tokenProperties;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, UserDTO> cache;
+
+    @PostConstruct
+    public void init() {
+        TokenProperties.NearCache config = tokenProperties.getNearCache();
+        cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTtl())
+                .recordStats()
+                .build();
+        // 命中率：cache.gets{cache=tokenNearCache,result=hit|miss}
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "tokenNearCache");
+    }
+
+    /**
+     * 是否启用近端缓存
+     */
+    public boolean isEnabled() {
+        return tokenProperties.getNearCache().isEnabled();
+    }
+
+    /**
+     * 获取缓存的用户信息
+     *
+     * @param token Token
+     * @return 用户信息，未命中返回 null
+     */
+    public UserDTO get(String token) {
+        if (!isEnabled()) {
+            return null;
+        }
+        return cache.getIfPresent(token);
+    }
+
+    /**
+     * 缓存已验证的 Token
+     *
+     * @param token Token
+     * @param user  用户信息
+     */
+    public void put(String token, UserDTO user) {
+        if (isEnabled()) {
+            cache.put(token, user);
+        }
+    }
+
+    @Override
+    public void onTokenInvalidated(String token) {
+        cache.invalidate(token);
+    }
+
+    @Override
+    public void onUserInvalidated(Long userId) {
+        // 失效频率低（仅在用户信息变更时），直接遍历即可
+        cache.asMap().values().removeIf(user -> userId.equals(user.getId()));
+    }
+
+    @Override
+    public void onAllTokensInvalidated() {
+        cache.invalidateAll();
+    }
+}
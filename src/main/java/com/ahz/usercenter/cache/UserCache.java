@@ -0,0 +1,247 @@
+package com.ahz.usercenter.cache;
+
+import com.ahz.usercenter.config.UserCacheProperties;
+import com.ahz.usercenter.model.domain.User;
+import com.alibaba.fastjson2.JSON;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * 用户缓存（按 ID）
+ * L1 为进程内 Caffeine 缓存（W-TinyLFU 淘汰），L2 为 Redis，缓存内容为脱敏后的用户（不含密码）
+ * 同一 ID 并发未命中时只有一个线程加载，其余线程等待同一个结果（single-flight），热点 ID 不会击穿数据库
+ * 更新和删除由 UserService 删除 L2 并广播失效通知，各节点收到后清除 L1
+ * <p>
+ * 每次删除 L2 同时递增该用户的缓存版本；加载前读取版本，写入 L2 时版本已变化（加载期间数据被修改）则放弃写入，
+ * 避免加载到的旧数据在删除之后写回 L2 并保留整个 TTL（封禁、降权后会话刷新仍读到旧状态）
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Component
+@Slf4j
+public class UserCache implements InvalidationHandler {
+
+    /**
+     * Redis Key 前缀（用户 ID 作为 hash tag，缓存 Key 与版本 Key 位于同一个槽位）
+     */
+    private static final String KEY_PREFIX = "USER_CACHE:";
+
+    /**
+     * 缓存版本 Key 前缀，值在每次删除缓存时递增
+     */
+    private static final String VERSION_PREFIX = "USER_CACHE_VERSION:";
+
+    /**
+     * 版本未变化时写入缓存
+     */
+    private static final DefaultRedisScript<Long> WRITE_IF_UNCHANGED_SCRIPT = new DefaultRedisScript<>();
+
+    static {
+        WRITE_IF_UNCHANGED_SCRIPT.setLocation(new ClassPathResource("lua/user_cache_write.lua"));
+        WRITE_IF_UNCHANGED_SCRIPT.setResultType(Long.class);
+    }
+
+    @Resource
+    private UserCacheProperties userCacheProperties;
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 值为加载中或已完成的 Future，加载结果为 null 时 Caffeine 自动移除该条目
+     */
+    private AsyncCache<Long, User> localCache;
+
+    private Counter localHitCounter;
+
+    private Counter loadWaitCounter;
+
+    private Counter redisHitCounter;
+
+    private Counter missCounter;
+
+    private Timer loadTimer;
+
+    @PostConstruct
+    public void init() {
+        localCache = Caffeine.newBuilder()
+                .maximumSize(userCacheProperties.getLocalMaximumSize())
+                .expireAfterWrite(userCacheProperties.getLocalTtl())
+                .buildAsync();
+        localHitCounter = requestCounter("local_hit");
+        loadWaitCounter = requestCounter("load_wait");
+        redisHitCounter = requestCounter("redis_hit");
+        missCounter = requestCounter("miss");
+        loadTimer = Timer.builder("userhub.user.cache.load")
+                .description("用户缓存未命中时从数据库加载的耗时")
+                .register(meterRegistry);
+        Gauge.builder("userhub.user.cache.size", localCache, cache -> cache.synchronous().estimatedSize())
+                .description("用户进程内缓存条目数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 按 ID 获取用户，依次查询 L1、L2、数据库
+     *
+     * @param userId 用户 ID
+     * @param loader 数据库加载方法（返回脱敏后的用户，不存在时返回 null）
+     * @return 用户，不存在时返回 null；返回的对象由缓存持有，调用方不应修改
+     */
+    public User get(Long userId, Function<Long, User> loader) {
+        if (!userCacheProperties.isEnabled()) {
+            return loader.apply(userId);
+        }
+        CompletableFuture<User> loading = new CompletableFuture<>();
+        CompletableFuture<User> existing = localCache.asMap().putIfAbsent(userId, loading);
+        if (existing != null) {
+            // 已完成的为 L1 命中，未完成的为等待其他线程正在进行的加载
+            (existing.isDone() ? localHitCounter : loadWaitCounter).increment();
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+            }
+        }
+        // 当前线程负责加载，在调用线程上执行，不占用额外线程池
+        try {
+            String[] cached = loadFromRedis(userId);
+            User user = cached != null && cached[0] != null ? JSON.parseObject(cached[0], User.class) : null;
+            if (user != null) {
+                redisHitCounter.increment();
+            } else {
+                missCounter.increment();
+                user = loadTimer.record(() -> loader.apply(userId));
+                // 读取 L2 失败时无法确认版本，不写入
+                if (user != null && cached != null) {
+                    writeToRedis(userId, user, cached[1]);
+                }
+            }
+            loading.complete(user);
+            return user;
+        } catch (Throwable e) {
+            // 包括 Error：必须结束等待中的请求，否则它们永远阻塞
+            localCache.asMap().remove(userId, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 删除 L2 缓存（数据变更后调用，L1 由失效广播清除）
+     *
+     * @param userId 用户 ID
+     */
+    public void evictShared(Long userId) {
+        localCache.synchronous().invalidate(userId);
+        try {
+            deleteFromRedis(List.of(userId));
+        } catch (Exception e) {
+            log.warn("Failed to evict user cache for userId: {}, reason: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 批量删除 L2 缓存（一次 DEL 删除全部 Key）
+     *
+     * @param userIds 用户 ID
+     */
+    public void evictShared(Collection<Long> userIds) {
+        localCache.synchronous().invalidateAll(userIds);
+        try {
+            deleteFromRedis(userIds);
+        } catch (Exception e) {
+            log.warn("Failed to evict user cache for {} users, reason: {}", userIds.size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onUserInvalidated(Long userId) {
+        localCache.synchronous().invalidate(userId);
+    }
+
+    /**
+     * 一次 MGET 读取缓存内容和缓存版本
+     *
+     * @param userId 用户 ID
+     * @return {缓存内容, 版本}（均可能为 null），读取失败时返回 null
+     */
+    private String[] loadFromRedis(Long userId) {
+        try {
+            List<String> values = stringRedisTemplate.opsForValue().multiGet(List.of(cacheKey(userId), versionKey(userId)));
+            return values == null ? null : new String[]{values.get(0), values.get(1)};
+        } catch (Exception e) {
+            log.warn("Failed to read user cache for userId: {}, reason: {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToRedis(Long userId, User user, String version) {
+        try {
+            stringRedisTemplate.execute(WRITE_IF_UNCHANGED_SCRIPT,
+                    List.of(cacheKey(userId), versionKey(userId)),
+                    version != null ? version : "",
+                    JSON.toJSONString(user),
+                    String.valueOf(userCacheProperties.getRedisTtl().toMillis()));
+        } catch (Exception e) {
+            log.warn("Failed to write user cache for userId: {}, reason: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 删除缓存并递增版本（一次管道），版本与缓存同样过期，远长于一次加载的耗时
+     */
+    private void deleteFromRedis(Collection<Long> userIds) {
+        long ttl = userCacheProperties.getRedisTtl().toMillis();
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long userId : userIds) {
+                byte[] versionKey = bytes(versionKey(userId));
+                connection.keyCommands().del(bytes(cacheKey(userId)));
+                connection.stringCommands().incr(versionKey);
+                connection.keyCommands().pExpire(versionKey, ttl);
+            }
+            return null;
+        });
+    }
+
+    private static String cacheKey(Long userId) {
+        return KEY_PREFIX + "{" + userId + "}";
+    }
+
+    private static String versionKey(Long userId) {
+        return VERSION_PREFIX + "{" + userId + "}";
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Counter requestCounter(String result) {
+        return Counter.builder("userhub.user.cache.requests")
+                .description("用户缓存请求次数")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,58 @@
+package com.ahz.usercenter.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * 用户总数缓存
+ * 按查询条件缓存 COUNT 结果，游标分页需要总数时不必每次全表统计
+ * 统计在调用线程上、缓存的计算锁之外执行，并发请求共享同一次统计；
+ * 不在 Caffeine 的 compute 中执行数据库查询，避免虚拟线程持锁阻塞时钉住载体线程
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Component
+public class UserCountCache {
+
+    private final Cache<String, CompletableFuture<Long>> cache = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterWrite(Duration.ofSeconds(60))
+            .build();
+
+    /**
+     * 获取总数，缓存未命中时执行统计
+     *
+     * @param key     查询条件
+     * @param counter 统计方法
+     * @return 总数
+     */
+    public long get(String key, Supplier<Long> counter) {
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        CompletableFuture<Long> existing = cache.asMap().putIfAbsent(key, future);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                // 与执行统计的请求收到相同的异常
+                throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+            }
+        }
+        try {
+            Long count = counter.get();
+            future.complete(count);
+            return count;
+        } catch (Throwable e) {
+            // 统计失败不缓存，等待中的请求同样收到异常（包括 Error，否则等待中的请求永远阻塞）
+            cache.asMap().remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+}
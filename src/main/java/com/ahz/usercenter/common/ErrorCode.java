@@ -13,7 +13,9 @@ public enum ErrorCode {
     NULL_ERROR(40001, "请求数据为空", ""),
     NOT_LOGIN(40100, "未登录", ""),
     NO_AUTH(40101, "无权限", ""),
-    SYSTEM_ERROR(50000, "系统内部异常", "");
+    TOO_MANY_REQUESTS(42900, "请求过于频繁", ""),
+    SYSTEM_ERROR(50000, "系统内部异常", ""),
+    SYSTEM_BUSY(50300, "系统繁忙", "");
 
     private final int code;
 
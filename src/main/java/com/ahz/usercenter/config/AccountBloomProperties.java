@@ -0,0 +1,45 @@
+package com.ahz.usercenter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 账号布隆过滤器配置
+ * 对应配置文件中的 userhub.account-bloom 前缀
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "userhub.account-bloom")
+public class AccountBloomProperties {
+
+    /**
+     * 是否启用，关闭时所有账号都按可能存在处理（查询数据库）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 第一层的预期账号数，写满后追加容量翻倍的新层
+     */
+    private long initialCapacity = 1_000_000;
+
+    /**
+     * 整体误判率上限（各层误判率依次减半，总和不超过该值）
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * 从 Redis 合并其他节点写入的间隔
+     */
+    private Duration refreshInterval = Duration.ofSeconds(30);
+
+    /**
+     * 从用户表重建时每批读取的账号数
+     */
+    private int rebuildBatchSize = 10_000;
+}
@@ -0,0 +1,40 @@
+package com.ahz.usercenter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 审计日志配置
+ * 对应配置文件中的 userhub.audit 前缀
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "userhub.audit")
+public class AuditProperties {
+
+    /**
+     * 是否记录审计日志
+     */
+    private boolean enabled = true;
+
+    /**
+     * 内存缓冲区容量（向上取整为 2 的幂），写满时丢弃新事件
+     */
+    private int bufferSize = 8192;
+
+    /**
+     * 每条 INSERT 最多写入的事件数；缓冲区积累到该数量时提前写入
+     */
+    private int batchSize = 500;
+
+    /**
+     * 定时写入的间隔（事件最长的落库延迟）
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,35 @@
+package com.ahz.usercenter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 批量管理操作配置
+ * 对应配置文件中的 userhub.bulk 前缀
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "userhub.bulk")
+public class BulkProperties {
+
+    /**
+     * 每个事务处理的用户数，分块提交以限制锁持有时间和 undo 日志大小
+     */
+    private int chunkSize = 500;
+
+    /**
+     * 单次请求最多处理的用户数（包括按筛选条件匹配的用户）
+     */
+    private int maxTargets = 10_000;
+
+    /**
+     * 单个分块事务的超时时间
+     */
+    private Duration transactionTimeout = Duration.ofSeconds(10);
+}
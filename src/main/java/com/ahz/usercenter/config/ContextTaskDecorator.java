@@ -0,0 +1,24 @@
+package com.ahz.usercenter.config;
+
+import com.ahz.usercenter.utils.UserContext;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户上下文任务装饰器
+ * Spring Boot 自动应用到 applicationTaskExecutor（@Async、MVC 异步请求使用的执行器），
+ * 异步任务继承提交时的当前用户
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Component
+public class ContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    @NonNull
+    public Runnable decorate(@NonNull Runnable runnable) {
+        return UserContext.wrap(runnable);
+    }
+}
@@ -0,0 +1,23 @@
+package com.ahz.usercenter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户导出配置
+ * 对应配置文件中的 userhub.export 前缀
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "userhub.export")
+public class ExportProperties {
+
+    /**
+     * 同时进行的导出数，每个导出在整个过程中占用一个数据库连接，超出时直接返回系统繁忙
+     */
+    private int maxConcurrentExports = 2;
+}
@@ -0,0 +1,43 @@
+package com.ahz.usercenter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 批量导入用户配置
+ * 对应配置文件中的 userhub.import 前缀
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "userhub.import")
+public class ImportProperties {
+
+    /**
+     * 每批处理的行数（一次查重查询、一条多行 INSERT）
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * 明文密码的哈希并行度，小于等于 0 时使用 CPU 核数的一半（至少 1），为登录请求保留算力
+     */
+    private int hashParallelism = 0;
+
+    /**
+     * 同时进行的导入任务数，超出时直接返回系统繁忙
+     */
+    private int maxConcurrentImports = 1;
+
+    /**
+     * 每个任务最多保留的行错误数（超出部分只计数）
+     */
+    private int maxErrors = 1000;
+
+    /**
+     * 保留的最近任务数（用于查询进度）
+     */
+    private int keepJobs = 20;
+}
@@ -0,0 +1,40 @@
+package com.ahz.usercenter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 登录统计配置（最近登录时间、最近登录 IP、登录次数）
+ * 对应配置文件中的 userhub.login-stats 前缀
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "userhub.login-stats")
+public class LoginStatsProperties {
+
+    /**
+     * 是否记录登录统计
+     */
+    private boolean enabled = true;
+
+    /**
+     * 合并写入数据库的间隔（登录统计最长的落库延迟）
+     */
+    private Duration flushInterval = Duration.ofSeconds(10);
+
+    /**
+     * 每条 UPDATE 最多更新的用户数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 待写入的用户数达到该值时提前写入；数据库不可用导致积压达到两倍时，不再记录新用户的统计
+     */
+    private int maxPending = 100_000;
+}
@@ -0,0 +1,82 @@
+package com.ahz.usercenter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 登录限流配置
+ * 对应配置文件中的 userhub.login-throttle 前缀
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "userhub.login-throttle")
+public class LoginThrottleProperties {
+
+    /**
+     * 是否启用
+     */
+    private boolean enabled = true;
+
+    /**
+     * 按账号限流（登录成功后清零）
+     */
+    private Limit account = new Limit(10, Duration.ofMinutes(10), Duration.ofMinutes(1), Duration.ofHours(1));
+
+    /**
+     * 按客户端 IP 限流（同一出口 IP 下可能有多个用户，限制应较宽）
+     */
+    private Limit ip = new Limit(100, Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofMinutes(30));
+
+    /**
+     * 锁定次数的保留时间，期间再次被锁定时锁定时长翻倍
+     */
+    private Duration strikeTtl = Duration.ofHours(24);
+
+    /**
+     * 本地锁定缓存的最大条目数（已锁定的账号和 IP 在本地直接拒绝，不访问 Redis）
+     */
+    private long localMaximumSize = 10_000;
+
+    /**
+     * 单个维度的限流规则
+     */
+    @Data
+    public static class Limit {
+
+        /**
+         * 窗口内最多尝试次数
+         */
+        private int maxAttempts;
+
+        /**
+         * 滑动窗口长度
+         */
+        private Duration window;
+
+        /**
+         * 首次锁定时长
+         */
+        private Duration lockout;
+
+        /**
+         * 最长锁定时长
+         */
+        private Duration maxLockout;
+
+        public Limit() {
+        }
+
+        public Limit(int maxAttempts, Duration window, Duration lockout, Duration maxLockout) {
+            this.maxAttempts = maxAttempts;
+            this.window = window;
+            this.lockout = lockout;
+            this.maxLockout = maxLockout;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.ahz.usercenter.config;
+
+import com.baomidou.mybatisplus.annotation.DbType;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * MyBatis-Plus 配置类
+ * 注册分页插件，使 Page 查询生成 LIMIT 和 COUNT 语句
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Configuration
+public class MybatisPlusConfig {
+
+    /**
+     * 单页最大条数（由各接口校验，超出时返回参数错误，不在分页插件中静默截断）
+     */
+    public static final long MAX_PAGE_SIZE = 100;
+
+    /**
+     * 注册 MyBatis-Plus 拦截器
+     *
+     * @return MybatisPlusInterceptor
+     */
+    @Bean
+    public MybatisPlusInterceptor mybatisPlusInterceptor() {
+        PaginationInnerInterceptor paginationInterceptor = new PaginationInnerInterceptor(DbType.MYSQL);
+        MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
+        interceptor.addInnerInterceptor(paginationInterceptor);
+        return interceptor;
+    }
+}
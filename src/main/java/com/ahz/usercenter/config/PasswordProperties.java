@@ -0,0 +1,51 @@
+package com.ahz.usercenter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 密码哈希相关配置
+ * 对应配置文件中的 userhub.password 前缀
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "userhub.password")
+public class PasswordProperties {
+
+    /**
+     * 新密码使用的哈希算法：bcrypt / argon2 / pbkdf2
+     * 已有哈希按 {id} 前缀识别算法，登录成功时若算法或强度已过时会自动重新哈希
+     */
+    private String algorithm = "bcrypt";
+
+    /**
+     * BCrypt 强度（log2 轮数，4~31），每加 1 耗时翻倍
+     */
+    private int bcryptStrength = 10;
+
+    /**
+     * 哈希线程池配置
+     */
+    private HashPool hashPool = new HashPool();
+
+    /**
+     * 哈希线程池（与 Tomcat 请求线程隔离，避免登录高峰占满所有请求线程）
+     */
+    @Data
+    public static class HashPool {
+
+        /**
+         * 并行度，小于等于 0 时使用 CPU 核数
+         */
+        private int parallelism = 0;
+
+        /**
+         * 等待队列容量，队列满时直接返回系统繁忙
+         */
+        private int queueCapacity = 64;
+    }
+}
@@ -6,13 +6,19 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Spring Security 配置类
- * 用于注册 BCryptPasswordEncoder Bean 和配置 Web 安全规则
+ * 用于注册密码编码器 Bean 和配置 Web 安全规则
  *
  * @author ahz
  * @version 2.0
@@ -22,14 +28,28 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     /**
-     * 注册 BCryptPasswordEncoder Bean
-     * BCrypt 是安全的密码哈希算法，每次加密结果不同但验证时能正确匹配
+     * 注册密码编码器 Bean
+     * 使用 DelegatingPasswordEncoder，哈希格式为 {算法}哈希，新密码使用 userhub.password.algorithm 指定的算法
+     * 没有 {id} 前缀的旧 BCrypt 哈希仍按 BCrypt 校验，登录成功后会被重新哈希为当前格式
+     * BCrypt 强度由 userhub.password.bcrypt-strength 配置，用于在安全性和吞吐量之间权衡
      *
+     * @param passwordProperties 密码配置
      * @return PasswordEncoder
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordProperties passwordProperties) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(passwordProperties.getBcryptStrength());
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        String algorithm = passwordProperties.getAlgorithm();
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalStateException("Unknown password algorithm: " + algorithm);
+        }
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
     }
 
     /**
@@ -0,0 +1,84 @@
+package com.ahz.usercenter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Token 相关配置
+ * 对应配置文件中的 userhub.token 前缀
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "userhub.token")
+public class TokenProperties {
+
+    /**
+     * Token 过期时间（不透明 Token 为滑动过期，每次续期重置为该值；签名 Token 为固定过期）
+     */
+    private Duration expire = Duration.ofHours(2);
+
+    /**
+     * 续期阈值：剩余有效期低于该值时才续期，避免每次请求都写 Redis
+     */
+    private Duration renewThreshold = Duration.ofHours(1);
+
+    /**
+     * 每个用户最多同时存在的会话数（不透明 Token），超出时淘汰最久未活跃的会话，0 表示不限制
+     */
+    private int maxSessionsPerUser = 10;
+
+    /**
+     * Token 模式：opaque（不透明 Token，会话存储在 Redis）或 signed（HMAC 签名的自包含 Token）
+     * 两种 Token 按格式自动识别并同时有效，切换模式时已签发的旧 Token 不会失效
+     */
+    private String mode = "opaque";
+
+    /**
+     * 签名密钥（至少 32 字节），signed 模式必填；配置后 opaque 模式也能校验已签发的签名 Token，便于回滚
+     */
+    private String signingSecret;
+
+    /**
+     * 会话编解码器：json（默认，兼容旧版本）或 binary（紧凑二进制）
+     * 读取时自动识别两种格式，滚动升级时先全部节点升级再切换为 binary
+     */
+    private String sessionCodec = "json";
+
+    /**
+     * 近端缓存配置
+     */
+    private NearCache nearCache = new NearCache();
+
+    /**
+     * 缓存失效广播的 Redis 频道
+     */
+    private String invalidationChannel = "USER_TOKEN_INVALIDATION";
+
+    /**
+     * 近端缓存（进程内缓存已验证的 Token）
+     */
+    @Data
+    public static class NearCache {
+
+        /**
+         * 是否启用
+         */
+        private boolean enabled = true;
+
+        /**
+         * 最大条目数
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * 条目存活时间，应远小于 Token 过期时间
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+    }
+}
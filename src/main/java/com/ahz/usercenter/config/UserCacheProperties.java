@@ -0,0 +1,40 @@
+package com.ahz.usercenter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 用户缓存配置
+ * 对应配置文件中的 userhub.user-cache 前缀
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "userhub.user-cache")
+public class UserCacheProperties {
+
+    /**
+     * 是否启用
+     */
+    private boolean enabled = true;
+
+    /**
+     * 进程内缓存（L1）最大条目数
+     */
+    private long localMaximumSize = 10_000;
+
+    /**
+     * 进程内缓存（L1）存活时间，失效通知丢失时的兜底
+     */
+    private Duration localTtl = Duration.ofSeconds(60);
+
+    /**
+     * Redis 缓存（L2）存活时间
+     */
+    private Duration redisTtl = Duration.ofMinutes(30);
+}
@@ -50,6 +50,7 @@ public class WebMvcConfig implements WebMvcConfigurer {
                         // 认证相关接口（无需登录）
                         "/auth/register",
                         "/auth/login",
+                        "/auth/accounts/availability",
                         // 错误页面
                         "/error",
                         // Swagger 文档
@@ -0,0 +1,40 @@
+package com.ahz.usercenter.contant;
+
+/**
+ * 审计事件类型
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+public interface AuditConstant {
+
+    //  ------- 认证 --------
+
+    String REGISTER = "REGISTER";
+
+    String LOGIN_SUCCESS = "LOGIN_SUCCESS";
+
+    /**
+     * 登录失败（包括密码错误和被限流拒绝）
+     */
+    String LOGIN_FAILURE = "LOGIN_FAILURE";
+
+    String LOGOUT = "LOGOUT";
+
+    //  ------- 管理员操作 --------
+
+    String ADMIN_UPDATE_USER = "ADMIN_UPDATE_USER";
+
+    String ADMIN_DELETE_USER = "ADMIN_DELETE_USER";
+
+    String ADMIN_BULK_UPDATE = "ADMIN_BULK_UPDATE";
+
+    String ADMIN_IMPORT_USERS = "ADMIN_IMPORT_USERS";
+
+    String ADMIN_EXPORT_USERS = "ADMIN_EXPORT_USERS";
+
+    /**
+     * 注销用户会话（目标为空时表示全员下线）
+     */
+    String ADMIN_REVOKE_SESSIONS = "ADMIN_REVOKE_SESSIONS";
+}
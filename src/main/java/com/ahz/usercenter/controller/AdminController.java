@@ -1,14 +1,34 @@
 package com.ahz.usercenter.controller;
 
+import com.ahz.usercenter.cache.UserCountCache;
 import com.ahz.usercenter.common.Result;
 import com.ahz.usercenter.common.ErrorCode;
 import com.ahz.usercenter.common.ResultUtils;
+import com.ahz.usercenter.config.BulkProperties;
+import com.ahz.usercenter.config.MybatisPlusConfig;
+import com.ahz.usercenter.contant.AuditConstant;
 import com.ahz.usercenter.exception.BusinessException;
 import com.ahz.usercenter.model.domain.User;
 import com.ahz.usercenter.model.domain.request.AdminUpdateUserRequest;
+import com.ahz.usercenter.model.domain.request.BulkUserRequest;
+import com.ahz.usercenter.model.domain.response.BulkOperationResponse;
+import com.ahz.usercenter.model.domain.response.CursorPageResponse;
+import com.ahz.usercenter.model.domain.response.UserImportResponse;
+import com.ahz.usercenter.model.dto.SessionDTO;
 import com.ahz.usercenter.model.dto.UserDTO;
+import com.ahz.usercenter.service.AuditLogService;
+import com.ahz.usercenter.service.UserExportService;
+import com.ahz.usercenter.service.UserImportService;
 import com.ahz.usercenter.service.UserService;
+import com.ahz.usercenter.utils.CursorCodec;
+import com.ahz.usercenter.utils.FullTextUtils;
+import com.ahz.usercenter.utils.TokenUtils;
+import com.ahz.usercenter.utils.UserContext;
+import com.ahz.usercenter.utils.UserImportReader;
 import com.ahz.usercenter.utils.UserConvertor;
+import com.ahz.usercenter.validation.RequestValidator;
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,10 +36,17 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -37,17 +64,55 @@ public class AdminController {
     @Resource
     private UserService userService;
 
+    @Resource
+    private UserCountCache userCountCache;
+
+    @Resource
+    private TokenUtils tokenUtils;
+
+    @Resource
+    private BulkProperties bulkProperties;
+
+    @Resource
+    private UserImportService userImportService;
+
+    @Resource
+    private UserExportService userExportService;
+
+    @Resource
+    private AuditLogService auditLogService;
+
+    /**
+     * 请求的已编译校验规则
+     */
+    private static final RequestValidator<AdminUpdateUserRequest> UPDATE_VALIDATOR = RequestValidator.of(AdminUpdateUserRequest.class);
+
+    private static final RequestValidator<BulkUserRequest> BULK_VALIDATOR = RequestValidator.of(BulkUserRequest.class);
+
+    /**
+     * 用户列表允许的排序字段 -> 列名
+     */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "createTime", "create_time",
+            "lastLoginTime", "last_login_time",
+            "loginCount", "login_count");
+
     /**
      * 分页查询用户列表
+     * 基于 OFFSET 分页并统计总数，适合数据量较小或需要跳页的场景，深度翻页请使用游标分页
      *
      * @param page 当前页（默认1）
-     * @param size 每页大小（默认10）
-     * @param username 用户名（可选，用于模糊搜索）
+     * @param size 每页大小（默认10，最大100）
+     * @param username 用户名（可选，用于模糊搜索，两个字符以上时先走全文索引）
      * @param role 用户角色（可选，用于过滤）
      * @param status 用户状态（可选，用于过滤）
+     * @param lastLoginAfter 最近登录时间下限（可选，包含）
+     * @param lastLoginBefore 最近登录时间上限（可选，不包含，不返回从未登录的用户）
+     * @param sortField 排序字段（可选）：createTime / lastLoginTime / loginCount
+     * @param sortOrder 排序方向：asc / desc（默认）
      * @return 用户列表
      */
-    @Operation(summary = "分页查询用户列表", description = "管理员获取用户列表接口，支持分页、搜索和过滤，需要在请求头中携带 Authorization: Bearer <token>，且用户角色为管理员")
+    @Operation(summary = "分页查询用户列表", description = "管理员获取用户列表接口，支持分页、搜索、过滤和按最近登录时间、登录次数排序，需要在请求头中携带 Authorization: Bearer <token>，且用户角色为管理员")
     @SecurityRequirement(name = "Bearer Authentication")
     @GetMapping
     public Result<Page<UserDTO>> getUserList(
@@ -55,33 +120,207 @@ public class AdminController {
             @Parameter(description = "每页大小", required = false) @RequestParam(defaultValue = "10") Long size,
             @Parameter(description = "用户名（支持模糊搜索）", required = false) @RequestParam(required = false) String username,
             @Parameter(description = "用户角色（用于过滤）", required = false) @RequestParam(required = false) String role,
-            @Parameter(description = "用户状态（用于过滤）", required = false) @RequestParam(required = false) Integer status) {
-        Page<User> userPage = new Page<>(page, size);
-        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
-        if (StringUtils.isNotBlank(username)) {
-            queryWrapper.like("username", username);
-        }
-        if (StringUtils.isNotBlank(role)) {
-            queryWrapper.eq("userRole", role);
+            @Parameter(description = "用户状态（用于过滤，1-active 2-inactive 3-banned）", required = false) @RequestParam(required = false) Integer status,
+            @Parameter(description = "最近登录时间下限（ISO 格式，如 2024-12-01T00:00:00）", required = false)
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime lastLoginAfter,
+            @Parameter(description = "最近登录时间上限（ISO 格式，不返回从未登录的用户）", required = false)
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime lastLoginBefore,
+            @Parameter(description = "排序字段：createTime / lastLoginTime / loginCount", required = false) @RequestParam(required = false) String sortField,
+            @Parameter(description = "排序方向：asc / desc", required = false) @RequestParam(defaultValue = "desc") String sortOrder) {
+        if (size == null || size <= 0 || size > MybatisPlusConfig.MAX_PAGE_SIZE) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "每页大小无效");
         }
-        if (status != null) {
-            queryWrapper.eq("userStatus", status);
+        Page<User> userPage = new Page<>(page, size);
+        QueryWrapper<User> queryWrapper = buildUserQueryWrapper(username, role, status, lastLoginAfter, lastLoginBefore);
+        if (StringUtils.isNotBlank(sortField)) {
+            String column = SORT_COLUMNS.get(sortField);
+            if (column == null) {
+                throw new BusinessException(ErrorCode.PARAMS_ERROR, "排序字段无效");
+            }
+            if (!"asc".equalsIgnoreCase(sortOrder) && !"desc".equalsIgnoreCase(sortOrder)) {
+                throw new BusinessException(ErrorCode.PARAMS_ERROR, "排序方向无效");
+            }
+            // 以 user_id 作为第二排序键，保证翻页时顺序稳定
+            queryWrapper.orderBy(true, "asc".equalsIgnoreCase(sortOrder), column, "user_id");
         }
         Page<User> resultPage = userService.page(userPage, queryWrapper);
         
-        // 转换为 DTO 并脱敏
+        // 转换为 DTO（UserDTO 不含敏感字段，一次复制即完成脱敏）
         Page<UserDTO> dtoPage = new Page<>(resultPage.getCurrent(), resultPage.getSize(), resultPage.getTotal());
         List<UserDTO> dtoList = resultPage.getRecords().stream()
-                .map(user -> {
-                    User safetyUser = userService.getSafetyUser(user);
-                    return UserConvertor.toDTO(safetyUser);
-                })
+                .map(UserConvertor::toAdminDTO)
                 .collect(Collectors.toList());
         dtoPage.setRecords(dtoList);
         
         return ResultUtils.success(dtoPage);
     }
 
+    /**
+     * 游标分页查询用户列表
+     * 按 user_id 递增，使用 user_id > 游标 定位下一页，翻页深度不影响查询性能
+     * 总数默认不统计，需要时返回短时间缓存的结果
+     *
+     * @param cursor 游标（首页不传）
+     * @param size 每页大小（默认10，最大100）
+     * @param withTotal 是否返回总数
+     * @param username 用户名（可选，用于模糊搜索，两个字符以上时先走全文索引）
+     * @param role 用户角色（可选，用于过滤）
+     * @param status 用户状态（可选，用于过滤）
+     * @param lastLoginAfter 最近登录时间下限（可选，包含）
+     * @param lastLoginBefore 最近登录时间上限（可选，不包含，不返回从未登录的用户）
+     * @return 用户列表和下一页游标
+     */
+    @Operation(summary = "游标分页查询用户列表", description = "管理员获取用户列表接口，基于游标翻页，适合大数据量深度翻页，需要在请求头中携带 Authorization: Bearer <token>，且用户角色为管理员")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/cursor")
+    public Result<CursorPageResponse<UserDTO>> getUserListByCursor(
+            @Parameter(description = "游标（首页不传，后续使用上一页返回的 nextCursor）", required = false) @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页大小", required = false) @RequestParam(defaultValue = "10") Integer size,
+            @Parameter(description = "是否返回总数", required = false) @RequestParam(defaultValue = "false") Boolean withTotal,
+            @Parameter(description = "用户名（支持模糊搜索）", required = false) @RequestParam(required = false) String username,
+            @Parameter(description = "用户角色（用于过滤）", required = false) @RequestParam(required = false) String role,
+            @Parameter(description = "用户状态（用于过滤，1-active 2-inactive 3-banned）", required = false) @RequestParam(required = false) Integer status,
+            @Parameter(description = "最近登录时间下限（ISO 格式，如 2024-12-01T00:00:00）", required = false)
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime lastLoginAfter,
+            @Parameter(description = "最近登录时间上限（ISO 格式，不返回从未登录的用户）", required = false)
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime lastLoginBefore) {
+        if (size == null || size <= 0 || size > MybatisPlusConfig.MAX_PAGE_SIZE) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "每页大小无效");
+        }
+        QueryWrapper<User> queryWrapper = buildUserQueryWrapper(username, role, status, lastLoginAfter, lastLoginBefore);
+        Long total = null;
+        if (Boolean.TRUE.equals(withTotal)) {
+            String countKey = username + "|" + role + "|" + status + "|" + lastLoginAfter + "|" + lastLoginBefore;
+            QueryWrapper<User> countWrapper = buildUserQueryWrapper(username, role, status, lastLoginAfter, lastLoginBefore);
+            total = userCountCache.get(countKey, () -> userService.count(countWrapper));
+        }
+        if (StringUtils.isNotBlank(cursor)) {
+            queryWrapper.gt("user_id", CursorCodec.decode(cursor));
+        }
+        // 多查一条用于判断是否还有下一页
+        queryWrapper.orderByAsc("user_id").last("limit " + (size + 1));
+        List<User> users = userService.list(queryWrapper);
+
+        String nextCursor = null;
+        if (users.size() > size) {
+            users = users.subList(0, size);
+            nextCursor = CursorCodec.encode(users.get(size - 1).getId());
+        }
+        List<UserDTO> dtoList = users.stream()
+                .map(UserConvertor::toAdminDTO)
+                .collect(Collectors.toList());
+        return ResultUtils.success(new CursorPageResponse<>(dtoList, nextCursor, total));
+    }
+
+    /**
+     * 导出用户列表（NDJSON 或 CSV）
+     * 筛选条件与分页查询相同，按用户 ID 排序以流式结果集逐行写出，不分页、不统计总数
+     *
+     * @param format 导出格式：ndjson（默认）/ csv
+     * @param username 用户名（可选，用于模糊搜索，两个字符以上时先走全文索引）
+     * @param role 用户角色（可选，用于过滤）
+     * @param status 用户状态（可选，用于过滤）
+     * @param lastLoginAfter 最近登录时间下限（可选，包含）
+     * @param lastLoginBefore 最近登录时间上限（可选，不包含，不返回从未登录的用户）
+     * @param response 响应（直接写出文件内容）
+     */
+    @Operation(summary = "导出用户列表", description = "管理员以 NDJSON 或 CSV 格式流式导出用户（不含密码），支持与用户列表相同的过滤条件，需要在请求头中携带 Authorization: Bearer <token>，且用户角色为管理员")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/export")
+    public void exportUsers(
+            @Parameter(description = "导出格式：ndjson / csv", required = false) @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "用户名（支持模糊搜索）", required = false) @RequestParam(required = false) String username,
+            @Parameter(description = "用户角色（用于过滤）", required = false) @RequestParam(required = false) String role,
+            @Parameter(description = "用户状态（用于过滤，1-active 2-inactive 3-banned）", required = false) @RequestParam(required = false) Integer status,
+            @Parameter(description = "最近登录时间下限（ISO 格式，如 2024-12-01T00:00:00）", required = false)
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime lastLoginAfter,
+            @Parameter(description = "最近登录时间上限（ISO 格式，不返回从未登录的用户）", required = false)
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime lastLoginBefore,
+            HttpServletResponse response) throws IOException {
+        String resolvedFormat = UserImportReader.resolveFormat(format, null);
+        long count = userExportService.exportUsers(
+                buildUserQueryWrapper(username, role, status, lastLoginAfter, lastLoginBefore), resolvedFormat, response);
+        auditLogService.recordAdminAction(AuditConstant.ADMIN_EXPORT_USERS, null,
+                "format=" + resolvedFormat + ", username=" + username + ", role=" + role + ", status=" + status
+                        + ", lastLoginAfter=" + lastLoginAfter + ", lastLoginBefore=" + lastLoginBefore + ", count=" + count);
+    }
+
+    /**
+     * 搜索用户
+     * 在用户名、账号、邮箱中做子串匹配（全文索引），账号完全匹配和前缀匹配排在前面
+     *
+     * @param keyword 关键词
+     * @param limit 最大条数（默认20，最大100）
+     * @return 按相关度排序的用户列表
+     */
+    @Operation(summary = "搜索用户", description = "管理员按用户名、账号、邮箱搜索用户，结果按相关度排序，需要在请求头中携带 Authorization: Bearer <token>，且用户角色为管理员")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/search")
+    public Result<List<UserDTO>> searchUsers(
+            @Parameter(description = "关键词", required = true) @RequestParam String keyword,
+            @Parameter(description = "最大条数", required = false) @RequestParam(defaultValue = "20") Integer limit) {
+        if (limit == null || limit <= 0 || limit > MybatisPlusConfig.MAX_PAGE_SIZE) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "最大条数无效");
+        }
+        List<UserDTO> dtoList = userService.searchUsers(keyword, limit).stream()
+                .map(UserConvertor::toAdminDTO)
+                .collect(Collectors.toList());
+        return ResultUtils.success(dtoList);
+    }
+
+    /**
+     * 构建用户列表查询条件
+     *
+     * @param username 用户名（模糊匹配）
+     * @param role 用户角色
+     * @param status 用户状态
+     * @param lastLoginAfter 最近登录时间下限（包含）
+     * @param lastLoginBefore 最近登录时间上限（不包含）
+     * @return 查询条件
+     */
+    private QueryWrapper<User> buildUserQueryWrapper(String username, String role, Integer status,
+                                                     LocalDateTime lastLoginAfter, LocalDateTime lastLoginBefore) {
+        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
+        if (StringUtils.isNotBlank(username)) {
+            // 先用全文索引缩小范围（索引覆盖用户名、账号、邮箱），再用 LIKE 精确限定在用户名上
+            if (FullTextUtils.isFullTextSearchable(username)) {
+                queryWrapper.apply("match(username, user_account, email) against({0} in boolean mode)",
+                        FullTextUtils.toBooleanPhrase(username));
+            }
+            queryWrapper.like("username", username);
+        }
+        if (StringUtils.isNotBlank(role)) {
+            queryWrapper.eq("user_role", role);
+        }
+        if (status != null) {
+            queryWrapper.eq("status", status);
+        }
+        queryWrapper.ge(lastLoginAfter != null, "last_login_time", lastLoginAfter)
+                .lt(lastLoginBefore != null, "last_login_time", lastLoginBefore);
+        return queryWrapper;
+    }
+
+    /**
+     * 审计详情：本次修改的字段名，状态和角色另外记录新值（其他字段含个人信息，不记录值）
+     *
+     * @param method 请求方法
+     * @param updateRequest 更新请求
+     * @return 详情
+     */
+    private static String describeUpdate(String method, AdminUpdateUserRequest updateRequest) {
+        // 序列化时忽略值为 null 的字段，剩下的即为本次修改的字段
+        JSONObject fields = (JSONObject) JSON.toJSON(updateRequest);
+        fields.remove("id");
+        StringBuilder detail = new StringBuilder(method).append(" fields=").append(fields.keySet());
+        if (updateRequest.getUserStatus() != null) {
+            detail.append(", userStatus=").append(updateRequest.getUserStatus());
+        }
+        if (updateRequest.getUserRole() != null) {
+            detail.append(", userRole=").append(updateRequest.getUserRole());
+        }
+        return detail.toString();
+    }
+
     /**
      * 获取单个用户信息
      *
@@ -96,12 +335,11 @@ public class AdminController {
         if (userId == null || userId <= 0) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户ID无效");
         }
-        User user = userService.getById(userId);
-        if (user == null) {
+        User safetyUser = userService.getSafetyUserById(userId);
+        if (safetyUser == null) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户不存在");
         }
-        User safetyUser = userService.getSafetyUser(user);
-        UserDTO userDTO = UserConvertor.toDTO(safetyUser);
+        UserDTO userDTO = UserConvertor.toAdminDTO(safetyUser);
         return ResultUtils.success(userDTO);
     }
 
@@ -128,30 +366,13 @@ public class AdminController {
         if (!userId.equals(updateRequest.getId())) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "路径中的用户ID与请求体中的用户ID不一致");
         }
-        User user = new User();
-        user.setId(updateRequest.getId());
-        if (StringUtils.isNotBlank(updateRequest.getUsername())) {
-            user.setUsername(updateRequest.getUsername());
-        }
-        if (StringUtils.isNotBlank(updateRequest.getAvatarUrl())) {
-            user.setAvatarUrl(updateRequest.getAvatarUrl());
-        }
-        if (updateRequest.getGender() != null) {
-            user.setGender(updateRequest.getGender());
-        }
-        if (StringUtils.isNotBlank(updateRequest.getPhone())) {
-            user.setPhone(updateRequest.getPhone());
-        }
-        if (StringUtils.isNotBlank(updateRequest.getEmail())) {
-            user.setEmail(updateRequest.getEmail());
-        }
-        if (updateRequest.getUserStatus() != null) {
-            user.setUserStatus(updateRequest.getUserStatus());
-        }
-        if (updateRequest.getUserRole() != null) {
-            user.setUserRole(updateRequest.getUserRole());
-        }
+        UPDATE_VALIDATOR.validate(updateRequest);
+        User user = UserConvertor.fromUpdateRequest(updateRequest, updateRequest.getId());
+        // 更新后由 UserService 清除用户缓存并通知各节点清除 Token 近端缓存
         boolean result = userService.updateById(user);
+        if (result) {
+            auditLogService.recordAdminAction(AuditConstant.ADMIN_UPDATE_USER, userId, describeUpdate("PUT", updateRequest));
+        }
         return ResultUtils.success(result);
     }
 
@@ -178,31 +399,105 @@ public class AdminController {
         if (updateRequest.getId() != null && !userId.equals(updateRequest.getId())) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "路径中的用户ID与请求体中的用户ID不一致");
         }
-        User user = new User();
-        user.setId(userId);
-        if (StringUtils.isNotBlank(updateRequest.getUsername())) {
-            user.setUsername(updateRequest.getUsername());
-        }
-        if (StringUtils.isNotBlank(updateRequest.getAvatarUrl())) {
-            user.setAvatarUrl(updateRequest.getAvatarUrl());
-        }
-        if (updateRequest.getGender() != null) {
-            user.setGender(updateRequest.getGender());
+        UPDATE_VALIDATOR.validate(updateRequest);
+        User user = UserConvertor.fromUpdateRequest(updateRequest, userId);
+        // 更新后由 UserService 清除用户缓存并通知各节点清除 Token 近端缓存
+        boolean result = userService.updateById(user);
+        if (result) {
+            auditLogService.recordAdminAction(AuditConstant.ADMIN_UPDATE_USER, userId, describeUpdate("PATCH", updateRequest));
         }
-        if (StringUtils.isNotBlank(updateRequest.getPhone())) {
-            user.setPhone(updateRequest.getPhone());
+        return ResultUtils.success(result);
+    }
+
+    /**
+     * 批量修改状态、角色或逻辑删除
+     *
+     * @param bulkRequest 批量操作请求（ids 与 filter 二选一）
+     * @return 每个用户的处理结果
+     */
+    @Operation(summary = "批量管理用户", description = "管理员按用户ID列表或筛选条件批量修改状态、角色或删除用户，返回每个用户的处理结果，需要在请求头中携带 Authorization: Bearer <token>，且用户角色为管理员")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PostMapping("/bulk")
+    public Result<BulkOperationResponse> bulkUpdateUsers(@RequestBody BulkUserRequest bulkRequest) {
+        BULK_VALIDATOR.validate(bulkRequest);
+        List<Long> userIds = bulkRequest.getIds();
+        if (userIds == null || userIds.isEmpty()) {
+            userIds = collectUserIds(bulkRequest.getFilter());
         }
-        if (StringUtils.isNotBlank(updateRequest.getEmail())) {
-            user.setEmail(updateRequest.getEmail());
+        BulkOperationResponse response = userService.bulkUpdate(bulkRequest.getAction(), bulkRequest.getValue(),
+                userIds, UserContext.getUserId());
+        auditLogService.recordAdminAction(AuditConstant.ADMIN_BULK_UPDATE, null, "action=" + response.getAction()
+                + ", value=" + bulkRequest.getValue() + ", total=" + response.getTotal()
+                + ", succeeded=" + response.getSucceeded() + ", failed=" + response.getFailed());
+        return ResultUtils.success(response);
+    }
+
+    /**
+     * 按筛选条件收集用户 ID（按主键分段查询，只查询 user_id 列）
+     *
+     * @param filter 筛选条件
+     * @return 用户 ID
+     */
+    private List<Long> collectUserIds(BulkUserRequest.Filter filter) {
+        // 不允许空条件，避免误操作全部用户
+        if (filter == null || StringUtils.isAllBlank(filter.getUsername(), filter.getRole()) && filter.getStatus() == null
+                && filter.getLastLoginAfter() == null && filter.getLastLoginBefore() == null) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "请指定用户ID列表或筛选条件");
         }
-        if (updateRequest.getUserStatus() != null) {
-            user.setUserStatus(updateRequest.getUserStatus());
+        int maxTargets = bulkProperties.getMaxTargets();
+        int chunkSize = bulkProperties.getChunkSize();
+        List<Long> userIds = new ArrayList<>();
+        long lastId = 0;
+        while (true) {
+            QueryWrapper<User> queryWrapper = buildUserQueryWrapper(filter.getUsername(), filter.getRole(), filter.getStatus(),
+                    filter.getLastLoginAfter(), filter.getLastLoginBefore());
+            queryWrapper.select("user_id").gt("user_id", lastId).orderByAsc("user_id").last("limit " + chunkSize);
+            List<Long> chunk = userService.listObjs(queryWrapper, id -> ((Number) id).longValue());
+            userIds.addAll(chunk);
+            if (userIds.size() > maxTargets) {
+                throw new BusinessException(ErrorCode.PARAMS_ERROR, "匹配的用户超过 " + maxTargets + " 个，请缩小筛选条件");
+            }
+            if (chunk.size() < chunkSize) {
+                return userIds;
+            }
+            lastId = chunk.get(chunk.size() - 1);
         }
-        if (updateRequest.getUserRole() != null) {
-            user.setUserRole(updateRequest.getUserRole());
+    }
+
+    /**
+     * 批量导入用户（CSV 或 NDJSON）
+     * 直接读取请求体，边读边处理，不把整个文件加载到内存
+     *
+     * @param format  文件格式：csv / ndjson（可选，默认按 Content-Type 判断）
+     * @param request 请求（请求体为文件内容）
+     * @return 导入结果，包括每个失败行的行号和原因
+     */
+    @Operation(summary = "批量导入用户", description = "管理员以 CSV（首行为表头）或 NDJSON 格式流式导入用户，每行需提供 userPassword 或 passwordHash 之一，需要在请求头中携带 Authorization: Bearer <token>，且用户角色为管理员")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @PostMapping("/import")
+    public Result<UserImportResponse> importUsers(
+            @Parameter(description = "文件格式：csv / ndjson，默认按 Content-Type 判断") @RequestParam(required = false) String format,
+            HttpServletRequest request) throws IOException {
+        String resolvedFormat = UserImportReader.resolveFormat(format, request.getContentType());
+        if (resolvedFormat == null) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "请指定导入格式（csv 或 ndjson）");
         }
-        boolean result = userService.updateById(user);
-        return ResultUtils.success(result);
+        UserImportResponse response = userImportService.importUsers(request.getInputStream(), resolvedFormat);
+        auditLogService.recordAdminAction(AuditConstant.ADMIN_IMPORT_USERS, null, "jobId=" + response.getJobId()
+                + ", format=" + resolvedFormat + ", imported=" + response.getImported() + ", failed=" + response.getFailed());
+        return ResultUtils.success(response);
+    }
+
+    /**
+     * 查询最近的导入任务（包括进行中的任务）
+     *
+     * @return 任务进度列表，按开始时间倒序
+     */
+    @Operation(summary = "查询导入任务", description = "管理员查询最近的批量导入任务及其进度，需要在请求头中携带 Authorization: Bearer <token>，且用户角色为管理员")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/imports")
+    public Result<List<UserImportResponse>> listImportJobs() {
+        return ResultUtils.success(userImportService.listJobs());
     }
 
     /**
@@ -220,7 +515,82 @@ public class AdminController {
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户ID无效");
         }
         boolean result = userService.removeById(userId);
+        if (result) {
+            auditLogService.recordAdminAction(AuditConstant.ADMIN_DELETE_USER, userId, null);
+        }
         return ResultUtils.success(result);
     }
-}
 
+    /**
+     * 注销全部用户的会话（全员下线）
+     *
+     * @return 是否成功
+     */
+    @Operation(summary = "全员下线", description = "管理员注销所有用户的全部登录会话（包括签名 Token），需要在请求头中携带 Authorization: Bearer <token>，且用户角色为管理员")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @DeleteMapping("/sessions")
+    public Result<Boolean> revokeAllUsersSessions() {
+        tokenUtils.revokeAllUsersSessions();
+        auditLogService.recordAdminAction(AuditConstant.ADMIN_REVOKE_SESSIONS, null, "all users");
+        return ResultUtils.success(true);
+    }
+
+    /**
+     * 查询用户的登录会话
+     *
+     * @param userId 用户ID
+     * @return 会话列表（按最近活跃时间倒序）
+     */
+    @Operation(summary = "查询用户登录设备", description = "管理员查询指定用户的全部登录会话，需要在请求头中携带 Authorization: Bearer <token>，且用户角色为管理员")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/{userId}/sessions")
+    public Result<List<SessionDTO>> listUserSessions(
+            @Parameter(description = "用户ID", required = true) @PathVariable Long userId) {
+        if (userId == null || userId <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户ID无效");
+        }
+        return ResultUtils.success(tokenUtils.listSessions(userId, null));
+    }
+
+    /**
+     * 注销用户的全部会话（强制下线）
+     *
+     * @param userId 用户ID
+     * @return 注销的会话数
+     */
+    @Operation(summary = "强制用户下线", description = "管理员注销指定用户的全部登录会话，需要在请求头中携带 Authorization: Bearer <token>，且用户角色为管理员")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @DeleteMapping("/{userId}/sessions")
+    public Result<Integer> revokeUserSessions(
+            @Parameter(description = "用户ID", required = true) @PathVariable Long userId) {
+        if (userId == null || userId <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户ID无效");
+        }
+        int revoked = tokenUtils.revokeAllSessions(userId);
+        auditLogService.recordAdminAction(AuditConstant.ADMIN_REVOKE_SESSIONS, userId, "sessions=" + revoked);
+        return ResultUtils.success(revoked);
+    }
+
+    /**
+     * 注销用户的指定会话
+     *
+     * @param userId 用户ID
+     * @param sessionId 会话ID
+     * @return 是否成功
+     */
+    @Operation(summary = "注销用户登录设备", description = "管理员注销指定用户的指定会话，需要在请求头中携带 Authorization: Bearer <token>，且用户角色为管理员")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @DeleteMapping("/{userId}/sessions/{sessionId}")
+    public Result<Boolean> revokeUserSession(
+            @Parameter(description = "用户ID", required = true) @PathVariable Long userId,
+            @Parameter(description = "会话ID", required = true) @PathVariable String sessionId) {
+        if (userId == null || userId <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户ID无效");
+        }
+        boolean revoked = tokenUtils.revokeSession(userId, sessionId);
+        if (revoked) {
+            auditLogService.recordAdminAction(AuditConstant.ADMIN_REVOKE_SESSIONS, userId, "sessionId=" + sessionId);
+        }
+        return ResultUtils.success(revoked);
+    }
+}
@@ -0,0 +1,62 @@
+package com.ahz.usercenter.controller;
+
+import com.ahz.usercenter.common.ErrorCode;
+import com.ahz.usercenter.common.Result;
+import com.ahz.usercenter.common.ResultUtils;
+import com.ahz.usercenter.config.MybatisPlusConfig;
+import com.ahz.usercenter.exception.BusinessException;
+import com.ahz.usercenter.model.domain.AuditLog;
+import com.ahz.usercenter.model.domain.response.CursorPageResponse;
+import com.ahz.usercenter.service.AuditLogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.annotation.Resource;
+
+/**
+ * 审计日志接口
+ * 查询登录、注销和管理员操作记录，需要管理员权限
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Tag(name = "审计日志", description = "登录、注销和管理员操作的审计记录，需要管理员权限")
+@RestController
+@RequestMapping("/api/v1/audit-logs")
+public class AuditLogController {
+
+    @Resource
+    private AuditLogService auditLogService;
+
+    /**
+     * 按时间倒序查询审计日志
+     * 使用 (create_time, audit_id) 游标定位下一页，翻页深度不影响查询性能
+     *
+     * @param cursor 游标（首页不传）
+     * @param size 每页大小（默认20，最大100）
+     * @param eventType 事件类型（可选）
+     * @param userId 操作人ID（可选）
+     * @param targetId 被操作的用户ID（可选）
+     * @return 审计日志和下一页游标
+     */
+    @Operation(summary = "查询审计日志", description = "管理员按时间倒序游标分页查询审计日志，可按事件类型、操作人、被操作用户过滤，需要在请求头中携带 Authorization: Bearer <token>，且用户角色为管理员")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping
+    public Result<CursorPageResponse<AuditLog>> listAuditLogs(
+            @Parameter(description = "游标（首页不传，后续使用上一页返回的 nextCursor）", required = false) @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页大小", required = false) @RequestParam(defaultValue = "20") Integer size,
+            @Parameter(description = "事件类型，如 LOGIN_SUCCESS、LOGIN_FAILURE、LOGOUT、ADMIN_UPDATE_USER", required = false) @RequestParam(required = false) String eventType,
+            @Parameter(description = "操作人ID", required = false) @RequestParam(required = false) Long userId,
+            @Parameter(description = "被操作的用户ID", required = false) @RequestParam(required = false) Long targetId) {
+        if (size == null || size <= 0 || size > MybatisPlusConfig.MAX_PAGE_SIZE) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "每页大小无效");
+        }
+        return ResultUtils.success(auditLogService.listLogs(cursor, size, eventType, userId, targetId));
+    }
+}
@@ -1,16 +1,22 @@
 package com.ahz.usercenter.controller;
 
+import com.ahz.usercenter.cache.LoginStatsBuffer;
 import com.ahz.usercenter.common.Result;
 import com.ahz.usercenter.common.ErrorCode;
 import com.ahz.usercenter.common.ResultUtils;
+import com.ahz.usercenter.contant.AuditConstant;
 import com.ahz.usercenter.exception.BusinessException;
 import com.ahz.usercenter.model.domain.User;
+import com.ahz.usercenter.model.domain.request.AccountAvailabilityRequest;
 import com.ahz.usercenter.model.domain.request.UserLoginRequest;
 import com.ahz.usercenter.model.domain.request.UserRegisterRequest;
 import com.ahz.usercenter.model.domain.response.LoginResponse;
 import com.ahz.usercenter.model.dto.UserDTO;
+import com.ahz.usercenter.security.LoginThrottle;
+import com.ahz.usercenter.service.AuditLogService;
 import com.ahz.usercenter.service.UserService;
 import com.ahz.usercenter.utils.TokenUtils;
+import com.ahz.usercenter.utils.UserContext;
 import com.ahz.usercenter.utils.UserConvertor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -19,6 +25,7 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -39,6 +46,20 @@ public class AuthController {
     @Resource
     private TokenUtils tokenUtils;
 
+    @Resource
+    private LoginThrottle loginThrottle;
+
+    @Resource
+    private AuditLogService auditLogService;
+
+    @Resource
+    private LoginStatsBuffer loginStatsBuffer;
+
+    /**
+     * 账号可用性查询每次最多的账号数
+     */
+    private static final int MAX_AVAILABILITY_ACCOUNTS = 50;
+
     /**
      * 用户注册
      *
@@ -52,16 +73,35 @@ public class AuthController {
         if (userRegisterRequest == null) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR);
         }
+        // 字段规则（UserRegisterRequest 上的注解）由 UserService 校验
         String userAccount = userRegisterRequest.getUserAccount();
         String userPassword = userRegisterRequest.getUserPassword();
         String checkPassword = userRegisterRequest.getCheckPassword();
-        if (StringUtils.isAnyBlank(userAccount, userPassword, checkPassword)) {
-            throw new BusinessException(ErrorCode.PARAMS_ERROR, "参数为空");
-        }
         long result = userService.userRegister(userAccount, userPassword, checkPassword);
+        auditLogService.record(AuditConstant.REGISTER, result, userAccount, null, true, null);
         return ResultUtils.success(result);
     }
 
+    /**
+     * 批量查询账号是否可注册
+     * 供注册表单实时提示，一次请求查询多个候选账号
+     *
+     * @param availabilityRequest 账号列表
+     * @return 账号 -> 是否可用（格式不合法或已被占用时为 false）
+     */
+    @Operation(summary = "查询账号是否可用", description = "批量查询账号是否可以注册，格式不合法或已被占用的账号返回 false，每次最多 50 个")
+    @PostMapping("/accounts/availability")
+    public Result<Map<String, Boolean>> checkAccountAvailability(@RequestBody AccountAvailabilityRequest availabilityRequest) {
+        if (availabilityRequest == null || availabilityRequest.getUserAccounts() == null
+                || availabilityRequest.getUserAccounts().isEmpty()) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "参数为空");
+        }
+        if (availabilityRequest.getUserAccounts().size() > MAX_AVAILABILITY_ACCOUNTS) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "每次最多查询 " + MAX_AVAILABILITY_ACCOUNTS + " 个账号");
+        }
+        return ResultUtils.success(userService.checkAccountAvailability(availabilityRequest.getUserAccounts()));
+    }
+
     /**
      * 用户登录
      *
@@ -77,23 +117,34 @@ public class AuthController {
         }
         String userAccount = userLoginRequest.getUserAccount();
         String userPassword = userLoginRequest.getUserPassword();
-        if (StringUtils.isAnyBlank(userAccount, userPassword)) {
-            throw new BusinessException(ErrorCode.PARAMS_ERROR);
+        // 直接调用（如单元测试）时 request 可能为 null，此时不记录 IP 和设备
+        String clientIp = request != null ? request.getRemoteAddr() : null;
+        String userAgent = request != null ? request.getHeader("User-Agent") : null;
+        User user;
+        try {
+            // 1. 按账号和 IP 限流（在查询数据库和校验密码之前，被拒绝的请求不产生哈希开销）
+            loginThrottle.check(userAccount, clientIp);
+            // 2. 验证登录（字段规则见 UserLoginRequest 上的注解）
+            user = userService.userLogin(userAccount, userPassword, request);
+        } catch (BusinessException e) {
+            auditLogService.record(AuditConstant.LOGIN_FAILURE, null, userAccount, null, false,
+                    StringUtils.defaultIfBlank(e.getDescription(), e.getMessage()));
+            throw e;
         }
-        // 1. 验证登录
-        User user = userService.userLogin(userAccount, userPassword, request);
-        // 2. 转换为 DTO（脱敏）
+        loginThrottle.reset(userAccount);
+        // 最近登录时间、IP 和登录次数在内存中合并，定期批量写入，不在登录请求中更新 user 表
+        loginStatsBuffer.record(user.getId(), clientIp);
+        // 3. 转换为 DTO（脱敏）
         UserDTO userDTO = UserConvertor.toDTO(user);
         if (userDTO == null) {
             throw new BusinessException(ErrorCode.SYSTEM_ERROR, "用户信息转换失败");
         }
-        // 3. 生成 Token
-        String token = tokenUtils.generateToken(user.getId());
+        // 4. 签发 Token（opaque 模式写入 Redis，signed 模式本地签名）
+        String token = tokenUtils.issueToken(userDTO, clientIp, userAgent);
         if (token == null) {
             throw new BusinessException(ErrorCode.SYSTEM_ERROR, "Token 生成失败");
         }
-        // 4. 存储 Token 到 Redis
-        tokenUtils.storeToken(token, userDTO);
+        auditLogService.record(AuditConstant.LOGIN_SUCCESS, userDTO.getId(), userDTO.getUserAccount(), null, true, null);
         // 5. 返回 Token 和用户信息
         LoginResponse loginResponse = new LoginResponse(token, userDTO);
         return ResultUtils.success(loginResponse);
@@ -105,18 +156,22 @@ public class AuthController {
      * @param request HTTP 请求
      * @return 操作结果
      */
-    @Operation(summary = "退出登录", description = "用户注销接口，清除 Redis 中的 Token，需要在请求头中携带 Authorization")
+    @Operation(summary = "退出登录", description = "用户注销接口，使 Token 失效，需要在请求头中携带 Authorization")
     @io.swagger.v3.oas.annotations.security.SecurityRequirement(name = "Bearer Authentication")
     @PostMapping("/logout")
     public Result<Integer> logout(HttpServletRequest request) {
         // 从请求头获取 Token
         String token = request.getHeader("Authorization");
         if (StringUtils.isNotBlank(token)) {
-            // 删除 Redis 中的 Token
+            // 删除 Redis 中的 Token（签名 Token 写入吊销列表）
             // StringUtils.isNotBlank() 已确保 token 不为 null
             // 使用 Objects.requireNonNull 明确告诉静态分析工具
             tokenUtils.deleteToken(Objects.requireNonNull(token));
         }
+        UserDTO currentUser = UserContext.get();
+        if (currentUser != null) {
+            auditLogService.record(AuditConstant.LOGOUT, currentUser.getId(), currentUser.getUserAccount(), null, true, null);
+        }
         return ResultUtils.success(1);
     }
 }
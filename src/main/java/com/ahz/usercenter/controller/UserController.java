@@ -6,9 +6,13 @@ import com.ahz.usercenter.common.ResultUtils;
 import com.ahz.usercenter.exception.BusinessException;
 import com.ahz.usercenter.model.domain.User;
 import com.ahz.usercenter.model.domain.request.UserUpdateRequest;
+import com.ahz.usercenter.model.dto.SessionDTO;
 import com.ahz.usercenter.model.dto.UserDTO;
 import com.ahz.usercenter.service.UserService;
+import com.ahz.usercenter.utils.TokenUtils;
 import com.ahz.usercenter.utils.UserContext;
+import com.ahz.usercenter.utils.UserConvertor;
+import com.ahz.usercenter.validation.RequestValidator;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -16,6 +20,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.annotation.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
 
 /**
  * 用户接口
@@ -32,9 +38,18 @@ public class UserController {
     @Resource
     private UserService userService;
 
+    @Resource
+    private TokenUtils tokenUtils;
+
+    /**
+     * 更新请求的已编译校验规则
+     */
+    private static final RequestValidator<UserUpdateRequest> UPDATE_VALIDATOR = RequestValidator.of(UserUpdateRequest.class);
+
     /**
      * 获取当前用户信息
-     * 从 UserContext（ThreadLocal）中获取，由拦截器设置
+     * 从 UserContext（请求作用域）中获取，由拦截器设置
+     * 签名 Token 只携带 id、角色和状态（userAccount 为空），此时从数据库加载完整信息
      *
      * @return 当前用户信息
      */
@@ -46,6 +61,13 @@ public class UserController {
         if (currentUser == null) {
             throw new BusinessException(ErrorCode.NOT_LOGIN);
         }
+        if (currentUser.getUserAccount() == null) {
+            User user = userService.getSafetyUserById(currentUser.getId());
+            if (user == null) {
+                throw new BusinessException(ErrorCode.NOT_LOGIN);
+            }
+            currentUser = UserConvertor.toDTO(user);
+        }
         return ResultUtils.success(currentUser);
     }
 
@@ -62,30 +84,53 @@ public class UserController {
         if (updateRequest == null) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "参数错误");
         }
+        UPDATE_VALIDATOR.validate(updateRequest);
         // 获取当前登录用户
         UserDTO currentUser = UserContext.get();
         if (currentUser == null) {
             throw new BusinessException(ErrorCode.NOT_LOGIN);
         }
-        // 更新用户信息
-        User user = new User();
-        user.setId(currentUser.getId());
-        if (StringUtils.isNotBlank(updateRequest.getUsername())) {
-            user.setUsername(updateRequest.getUsername());
-        }
-        if (StringUtils.isNotBlank(updateRequest.getAvatarUrl())) {
-            user.setAvatarUrl(updateRequest.getAvatarUrl());
-        }
-        if (updateRequest.getGender() != null) {
-            user.setGender(updateRequest.getGender());
+        // 更新用户信息（只写入请求中已提供的字段）
+        User user = UserConvertor.fromUpdateRequest(updateRequest, currentUser.getId());
+        // 更新后由 UserService 清除用户缓存并通知各节点清除 Token 近端缓存
+        boolean result = userService.updateById(user);
+        return ResultUtils.success(result);
+    }
+
+    /**
+     * 查询当前用户的登录会话（登录设备）
+     *
+     * @param request HTTP 请求
+     * @return 会话列表（按最近活跃时间倒序）
+     */
+    @Operation(summary = "查询登录设备", description = "查询当前用户的全部登录会话，需要在请求头中携带 Authorization: Bearer <token>")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @GetMapping("/me/sessions")
+    public Result<List<SessionDTO>> listCurrentUserSessions(HttpServletRequest request) {
+        UserDTO currentUser = UserContext.get();
+        if (currentUser == null) {
+            throw new BusinessException(ErrorCode.NOT_LOGIN);
         }
-        if (StringUtils.isNotBlank(updateRequest.getPhone())) {
-            user.setPhone(updateRequest.getPhone());
+        return ResultUtils.success(tokenUtils.listSessions(currentUser.getId(), request.getHeader("Authorization")));
+    }
+
+    /**
+     * 注销当前用户的指定会话（踢下线）
+     *
+     * @param sessionId 会话 ID
+     * @return 是否成功
+     */
+    @Operation(summary = "注销登录设备", description = "注销当前用户的指定会话，需要在请求头中携带 Authorization: Bearer <token>")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @DeleteMapping("/me/sessions/{sessionId}")
+    public Result<Boolean> revokeCurrentUserSession(@PathVariable String sessionId) {
+        UserDTO currentUser = UserContext.get();
+        if (currentUser == null) {
+            throw new BusinessException(ErrorCode.NOT_LOGIN);
         }
-        if (StringUtils.isNotBlank(updateRequest.getEmail())) {
-            user.setEmail(updateRequest.getEmail());
+        if (StringUtils.isBlank(sessionId)) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "会话ID无效");
         }
-        boolean result = userService.updateById(user);
-        return ResultUtils.success(result);
+        return ResultUtils.success(tokenUtils.revokeSession(currentUser.getId(), sessionId));
     }
 }
@@ -1,6 +1,8 @@
 package com.ahz.usercenter.interceptor;
 
 import com.ahz.usercenter.common.ErrorCode;
+import com.ahz.usercenter.controller.AdminController;
+import com.ahz.usercenter.controller.AuditLogController;
 import com.ahz.usercenter.exception.BusinessException;
 import com.ahz.usercenter.model.dto.UserDTO;
 import com.ahz.usercenter.utils.TokenUtils;
@@ -10,11 +12,13 @@ import org.apache.commons.lang3.StringUtils;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.util.Set;
 
 /**
  * 登录拦截器
@@ -27,6 +31,11 @@ import jakarta.servlet.http.HttpServletResponse;
 @Slf4j
 public class LoginInterceptor implements HandlerInterceptor {
 
+    /**
+     * 需要管理员角色的控制器
+     */
+    private static final Set<Class<?>> ADMIN_CONTROLLERS = Set.of(AdminController.class, AuditLogController.class);
+
     @Resource
     private TokenUtils tokenUtils;
 
@@ -50,36 +59,36 @@ public class LoginInterceptor implements HandlerInterceptor {
         }
 
         // 3. 权限校验（管理员接口需要 admin 角色）
-        String requestURI = request.getRequestURI();
-        // 检查是否是管理员接口（/api/v1/users/{userId} 需要管理员权限，但 /api/v1/users/me 不需要）
-        // 管理员可以访问：GET /api/v1/users, GET /api/v1/users/{userId}, PUT/PATCH/DELETE /api/v1/users/{userId}
-        // 普通用户只能访问：GET /api/v1/users/me, PATCH /api/v1/users/me
-        if (requestURI.startsWith("/api/v1/users/") && !requestURI.equals("/api/v1/users/me")) {
-            // 检查是否是管理员
-            if (user.getUserRole() == null || !"admin".equals(user.getUserRole())) {
-                log.warn("User {} attempted to access admin resource without permission: {}", user.getId(), requestURI);
-                throw new BusinessException(ErrorCode.NO_AUTH, "无权限");
-            }
-        }
-        // 检查是否是管理员列表接口（GET /api/v1/users，不带路径参数）
-        if (requestURI.equals("/api/v1/users") && "GET".equals(request.getMethod())) {
-            if (user.getUserRole() == null || !"admin".equals(user.getUserRole())) {
-                log.warn("User {} attempted to access admin resource without permission: {}", user.getId(), requestURI);
-                throw new BusinessException(ErrorCode.NO_AUTH, "无权限");
-            }
+        // 按 Spring 解析出的处理器判断，而不是比较原始请求路径：
+        // 路径中的 ;参数、百分号编码等在匹配处理器前会被规范化，字符串比较无法覆盖所有写法
+        if (isAdminHandler(handler)
+                && (user.getUserRole() == null || !"admin".equals(user.getUserRole()))) {
+            log.warn("User {} attempted to access admin resource without permission: {}", user.getId(), request.getRequestURI());
+            throw new BusinessException(ErrorCode.NO_AUTH, "无权限");
         }
 
-        // 4. 保存用户信息到 ThreadLocal，方便后续获取
+        // 4. 保存用户信息到当前请求的 UserContext 作用域，方便后续获取
         UserContext.set(user);
         return true;
     }
 
+    /**
+     * 是否是管理员接口（AdminController、AuditLogController 中的全部接口）
+     * 普通用户自己的接口（/api/v1/users/me 等）在 UserController 中，不受影响
+     *
+     * @param handler 处理器
+     * @return 是否需要管理员权限
+     */
+    private static boolean isAdminHandler(Object handler) {
+        return handler instanceof HandlerMethod handlerMethod && ADMIN_CONTROLLERS.contains(handlerMethod.getBeanType());
+    }
+
     @Override
     public void afterCompletion(@NonNull HttpServletRequest request,
                                 @NonNull HttpServletResponse response,
                                 @NonNull Object handler,
                                 @Nullable Exception ex) throws Exception {
-        // 请求结束后清除 ThreadLocal，避免内存泄漏
+        // 作用域随 UserContextFilter 结束自动解绑；未经过过滤器时（如独立测试）在此清除
         UserContext.clear();
     }
 }
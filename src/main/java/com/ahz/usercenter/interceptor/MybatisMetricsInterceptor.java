@@ -0,0 +1,89 @@
+package com.ahz.usercenter.interceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Resource;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyBatis 查询耗时指标
+ * 按 Mapper 方法记录 userhub.db.query（含百分位直方图），标签取值为 Mapper 简单类名加方法名，基数固定
+ * <p>
+ * 只拦截带 BoundSql 的 6 参数 query：MyBatis-Plus 拦截器把所有查询改写为该调用，
+ * 本插件排在最内层（最高优先级，先于 MybatisPlusInterceptor 织入），每次查询只记录一次，
+ * 分页插件生成的 COUNT 语句作为独立语句（*_mpCount）记录
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class MybatisMetricsInterceptor implements Interceptor {
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 语句 ID -> 计时器，避免每次查询都构建标签并查找注册表
+     */
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            timer(statement).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(MappedStatement statement) {
+        Timer timer = timers.get(statement.getId());
+        if (timer != null) {
+            return timer;
+        }
+        return timers.computeIfAbsent(statement.getId(), id -> Timer.builder("userhub.db.query")
+                .description("MyBatis 语句执行耗时（含结果映射）")
+                .tag("statement", shortId(id))
+                .tag("command", statement.getSqlCommandType().name().toLowerCase(Locale.ROOT))
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry));
+    }
+
+    /**
+     * com.ahz.usercenter.mapper.UserMapper.selectById -> UserMapper.selectById
+     */
+    private static String shortId(String id) {
+        int method = id.lastIndexOf('.');
+        int type = method > 0 ? id.lastIndexOf('.', method - 1) : -1;
+        return type >= 0 ? id.substring(type + 1) : id;
+    }
+}
@@ -0,0 +1,55 @@
+package com.ahz.usercenter.interceptor;
+
+import com.ahz.usercenter.utils.UserContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 用户上下文过滤器
+ * 为每个请求建立 UserContext 作用域，过滤器链返回时作用域自动解绑，不依赖拦截器清理
+ * 作用域保存在请求属性中，异步请求重新分派（async dispatch）时绑定同一个作用域
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class UserContextFilter extends OncePerRequestFilter {
+
+    /**
+     * 保存作用域的请求属性名
+     */
+    private static final String SCOPE_ATTRIBUTE = UserContextFilter.class.getName() + ".SCOPE";
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        UserContext.Scope scope = (UserContext.Scope) request.getAttribute(SCOPE_ATTRIBUTE);
+        if (scope == null) {
+            scope = UserContext.newScope();
+            request.setAttribute(SCOPE_ATTRIBUTE, scope);
+        }
+        try {
+            UserContext.runInScope(scope, () -> filterChain.doFilter(request, response));
+        } catch (IOException | ServletException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+}
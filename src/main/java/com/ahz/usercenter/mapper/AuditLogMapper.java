@@ -0,0 +1,24 @@
+package com.ahz.usercenter.mapper;
+
+import com.ahz.usercenter.model.domain.AuditLog;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 审计日志 Mapper
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+public interface AuditLogMapper extends BaseMapper<AuditLog> {
+
+    /**
+     * 多行插入审计日志（一条 INSERT 语句），不回填主键
+     *
+     * @param logs 审计日志
+     * @return 影响行数
+     */
+    int insertBatch(@Param("logs") List<AuditLog> logs);
+}
@@ -1,7 +1,15 @@
 package com.ahz.usercenter.mapper;
 
 import com.ahz.usercenter.model.domain.User;
+import com.ahz.usercenter.model.domain.UserLoginStats;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 用户 Mapper
@@ -11,6 +19,100 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
  */
 public interface UserMapper extends BaseMapper<User> {
 
-}
+    /**
+     * 按账号查询登录所需字段（走 uk_user_account 唯一索引，不查询 update_time 等无关列）
+     *
+     * @param userAccount 用户账号
+     * @return 用户（含密码哈希），不存在时返回 null
+     */
+    User selectLoginUser(@Param("userAccount") String userAccount);
+
+    /**
+     * 搜索用户（不含密码哈希），按相关度排序
+     *
+     * @param keyword 关键词（用于账号完全匹配）
+     * @param prefix  账号前缀匹配模式
+     * @param phrase  全文检索短语，为 null 时只做账号前缀匹配
+     * @param limit   最大条数
+     * @return 用户列表
+     */
+    List<User> searchUsers(@Param("keyword") String keyword, @Param("prefix") String prefix,
+                           @Param("phrase") String phrase, @Param("limit") int limit);
+
+    /**
+     * 更新密码哈希（仅当当前哈希仍为 oldHash 时更新，避免覆盖并发修改的密码）
+     *
+     * @param userId  用户 ID
+     * @param oldHash 原密码哈希
+     * @param newHash 新密码哈希
+     * @return 影响行数
+     */
+    int updatePasswordHash(@Param("userId") Long userId, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
+    /**
+     * 锁定并返回仍存在（未删除）的用户 ID，需在事务中调用
+     *
+     * @param ids 用户 ID
+     * @return 存在的用户 ID
+     */
+    List<Long> selectActiveIdsForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 批量修改用户状态
+     *
+     * @param ids    用户 ID
+     * @param status 状态
+     * @return 影响行数
+     */
+    int updateStatusByIds(@Param("ids") Collection<Long> ids, @Param("status") String status);
 
+    /**
+     * 批量修改用户角色
+     *
+     * @param ids  用户 ID
+     * @param role 角色
+     * @return 影响行数
+     */
+    int updateRoleByIds(@Param("ids") Collection<Long> ids, @Param("role") String role);
 
+    /**
+     * 批量逻辑删除
+     *
+     * @param ids 用户 ID
+     * @return 影响行数
+     */
+    int logicDeleteByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 查询已存在（未删除）的账号
+     *
+     * @param accounts 账号
+     * @return 已存在的账号
+     */
+    List<String> selectExistingAccounts(@Param("accounts") Collection<String> accounts);
+
+    /**
+     * 多行插入用户（一条 INSERT 语句），不回填主键
+     *
+     * @param users 用户
+     * @return 影响行数
+     */
+    int insertBatch(@Param("users") List<User> users);
+
+    /**
+     * 合并写入登录统计：累加登录次数，最近登录时间和 IP 只在更晚时覆盖，不修改 update_time
+     *
+     * @param stats 各用户在一个写入周期内的累计统计
+     * @return 影响行数
+     */
+    int updateLoginStats(@Param("stats") List<UserLoginStats> stats);
+
+    /**
+     * 以游标方式逐行读取用户（不含密码哈希），按 user_id 排序
+     * 驱动逐行从连接上读取结果集，客户端内存占用与结果行数无关；读取完毕或关闭游标前会一直占用连接，需在事务中调用
+     *
+     * @param wrapper 筛选条件（只使用 where 条件）
+     * @return 用户游标
+     */
+    Cursor<User> selectExportCursor(@Param(Constants.WRAPPER) Wrapper<User> wrapper);
+}
@@ -0,0 +1,76 @@
+package com.ahz.usercenter.model.domain;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * 审计日志实体
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@TableName(value = "audit_log")
+@Data
+public class AuditLog implements Serializable {
+
+    /**
+     * 日志id
+     */
+    @TableId(value = "audit_id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 事件类型（见 AuditConstant）
+     */
+    @TableField("event_type")
+    private String eventType;
+
+    /**
+     * 操作人 ID（登录失败时可能为空）
+     */
+    @TableField("user_id")
+    private Long userId;
+
+    /**
+     * 操作人账号
+     */
+    @TableField("user_account")
+    private String userAccount;
+
+    /**
+     * 被操作的用户 ID
+     */
+    @TableField("target_id")
+    private Long targetId;
+
+    /**
+     * 客户端 IP
+     */
+    @TableField("client_ip")
+    private String clientIp;
+
+    /**
+     * 是否成功
+     */
+    private Boolean success;
+
+    /**
+     * 详情
+     */
+    private String detail;
+
+    /**
+     * 事件发生时间（记录时取值，不是写入数据库的时间）
+     */
+    @TableField("create_time")
+    private Date createTime;
+
+    @TableField(exist = false)
+    private static final long serialVersionUID = 1L;
+}
@@ -78,11 +78,11 @@ public class User implements Serializable {
     private Date updateTime;
 
     /**
-     * 是否删除
+     * 是否删除：0-未删除，已删除时为本行的 user_id
      */
     @TableLogic
     @TableField("is_delete")
-    private Integer isDelete;
+    private Long isDelete;
 
     /**
      * 用户角色: user, admin
@@ -90,6 +90,24 @@ public class User implements Serializable {
     @TableField("user_role")
     private String userRole;
 
+    /**
+     * 最近登录时间（定期批量写入，可能滞后）
+     */
+    @TableField("last_login_time")
+    private Date lastLoginTime;
+
+    /**
+     * 最近登录 IP
+     */
+    @TableField("last_login_ip")
+    private String lastLoginIp;
+
+    /**
+     * 登录次数
+     */
+    @TableField("login_count")
+    private Integer loginCount;
+
     @TableField(exist = false)
     private static final long serialVersionUID = 1L;
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.ahz.usercenter.model.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * 一个用户在一个写入周期内累计的登录统计（合并后一次写入 user 表）
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserLoginStats implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 用户 id
+     */
+    private Long userId;
+
+    /**
+     * 周期内的登录次数（累加到 login_count）
+     */
+    private int loginCount;
+
+    /**
+     * 周期内最近一次登录时间
+     */
+    private Date lastLoginTime;
+
+    /**
+     * 周期内最近一次登录 IP
+     */
+    private String lastLoginIp;
+
+    /**
+     * 合并同一用户的另一份统计
+     *
+     * @param other 另一份统计
+     * @return 合并后的统计（新对象）
+     */
+    public UserLoginStats merge(UserLoginStats other) {
+        boolean otherIsLater = other.lastLoginTime.compareTo(lastLoginTime) >= 0;
+        return new UserLoginStats(userId, loginCount + other.loginCount,
+                otherIsLater ? other.lastLoginTime : lastLoginTime,
+                otherIsLater ? other.lastLoginIp : lastLoginIp);
+    }
+}
@@ -0,0 +1,26 @@
+package com.ahz.usercenter.model.domain.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 账号可用性查询请求体
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Data
+@Schema(description = "账号可用性查询请求")
+public class AccountAvailabilityRequest implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 待查询的账号（最多 50 个）
+     */
+    @Schema(description = "待查询的账号（最多 50 个）", example = "[\"alice\", \"bob2024\"]", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<String> userAccounts;
+}
@@ -0,0 +1,89 @@
+package com.ahz.usercenter.model.domain.request;
+
+import com.ahz.usercenter.validation.OneOf;
+import com.ahz.usercenter.validation.Required;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 批量管理用户请求体
+ * ids 与 filter 二选一：指定 ids 时只处理这些用户，否则处理 filter 匹配的全部用户
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Data
+@Schema(description = "批量管理用户请求（ids 与 filter 二选一）")
+public class BulkUserRequest implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 操作: status（修改状态）, role（修改角色）, delete（逻辑删除）
+     */
+    @Required
+    @OneOf(value = {"status", "role", "delete"}, message = "批量操作类型错误")
+    @Schema(description = "操作（status/role/delete）", example = "status", requiredMode = Schema.RequiredMode.REQUIRED)
+    private String action;
+
+    /**
+     * 目标值：action 为 status 时为 active/inactive/banned，为 role 时为 user/admin，delete 时不需要
+     */
+    @Schema(description = "目标状态或角色（delete 时不需要）", example = "banned")
+    private String value;
+
+    /**
+     * 用户 ID 列表
+     */
+    @Schema(description = "用户ID列表", example = "[1, 2, 3]")
+    private List<Long> ids;
+
+    /**
+     * 筛选条件（与用户列表接口相同）
+     */
+    @Schema(description = "筛选条件（未指定 ids 时使用）")
+    private Filter filter;
+
+    /**
+     * 筛选条件
+     */
+    @Data
+    public static class Filter implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * 用户名（模糊匹配）
+         */
+        @Schema(description = "用户名（支持模糊搜索）")
+        private String username;
+
+        /**
+         * 用户角色
+         */
+        @Schema(description = "用户角色", example = "user")
+        private String role;
+
+        /**
+         * 用户状态（1-active 2-inactive 3-banned）
+         */
+        @Schema(description = "用户状态（1-active 2-inactive 3-banned）", example = "2")
+        private Integer status;
+
+        /**
+         * 最近登录时间下限（包含）
+         */
+        @Schema(description = "最近登录时间下限（ISO 格式）", example = "2024-12-01T00:00:00")
+        private LocalDateTime lastLoginAfter;
+
+        /**
+         * 最近登录时间上限（不包含，不匹配从未登录的用户）
+         */
+        @Schema(description = "最近登录时间上限（ISO 格式，不匹配从未登录的用户）", example = "2024-12-01T00:00:00")
+        private LocalDateTime lastLoginBefore;
+    }
+}
@@ -0,0 +1,90 @@
+package com.ahz.usercenter.model.domain.request;
+
+import com.ahz.usercenter.validation.CharRule;
+import com.ahz.usercenter.validation.Chars;
+import com.ahz.usercenter.validation.Format;
+import com.ahz.usercenter.validation.FormatRule;
+import com.ahz.usercenter.validation.Length;
+import com.ahz.usercenter.validation.OneOf;
+import com.ahz.usercenter.validation.Required;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 批量导入的一行用户数据（CSV 的一行或 NDJSON 的一个对象）
+ * userPassword 与 passwordHash 二选一：明文密码在导入时哈希，已有哈希（如从其他系统迁移）原样写入
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Data
+public class UserImportRow implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 用户账号
+     */
+    @Required
+    @Length(min = 4, max = 256, tooShort = "用户账号过短（至少4个字符）", tooLong = "用户账号过长")
+    @Chars(value = CharRule.ACCOUNT, message = "账号包含特殊字符")
+    private String userAccount;
+
+    /**
+     * 明文密码
+     */
+    @Length(min = 8, max = 128, tooShort = "用户密码过短（至少8个字符）", tooLong = "用户密码过长")
+    private String userPassword;
+
+    /**
+     * 密码哈希（{算法}哈希，或无前缀的 BCrypt 哈希）
+     */
+    @Length(max = 255, tooLong = "密码哈希过长")
+    private String passwordHash;
+
+    /**
+     * 用户昵称
+     */
+    @Length(max = 256, tooLong = "用户昵称过长")
+    private String username;
+
+    /**
+     * 用户头像
+     */
+    @Length(max = 1024, tooLong = "头像地址过长")
+    @Format(value = FormatRule.HTTP_URL, message = "头像地址格式错误")
+    private String avatarUrl;
+
+    /**
+     * 性别
+     */
+    @OneOf(value = {"male", "female", "unknown"}, message = "性别取值错误")
+    private String gender;
+
+    /**
+     * 电话
+     */
+    @Length(max = 32, tooLong = "电话号码过长")
+    @Chars(value = CharRule.PHONE, message = "电话号码格式错误")
+    private String phone;
+
+    /**
+     * 邮箱
+     */
+    @Length(max = 512, tooLong = "邮箱地址过长")
+    @Format(value = FormatRule.EMAIL, message = "邮箱格式错误")
+    private String email;
+
+    /**
+     * 用户状态，默认 active
+     */
+    @OneOf(value = {"active", "inactive", "banned"}, message = "用户状态取值错误")
+    private String userStatus;
+
+    /**
+     * 用户角色，默认 user
+     */
+    @OneOf(value = {"user", "admin"}, message = "用户角色取值错误")
+    private String userRole;
+}
@@ -1,5 +1,7 @@
 package com.ahz.usercenter.model.domain.request;
 
+import com.ahz.usercenter.validation.Length;
+import com.ahz.usercenter.validation.Required;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
@@ -7,6 +9,8 @@ import java.io.Serializable;
 
 /**
  * 用户登录请求体
+ * 登录只检查必填和长度上限，字符集和最短长度等规则只在注册时检查：
+ * 规则收紧之前注册的账号和密码仍然可以登录
  *
  * @author ahz
  * @version 1.0
@@ -20,12 +24,16 @@ public class UserLoginRequest implements Serializable {
     /**
      * 用户账号
      */
+    @Required
+    @Length(max = 256, tooLong = "用户账号过长")
     @Schema(description = "用户账号", example = "testuser", requiredMode = Schema.RequiredMode.REQUIRED)
     private String userAccount;
 
     /**
      * 用户密码
      */
+    @Required
+    @Length(max = 1024, tooLong = "用户密码过长")
     @Schema(description = "用户密码", example = "12345678", requiredMode = Schema.RequiredMode.REQUIRED)
     private String userPassword;
 }
@@ -1,5 +1,9 @@
 package com.ahz.usercenter.model.domain.request;
 
+import com.ahz.usercenter.validation.CharRule;
+import com.ahz.usercenter.validation.Chars;
+import com.ahz.usercenter.validation.Length;
+import com.ahz.usercenter.validation.Required;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
@@ -20,18 +24,25 @@ public class UserRegisterRequest implements Serializable {
     /**
      * 用户账号
      */
+    @Required
+    @Length(min = 4, max = 256, tooShort = "用户账号过短（至少4个字符）", tooLong = "用户账号过长")
+    @Chars(value = CharRule.ACCOUNT, message = "账号包含特殊字符")
     @Schema(description = "用户账号", example = "testuser", requiredMode = Schema.RequiredMode.REQUIRED)
     private String userAccount;
 
     /**
      * 用户密码
      */
+    @Required
+    @Length(min = 8, max = 128, tooShort = "用户密码过短（至少8个字符）", tooLong = "用户密码过长")
     @Schema(description = "用户密码", example = "12345678", requiredMode = Schema.RequiredMode.REQUIRED)
     private String userPassword;
 
     /**
      * 校验密码
      */
+    @Required
+    @Length(min = 8, max = 128, tooShort = "用户密码过短（至少8个字符）", tooLong = "用户密码过长")
     @Schema(description = "确认密码（需与密码一致）", example = "12345678", requiredMode = Schema.RequiredMode.REQUIRED)
     private String checkPassword;
 }
\ No newline at end of file
@@ -1,5 +1,11 @@
 package com.ahz.usercenter.model.domain.request;
 
+import com.ahz.usercenter.validation.CharRule;
+import com.ahz.usercenter.validation.Chars;
+import com.ahz.usercenter.validation.Format;
+import com.ahz.usercenter.validation.FormatRule;
+import com.ahz.usercenter.validation.Length;
+import com.ahz.usercenter.validation.OneOf;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
@@ -20,30 +26,38 @@ public class UserUpdateRequest implements Serializable {
     /**
      * 用户昵称
      */
+    @Length(max = 256, tooLong = "用户昵称过长")
     @Schema(description = "用户昵称", example = "新昵称")
     private String username;
 
     /**
      * 用户头像
      */
+    @Length(max = 1024, tooLong = "头像地址过长")
+    @Format(value = FormatRule.HTTP_URL, message = "头像地址格式错误")
     @Schema(description = "用户头像URL", example = "https://example.com/avatar.jpg")
     private String avatarUrl;
 
     /**
      * 性别
      */
+    @OneOf(value = {"male", "female", "unknown"}, message = "性别取值错误")
     @Schema(description = "性别（male/female/unknown）", example = "unknown")
     private String gender;
 
     /**
      * 电话
      */
+    @Length(max = 32, tooLong = "电话号码过长")
+    @Chars(value = CharRule.PHONE, message = "电话号码格式错误")
     @Schema(description = "电话号码", example = "1xxxxxxxxxx")
     private String phone;
 
     /**
      * 邮箱
      */
+    @Length(max = 512, tooLong = "邮箱地址过长")
+    @Format(value = FormatRule.EMAIL, message = "邮箱格式错误")
     @Schema(description = "邮箱地址", example = "user@example.com")
     private String email;
 }
@@ -0,0 +1,108 @@
+package com.ahz.usercenter.model.domain.response;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量操作响应类
+ * 按请求顺序返回每个用户的处理结果
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Data
+public class BulkOperationResponse implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 操作
+     */
+    private String action;
+
+    /**
+     * 处理的用户数
+     */
+    private int total;
+
+    /**
+     * 成功数
+     */
+    private int succeeded;
+
+    /**
+     * 失败数
+     */
+    private int failed;
+
+    /**
+     * 每个用户的处理结果
+     */
+    private List<ItemResult> results = new ArrayList<>();
+
+    public BulkOperationResponse() {
+    }
+
+    public BulkOperationResponse(String action) {
+        this.action = action;
+    }
+
+    /**
+     * 记录成功
+     *
+     * @param id 用户 ID
+     */
+    public void addSuccess(Long id) {
+        results.add(new ItemResult(id, true, null));
+        total++;
+        succeeded++;
+    }
+
+    /**
+     * 记录失败
+     *
+     * @param id      用户 ID
+     * @param message 失败原因
+     */
+    public void addFailure(Long id, String message) {
+        results.add(new ItemResult(id, false, message));
+        total++;
+        failed++;
+    }
+
+    /**
+     * 单个用户的处理结果
+     */
+    @Data
+    public static class ItemResult implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * 用户 ID
+         */
+        private Long id;
+
+        /**
+         * 是否成功
+         */
+        private boolean success;
+
+        /**
+         * 失败原因，成功时为 null
+         */
+        private String message;
+
+        public ItemResult() {
+        }
+
+        public ItemResult(Long id, boolean success, String message) {
+            this.id = id;
+            this.success = success;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ahz.usercenter.model.domain.response;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 游标分页响应类
+ * 按主键定位下一页，不使用 OFFSET，也不强制统计总数
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Data
+public class CursorPageResponse<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 当前页数据
+     */
+    private List<T> records;
+
+    /**
+     * 下一页游标，没有更多数据时为 null
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有更多数据
+     */
+    private boolean hasMore;
+
+    /**
+     * 总数（仅在请求时返回，来自短时间缓存，可能略有滞后）
+     */
+    private Long total;
+
+    public CursorPageResponse() {
+    }
+
+    public CursorPageResponse(List<T> records, String nextCursor, Long total) {
+        this.records = records;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+        this.total = total;
+    }
+}
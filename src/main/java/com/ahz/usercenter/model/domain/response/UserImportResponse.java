@@ -0,0 +1,107 @@
+package com.ahz.usercenter.model.domain.response;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 批量导入任务的进度与结果
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Data
+public class UserImportResponse implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 任务 ID
+     */
+    private String jobId;
+
+    /**
+     * 任务状态: running, completed, failed
+     */
+    private String status;
+
+    /**
+     * 文件格式: csv, ndjson
+     */
+    private String format;
+
+    /**
+     * 已读取的数据行数
+     */
+    private long rowsRead;
+
+    /**
+     * 已导入的用户数
+     */
+    private long imported;
+
+    /**
+     * 失败的行数（参数错误、账号重复等）
+     */
+    private long failed;
+
+    /**
+     * 行错误（最多保留 userhub.import.max-errors 条，任务列表中不返回明细）
+     */
+    private List<RowError> errors;
+
+    /**
+     * 是否有行错误因超出上限未返回
+     */
+    private boolean errorsTruncated;
+
+    /**
+     * 任务失败时的原因
+     */
+    private String message;
+
+    /**
+     * 开始时间
+     */
+    private Date startTime;
+
+    /**
+     * 已用时间（毫秒）
+     */
+    private long elapsedMs;
+
+    /**
+     * 单行错误
+     */
+    @Data
+    public static class RowError implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * 行号（从 1 开始，CSV 包括表头行）
+         */
+        private long line;
+
+        /**
+         * 用户账号
+         */
+        private String userAccount;
+
+        /**
+         * 错误原因
+         */
+        private String message;
+
+        public RowError() {
+        }
+
+        public RowError(long line, String userAccount, String message) {
+            this.line = line;
+            this.userAccount = userAccount;
+            this.message = message;
+        }
+    }
+}
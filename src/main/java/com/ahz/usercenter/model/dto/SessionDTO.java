@@ -0,0 +1,49 @@
+package com.ahz.usercenter.model.dto;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * 会话数据传输对象（登录设备）
+ * 不包含 Token 本身，使用 Token 的摘要作为会话 ID
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Data
+public class SessionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 会话 ID（Token 的 SHA-256 摘要前缀）
+     */
+    private String sessionId;
+
+    /**
+     * 登录时间
+     */
+    private Date createTime;
+
+    /**
+     * 最近活跃时间（最近一次续期的时间）
+     */
+    private Date lastActiveTime;
+
+    /**
+     * 登录 IP
+     */
+    private String ip;
+
+    /**
+     * 登录设备（User-Agent）
+     */
+    private String userAgent;
+
+    /**
+     * 是否为当前请求使用的会话
+     */
+    private boolean current;
+}
@@ -66,5 +66,20 @@ public class UserDTO implements Serializable {
      * 用户角色: user, admin
      */
     private String userRole;
+
+    /**
+     * 最近登录时间（仅管理员接口返回，定期批量写入，可能滞后）
+     */
+    private Date lastLoginTime;
+
+    /**
+     * 最近登录 IP（仅管理员接口返回）
+     */
+    private String lastLoginIp;
+
+    /**
+     * 登录次数（仅管理员接口返回）
+     */
+    private Integer loginCount;
 }
 
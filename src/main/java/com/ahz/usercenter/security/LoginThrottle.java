@@ -0,0 +1,225 @@
+package com.ahz.usercenter.security;
+
+import com.ahz.usercenter.common.ErrorCode;
+import com.ahz.usercenter.config.LoginThrottleProperties;
+import com.ahz.usercenter.exception.BusinessException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 登录限流
+ * 按账号和客户端 IP 分别做滑动窗口计数，一次 Lua 调用完成检查和记录；超出限制时锁定，再次锁定时锁定时长翻倍。
+ * 在查询数据库和校验密码之前调用，被拒绝的请求不产生 BCrypt 开销；
+ * 已锁定的账号和 IP 记录在本地缓存中，锁定期间直接拒绝，不访问 Redis
+ * <p>
+ * Redis 不可用时放行（记录指标），避免限流组件故障导致所有用户无法登录
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Component
+@Slf4j
+public class LoginThrottle {
+
+    private static final String ACCOUNT_PREFIX = "LOGIN_THROTTLE:ACCOUNT:";
+
+    private static final String IP_PREFIX = "LOGIN_THROTTLE:IP:";
+
+    private static final String SCOPE_ACCOUNT = "account";
+
+    private static final String SCOPE_IP = "ip";
+
+    /**
+     * 滑动窗口检查的 Lua 脚本
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> THROTTLE_SCRIPT = new DefaultRedisScript<>();
+
+    static {
+        THROTTLE_SCRIPT.setLocation(new ClassPathResource("lua/login_throttle.lua"));
+        THROTTLE_SCRIPT.setResultType(List.class);
+    }
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Resource
+    private LoginThrottleProperties throttleProperties;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    /**
+     * 本地锁定缓存：key -> 锁定截止时间（毫秒），条目在截止时间自动过期
+     */
+    private Cache<String, Long> lockedUntil;
+
+    private Counter localRejectedCounter;
+
+    private Counter redisAccountRejectedCounter;
+
+    private Counter redisIpRejectedCounter;
+
+    private Counter errorCounter;
+
+    @PostConstruct
+    public void init() {
+        lockedUntil = Caffeine.newBuilder()
+                .maximumSize(throttleProperties.getLocalMaximumSize())
+                .expireAfter(new Expiry<String, Long>() {
+                    @Override
+                    public long expireAfterCreate(String key, Long until, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, until - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Long until, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, until, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Long until, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        localRejectedCounter = rejectedCounter("local", "any");
+        redisAccountRejectedCounter = rejectedCounter("redis", SCOPE_ACCOUNT);
+        redisIpRejectedCounter = rejectedCounter("redis", SCOPE_IP);
+        errorCounter = Counter.builder("userhub.login.throttle.errors")
+                .description("Redis 不可用而放行的登录尝试数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 检查并记录一次登录尝试，超出限制时抛出异常
+     *
+     * @param userAccount 用户账号（可为空）
+     * @param clientIp    客户端 IP（可为空）
+     */
+    public void check(String userAccount, String clientIp) {
+        if (!throttleProperties.isEnabled()) {
+            return;
+        }
+        String accountKey = StringUtils.isNotBlank(userAccount) ? ACCOUNT_PREFIX + userAccount : null;
+        String ipKey = StringUtils.isNotBlank(clientIp) ? IP_PREFIX + clientIp : null;
+        if (accountKey == null && ipKey == null) {
+            return;
+        }
+        // 1. 本地预过滤：锁定期间不访问 Redis
+        long now = System.currentTimeMillis();
+        Long until = localLockedUntil(accountKey, ipKey);
+        if (until != null && until > now) {
+            localRejectedCounter.increment();
+            throw rejected(until - now);
+        }
+        // 2. Redis 滑动窗口（一次调用同时检查两个维度）
+        List<String> keys = new ArrayList<>(6);
+        List<String> args = new ArrayList<>(11);
+        args.add(String.valueOf(now));
+        args.add(now + ":" + UUID.randomUUID());
+        args.add(String.valueOf(throttleProperties.getStrikeTtl().toMillis()));
+        List<String> dimensionKeys = new ArrayList<>(2);
+        if (accountKey != null) {
+            addDimension(keys, args, accountKey, throttleProperties.getAccount());
+            dimensionKeys.add(accountKey);
+        }
+        if (ipKey != null) {
+            addDimension(keys, args, ipKey, throttleProperties.getIp());
+            dimensionKeys.add(ipKey);
+        }
+        List<?> result;
+        try {
+            result = stringRedisTemplate.execute(THROTTLE_SCRIPT, keys, args.toArray());
+        } catch (DataAccessException e) {
+            errorCounter.increment();
+            log.warn("Login throttle check failed, allowing attempt: {}", e.getMessage());
+            return;
+        }
+        if (result == null || result.size() < 2) {
+            return;
+        }
+        int dimension = ((Number) result.get(0)).intValue();
+        if (dimension <= 0) {
+            return;
+        }
+        long lockMs = ((Number) result.get(1)).longValue();
+        String lockedKey = dimensionKeys.get(dimension - 1);
+        lockedUntil.put(lockedKey, now + lockMs);
+        if (lockedKey.startsWith(ACCOUNT_PREFIX)) {
+            redisAccountRejectedCounter.increment();
+            log.info("Login throttled for account: {}, lockMs={}", userAccount, lockMs);
+        } else {
+            redisIpRejectedCounter.increment();
+            log.info("Login throttled for ip: {}, lockMs={}", clientIp, lockMs);
+        }
+        throw rejected(lockMs);
+    }
+
+    /**
+     * 登录成功后清除账号的尝试记录和锁定次数
+     *
+     * @param userAccount 用户账号
+     */
+    public void reset(String userAccount) {
+        if (!throttleProperties.isEnabled() || StringUtils.isBlank(userAccount)) {
+            return;
+        }
+        String accountKey = ACCOUNT_PREFIX + userAccount;
+        lockedUntil.invalidate(accountKey);
+        try {
+            stringRedisTemplate.delete(List.of(accountKey + ":ATTEMPTS", accountKey + ":STRIKES"));
+        } catch (DataAccessException e) {
+            log.warn("Failed to reset login throttle for account: {}", userAccount, e);
+        }
+    }
+
+    private Long localLockedUntil(String accountKey, String ipKey) {
+        Long accountUntil = accountKey != null ? lockedUntil.getIfPresent(accountKey) : null;
+        Long ipUntil = ipKey != null ? lockedUntil.getIfPresent(ipKey) : null;
+        if (accountUntil == null) {
+            return ipUntil;
+        }
+        return ipUntil == null ? accountUntil : Math.max(accountUntil, ipUntil);
+    }
+
+    private static void addDimension(List<String> keys, List<String> args, String key, LoginThrottleProperties.Limit limit) {
+        keys.add(key + ":ATTEMPTS");
+        keys.add(key + ":LOCK");
+        keys.add(key + ":STRIKES");
+        args.add(String.valueOf(limit.getMaxAttempts()));
+        args.add(String.valueOf(limit.getWindow().toMillis()));
+        args.add(String.valueOf(limit.getLockout().toMillis()));
+        args.add(String.valueOf(limit.getMaxLockout().toMillis()));
+    }
+
+    private static BusinessException rejected(long remainingMs) {
+        long seconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(remainingMs + 999));
+        return new BusinessException(ErrorCode.TOO_MANY_REQUESTS, "登录尝试过于频繁，请 " + seconds + " 秒后重试");
+    }
+
+    private Counter rejectedCounter(String source, String scope) {
+        return Counter.builder("userhub.login.throttled")
+                .description("被登录限流拒绝的尝试数")
+                .tag("source", source)
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+}
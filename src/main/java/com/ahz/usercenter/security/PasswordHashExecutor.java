@@ -0,0 +1,188 @@
+package com.ahz.usercenter.security;
+
+import com.ahz.usercenter.common.ErrorCode;
+import com.ahz.usercenter.config.PasswordProperties;
+import com.ahz.usercenter.utils.UserContext;
+import com.ahz.usercenter.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 密码哈希执行器
+ * 在固定大小的专用线程池中执行 BCrypt 计算，等待队列有界，队列满时快速失败（系统繁忙）
+ * 请求线程只等待结果，不参与哈希计算，登录高峰不会占满 CPU 影响其他接口
+ * 开启虚拟线程时该线程池仍使用平台线程：哈希是 CPU 密集计算，需要固定并行度来限流
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Component
+@Slf4j
+public class PasswordHashExecutor {
+
+    @Resource
+    private PasswordEncoder passwordEncoder;
+
+    @Resource
+    private PasswordProperties passwordProperties;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    private ThreadPoolExecutor executor;
+
+    private Timer encodeTimer;
+
+    private Timer matchesTimer;
+
+    private Counter rejectedCounter;
+
+    /**
+     * 任务在队列中的等待时间
+     */
+    private Timer queueWaitTimer;
+
+    @PostConstruct
+    public void init() {
+        PasswordProperties.HashPool pool = passwordProperties.getHashPool();
+        int parallelism = pool.getParallelism() > 0 ? pool.getParallelism() : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(pool.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("userhub.password.hash.queue.size", executor, e -> e.getQueue().size())
+                .description("等待中的密码哈希任务数")
+                .register(meterRegistry);
+        Gauge.builder("userhub.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("执行中的密码哈希任务数")
+                .register(meterRegistry);
+        encodeTimer = hashTimer("encode");
+        matchesTimer = hashTimer("matches");
+        queueWaitTimer = Timer.builder("userhub.password.hash.queue.wait")
+                .description("密码哈希任务排队等待时间")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("userhub.password.hash.rejected")
+                .description("线程池饱和被拒绝的密码哈希任务数")
+                .register(meterRegistry);
+        log.info("Password hash pool started, parallelism={}, queueCapacity={}", parallelism, pool.getQueueCapacity());
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 加密密码
+     *
+     * @param rawPassword 明文密码
+     * @return 密码哈希
+     */
+    public String encode(String rawPassword) {
+        return execute(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * 校验密码
+     *
+     * @param rawPassword     明文密码
+     * @param encodedPassword 密码哈希
+     * @return 是否匹配
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 判断密码哈希是否需要升级（算法不是当前默认算法，或强度低于当前配置）
+     *
+     * @param encodedPassword 密码哈希
+     * @return 是否需要重新哈希
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * 异步加密密码（用于登录后的哈希升级等非关键路径）
+     * 线程池饱和时返回失败的 Future，不抛出异常
+     *
+     * @param rawPassword 明文密码
+     * @return 密码哈希
+     */
+    public CompletableFuture<String> encodeAsync(String rawPassword) {
+        try {
+            long submitted = System.nanoTime();
+            return CompletableFuture.supplyAsync(() -> {
+                        queueWaitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                        return encodeTimer.record(() -> passwordEncoder.encode(rawPassword));
+                    },
+                    command -> executor.execute(UserContext.wrap(command)));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> T execute(Timer timer, Callable<T> task) {
+        Future<T> future;
+        try {
+            long submitted = System.nanoTime();
+            future = executor.submit(UserContext.wrap(() -> {
+                queueWaitTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            }));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Password hash pool saturated, queue size: {}", executor.getQueue().size());
+            throw new BusinessException(ErrorCode.SYSTEM_BUSY, "密码校验请求过多，请稍后重试");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "密码校验被中断");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "密码校验失败");
+        }
+    }
+
+    private Timer hashTimer(String operation) {
+        return Timer.builder("userhub.password.hash")
+                .description("密码哈希耗时")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,52 @@
+package com.ahz.usercenter.service;
+
+import com.ahz.usercenter.model.domain.AuditLog;
+import com.ahz.usercenter.model.domain.response.CursorPageResponse;
+
+/**
+ * 审计日志服务
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+public interface AuditLogService {
+
+    /**
+     * 记录审计事件（只写入内存缓冲区，不等待落库；缓冲区已满时丢弃并计数）
+     * 客户端 IP 取自当前请求
+     *
+     * @param eventType   事件类型（见 AuditConstant）
+     * @param userId      操作人 ID（可为空）
+     * @param userAccount 操作人账号（可为空）
+     * @param targetId    被操作的用户 ID（可为空）
+     * @param success     是否成功
+     * @param detail      详情（超长时截断）
+     */
+    void record(String eventType, Long userId, String userAccount, Long targetId, boolean success, String detail);
+
+    /**
+     * 记录当前登录管理员的成功操作
+     *
+     * @param eventType 事件类型（见 AuditConstant）
+     * @param targetId  被操作的用户 ID（可为空）
+     * @param detail    详情
+     */
+    void recordAdminAction(String eventType, Long targetId, String detail);
+
+    /**
+     * 按时间倒序查询审计日志（游标分页，使用 (create_time, audit_id) 定位下一页）
+     *
+     * @param cursor    游标（首页为空）
+     * @param size      每页大小
+     * @param eventType 事件类型（可选）
+     * @param userId    操作人 ID（可选）
+     * @param targetId  被操作的用户 ID（可选）
+     * @return 审计日志和下一页游标
+     */
+    CursorPageResponse<AuditLog> listLogs(String cursor, int size, String eventType, Long userId, Long targetId);
+
+    /**
+     * 立即写入缓冲区中的全部事件并等待完成
+     */
+    void flush();
+}
@@ -0,0 +1,27 @@
+package com.ahz.usercenter.service;
+
+import com.ahz.usercenter.model.domain.User;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 用户导出服务
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+public interface UserExportService {
+
+    /**
+     * 流式导出用户（不含密码哈希），按用户 ID 排序直接写入响应
+     *
+     * @param filter   筛选条件（与用户列表相同）
+     * @param format   格式：csv / ndjson
+     * @param response 响应
+     * @return 导出的用户数
+     * @throws IOException 写出失败（如客户端断开）
+     */
+    long exportUsers(Wrapper<User> filter, String format, HttpServletResponse response) throws IOException;
+}
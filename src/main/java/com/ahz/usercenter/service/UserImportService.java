@@ -0,0 +1,31 @@
+package com.ahz.usercenter.service;
+
+import com.ahz.usercenter.model.domain.response.UserImportResponse;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * 用户批量导入服务
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+public interface UserImportService {
+
+    /**
+     * 流式导入用户，在调用线程中执行，导入结束后返回结果
+     *
+     * @param input  文件内容
+     * @param format 格式：csv / ndjson
+     * @return 导入结果
+     */
+    UserImportResponse importUsers(InputStream input, String format);
+
+    /**
+     * 最近的导入任务（包括进行中的任务），按开始时间倒序
+     *
+     * @return 任务进度
+     */
+    List<UserImportResponse> listJobs();
+}
@@ -1,9 +1,12 @@
 package com.ahz.usercenter.service;
 
 import com.ahz.usercenter.model.domain.User;
+import com.ahz.usercenter.model.domain.response.BulkOperationResponse;
 import com.baomidou.mybatisplus.extension.service.IService;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+import java.util.Map;
 
 /**
  * 用户服务
@@ -23,6 +26,14 @@ public interface UserService extends IService<User> {
      */
     long userRegister(String userAccount, String userPassword, String checkPassword);
 
+    /**
+     * 批量查询账号是否可注册
+     *
+     * @param userAccounts 用户账号
+     * @return 账号 -> 是否可用（格式不合法或已被占用时为 false），按请求顺序去重
+     */
+    Map<String, Boolean> checkAccountAvailability(List<String> userAccounts);
+
     /**
      * 用户登录
      *
@@ -41,6 +52,35 @@ public interface UserService extends IService<User> {
      */
     User getSafetyUser(User originUser);
 
+    /**
+     * 按 ID 获取脱敏后的用户（经过 L1/L2 缓存）
+     *
+     * @param userId 用户 ID
+     * @return 脱敏后的用户，不存在时返回 null
+     */
+    User getSafetyUserById(Long userId);
+
+    /**
+     * 搜索用户（用户名、账号、邮箱子串匹配，账号前缀匹配优先）
+     *
+     * @param keyword 关键词
+     * @param limit   最大条数
+     * @return 按相关度排序的用户列表（不含密码）
+     */
+    List<User> searchUsers(String keyword, int limit);
+
+    /**
+     * 批量修改状态、角色或逻辑删除
+     * 按分块在独立事务中执行，每块只执行一条锁定查询和一条更新；提交后批量清除缓存、吊销会话
+     *
+     * @param action     操作：status / role / delete
+     * @param value      目标状态或角色（delete 时忽略）
+     * @param userIds    用户 ID
+     * @param operatorId 当前管理员 ID（不允许对自己执行批量操作）
+     * @return 按请求顺序的每个用户的处理结果
+     */
+    BulkOperationResponse bulkUpdate(String action, String value, List<Long> userIds, Long operatorId);
+
     /**
      * 用户注销
      *
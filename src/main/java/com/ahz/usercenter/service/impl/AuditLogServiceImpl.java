@@ -0,0 +1,253 @@
+package com.ahz.usercenter.service.impl;
+
+import com.ahz.usercenter.config.AuditProperties;
+import com.ahz.usercenter.mapper.AuditLogMapper;
+import com.ahz.usercenter.model.domain.AuditLog;
+import com.ahz.usercenter.model.domain.response.CursorPageResponse;
+import com.ahz.usercenter.model.dto.UserDTO;
+import com.ahz.usercenter.service.AuditLogService;
+import com.ahz.usercenter.utils.CursorCodec;
+import com.ahz.usercenter.utils.RingBuffer;
+import com.ahz.usercenter.utils.UserContext;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 审计日志服务实现
+ * 请求线程只把事件写入无锁环形缓冲区，由单个后台线程定时（或积累到一批时提前）取出，
+ * 以多行 INSERT 批量写入 audit_log；缓冲区写满或写入失败时丢弃事件并计数，不影响业务请求
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Service
+@Slf4j
+public class AuditLogServiceImpl implements AuditLogService {
+
+    private static final int MAX_DETAIL_LENGTH = 1024;
+
+    private static final int MAX_IP_LENGTH = 64;
+
+    @Resource
+    private AuditLogMapper auditLogMapper;
+
+    @Resource
+    private AuditProperties auditProperties;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    private RingBuffer<AuditLog> buffer;
+
+    /**
+     * 单线程执行所有写入，保证缓冲区只有一个消费者
+     */
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "audit-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 是否已提交提前写入的任务（避免每个事件都提交一次）
+     */
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private Counter acceptedCounter;
+
+    private Counter droppedCounter;
+
+    private Counter writtenCounter;
+
+    private Counter failedCounter;
+
+    private Timer flushTimer;
+
+    @PostConstruct
+    public void init() {
+        buffer = new RingBuffer<>(auditProperties.getBufferSize());
+        Gauge.builder("userhub.audit.buffer.size", buffer, RingBuffer::size)
+                .description("等待写入的审计事件数")
+                .register(meterRegistry);
+        acceptedCounter = eventCounter("accepted");
+        droppedCounter = eventCounter("dropped");
+        writtenCounter = eventCounter("written");
+        failedCounter = eventCounter("failed");
+        flushTimer = Timer.builder("userhub.audit.flush")
+                .description("审计日志批量写入耗时")
+                .register(meterRegistry);
+        long intervalMs = Math.max(1, auditProperties.getFlushInterval().toMillis());
+        writer.scheduleWithFixedDelay(this::drain, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                writer.shutdownNow();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        // 写入线程已结束，由当前线程写入剩余事件
+        drain();
+    }
+
+    @Override
+    public void record(String eventType, Long userId, String userAccount, Long targetId, boolean success, String detail) {
+        if (!auditProperties.isEnabled()) {
+            return;
+        }
+        AuditLog auditLog = new AuditLog();
+        auditLog.setEventType(eventType);
+        auditLog.setUserId(userId);
+        auditLog.setUserAccount(userAccount);
+        auditLog.setTargetId(targetId);
+        auditLog.setClientIp(StringUtils.truncate(currentClientIp(), MAX_IP_LENGTH));
+        auditLog.setSuccess(success);
+        auditLog.setDetail(StringUtils.truncate(detail, MAX_DETAIL_LENGTH));
+        auditLog.setCreateTime(new Date());
+        if (!buffer.offer(auditLog)) {
+            droppedCounter.increment();
+            return;
+        }
+        acceptedCounter.increment();
+        if (buffer.size() >= auditProperties.getBatchSize() && flushRequested.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // 正在关闭，剩余事件由 destroy 写入
+            }
+        }
+    }
+
+    @Override
+    public void recordAdminAction(String eventType, Long targetId, String detail) {
+        UserDTO admin = UserContext.get();
+        record(eventType, admin != null ? admin.getId() : null, admin != null ? admin.getUserAccount() : null,
+                targetId, true, detail);
+    }
+
+    @Override
+    public CursorPageResponse<AuditLog> listLogs(String cursor, int size, String eventType, Long userId, Long targetId) {
+        QueryWrapper<AuditLog> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq(StringUtils.isNotBlank(eventType), "event_type", eventType)
+                .eq(userId != null, "user_id", userId)
+                .eq(targetId != null, "target_id", targetId);
+        if (StringUtils.isNotBlank(cursor)) {
+            long[] position = CursorCodec.decodeTimeAndId(cursor);
+            Date lastTime = new Date(position[0]);
+            // 等价于 (create_time, audit_id) < (lastTime, lastId)，写成范围条件以使用 create_time 索引
+            queryWrapper.le("create_time", lastTime)
+                    .and(w -> w.lt("create_time", lastTime).or().lt("audit_id", position[1]));
+        }
+        // 多查一条用于判断是否还有下一页
+        queryWrapper.orderByDesc("create_time", "audit_id").last("limit " + (size + 1));
+        List<AuditLog> logs = auditLogMapper.selectList(queryWrapper);
+
+        String nextCursor = null;
+        if (logs.size() > size) {
+            logs = logs.subList(0, size);
+            AuditLog last = logs.get(size - 1);
+            nextCursor = CursorCodec.encode(last.getCreateTime().getTime(), last.getId());
+        }
+        return new CursorPageResponse<>(logs, nextCursor, null);
+    }
+
+    @Override
+    public void flush() {
+        try {
+            writer.submit(this::drain).get();
+        } catch (RejectedExecutionException e) {
+            log.debug("Audit writer is shutting down, skip flush");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Failed to flush audit logs", e.getCause());
+        }
+    }
+
+    /**
+     * 取出缓冲区中的全部事件，按批写入（只在写入线程或写入线程结束后调用）
+     */
+    private void drain() {
+        flushRequested.set(false);
+        int batchSize = Math.max(1, auditProperties.getBatchSize());
+        List<AuditLog> batch = new ArrayList<>(Math.min(batchSize, buffer.capacity()));
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuditLog> batch) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            auditLogMapper.insertBatch(batch);
+            writtenCounter.increment(batch.size());
+        } catch (DataIntegrityViolationException e) {
+            // 个别事件的数据无法写入（如超长、字符集不支持）时逐条写入，避免整批丢失
+            log.warn("Audit batch rejected, falling back to single inserts: {}", e.getMessage());
+            writeOneByOne(batch);
+        } catch (RuntimeException e) {
+            // 不重试：数据库持续不可用时重试会阻塞后续批次，导致缓冲区写满
+            failedCounter.increment(batch.size());
+            log.error("Failed to write {} audit logs", batch.size(), e);
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    private void writeOneByOne(List<AuditLog> batch) {
+        for (AuditLog auditLog : batch) {
+            try {
+                auditLogMapper.insert(auditLog);
+                writtenCounter.increment();
+            } catch (RuntimeException e) {
+                failedCounter.increment();
+                log.error("Failed to write audit log: {} {}", auditLog.getEventType(), auditLog.getDetail(), e);
+            }
+        }
+    }
+
+    private static String currentClientIp() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return servletAttributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+
+    private Counter eventCounter(String result) {
+        return Counter.builder("userhub.audit.events")
+                .description("审计事件数（accepted 写入缓冲区、dropped 缓冲区已满丢弃、written 已落库、failed 写入失败）")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
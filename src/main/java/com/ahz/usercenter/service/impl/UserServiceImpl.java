@@ -1,21 +1,48 @@
 package com.ahz.usercenter.service.impl;
 
-import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.ahz.usercenter.cache.AccountBloomFilter;
+import com.ahz.usercenter.cache.CacheInvalidationBroadcaster;
+import com.ahz.usercenter.cache.UserCache;
 import com.ahz.usercenter.common.ErrorCode;
+import com.ahz.usercenter.config.BulkProperties;
 import com.ahz.usercenter.exception.BusinessException;
 import com.ahz.usercenter.model.domain.User;
+import com.ahz.usercenter.model.domain.request.UserLoginRequest;
+import com.ahz.usercenter.model.domain.request.UserRegisterRequest;
+import com.ahz.usercenter.model.domain.response.BulkOperationResponse;
+import com.ahz.usercenter.security.PasswordHashExecutor;
 import com.ahz.usercenter.service.UserService;
+import com.ahz.usercenter.utils.FullTextUtils;
+import com.ahz.usercenter.utils.TokenUtils;
+import com.ahz.usercenter.utils.UserConvertor;
+import com.ahz.usercenter.validation.FieldValidator;
+import com.ahz.usercenter.validation.RequestValidator;
 import com.ahz.usercenter.mapper.UserMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.Resource;
 import jakarta.servlet.http.HttpServletRequest;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 用户服务实现类
@@ -32,7 +59,98 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User>
     private UserMapper userMapper;
 
     @Resource
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashExecutor passwordHashExecutor;
+
+    @Resource
+    private AccountBloomFilter accountBloomFilter;
+
+    @Resource
+    private UserCache userCache;
+
+    @Resource
+    private CacheInvalidationBroadcaster invalidationBroadcaster;
+
+    @Resource
+    private TokenUtils tokenUtils;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    @Resource
+    private BulkProperties bulkProperties;
+
+    @Resource
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Spring 异步任务执行器，哈希完成后的数据库写入在此执行，不占用哈希线程池
+     */
+    @Resource
+    private TaskExecutor applicationTaskExecutor;
+
+    /**
+     * 封禁状态
+     */
+    private static final String STATUS_BANNED = "banned";
+
+    /**
+     * 批量操作类型及取值
+     */
+    private static final String BULK_STATUS = "status";
+
+    private static final String BULK_ROLE = "role";
+
+    private static final String BULK_DELETE = "delete";
+
+    private static final Set<String> BULK_STATUS_VALUES = Set.of("active", "inactive", "banned");
+
+    private static final Set<String> BULK_ROLE_VALUES = Set.of("user", "admin");
+
+    /**
+     * 注册、登录参数的已编译校验规则
+     */
+    private static final FieldValidator REGISTER_ACCOUNT = RequestValidator.of(UserRegisterRequest.class).field("userAccount");
+
+    private static final FieldValidator REGISTER_PASSWORD = RequestValidator.of(UserRegisterRequest.class).field("userPassword");
+
+    private static final FieldValidator REGISTER_CHECK_PASSWORD = RequestValidator.of(UserRegisterRequest.class).field("checkPassword");
+
+    private static final FieldValidator LOGIN_ACCOUNT = RequestValidator.of(UserLoginRequest.class).field("userAccount");
+
+    private static final FieldValidator LOGIN_PASSWORD = RequestValidator.of(UserLoginRequest.class).field("userPassword");
+
+    /**
+     * 登录结果计数（userhub.auth.login，按 result 标签区分）
+     */
+    private Counter loginSuccessCounter;
+
+    private Counter loginUnknownAccountCounter;
+
+    private Counter loginBadPasswordCounter;
+
+    private Counter loginBannedCounter;
+
+    /**
+     * 批量操作的分块事务
+     */
+    private TransactionTemplate bulkTransaction;
+
+    @PostConstruct
+    public void init() {
+        bulkTransaction = new TransactionTemplate(transactionManager);
+        bulkTransaction.setTimeout((int) Math.max(1, bulkProperties.getTransactionTimeout().toSeconds()));
+        loginSuccessCounter = loginCounter("success");
+        loginUnknownAccountCounter = loginCounter("unknown_account");
+        loginBadPasswordCounter = loginCounter("bad_password");
+        loginBannedCounter = loginCounter("banned");
+    }
+
+    private Counter loginCounter(String result) {
+        return Counter.builder("userhub.auth.login")
+                .description("登录次数（参数校验失败的请求不计入）")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
 
     /**
      * 用户注册
@@ -44,48 +162,75 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User>
      */
     @Override
     public long userRegister(String userAccount, String userPassword, String checkPassword) {
-        // 1. 校验
-        if (StringUtils.isAnyBlank(userAccount, userPassword, checkPassword)) {
-            throw new BusinessException(ErrorCode.PARAMS_ERROR, "参数为空");
-        }
-        if (userAccount.length() < 4) {
-            throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户账号过短（至少4个字符）");
-        }
-        if (userPassword.length() < 8 || checkPassword.length() < 8) {
-            throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户密码过短（至少8个字符）");
-        }
-        // 账户不能包含特殊字符
-        String validPattern = "[`~!@#$%^&*()+=|{}':;',\\\\[\\\\].<>/?~！@#￥%……&*（）——+|{}【】‘；：”“’。，、？]";
-        Matcher matcher = Pattern.compile(validPattern).matcher(userAccount);
-        if (matcher.find()) {
-            return -1;
-        }
+        // 1. 校验（规则见 UserRegisterRequest 上的注解，先检查必填）
+        REGISTER_ACCOUNT.checkRequired(userAccount);
+        REGISTER_PASSWORD.checkRequired(userPassword);
+        REGISTER_CHECK_PASSWORD.checkRequired(checkPassword);
+        REGISTER_ACCOUNT.check(userAccount);
+        REGISTER_PASSWORD.check(userPassword);
+        REGISTER_CHECK_PASSWORD.check(checkPassword);
         // 密码和校验密码相同
         if (!userPassword.equals(checkPassword)) {
-            return -1;
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "两次输入的密码不一致");
         }
-        // 账户不能重复
-        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
-        queryWrapper.eq("userAccount", userAccount);
-        long count = userMapper.selectCount(queryWrapper);
-        if (count > 0) {
+        // 2. 布隆过滤器判定账号可能已存在时先查库，重复账号不再计算哈希；一定不存在的账号跳过查询
+        if (accountBloomFilter.mightContain(userAccount)
+                && !userMapper.selectExistingAccounts(List.of(userAccount)).isEmpty()) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "账号重复");
         }
-        // 2. 使用 BCrypt 加密密码
-        String encryptPassword = passwordEncoder.encode(userPassword);
-        // 3. 插入数据
+        // 3. 使用 BCrypt 加密密码（在专用线程池中执行，饱和时返回系统繁忙）
+        String encryptPassword = passwordHashExecutor.encode(userPassword);
+        // 4. 插入数据
         User user = new User();
         user.setUserAccount(userAccount);
         user.setUserPassword(encryptPassword);
         user.setUserStatus("active"); // 默认状态为 active
         user.setUserRole("user"); // 默认角色为 user
-        boolean saveResult = this.save(user);
+        // 账户不能重复：由 uk_user_account 唯一索引保证，避免先查后插的并发竞争
+        boolean saveResult;
+        try {
+            saveResult = this.save(user);
+        } catch (DuplicateKeyException e) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "账号重复");
+        }
         if (!saveResult) {
             throw new BusinessException(ErrorCode.SYSTEM_ERROR, "注册失败");
         }
+        accountBloomFilter.put(userAccount);
+        // 清除该 ID 可能残留的缓存（如数据库重建后 ID 被复用）
+        evictUserCache(user.getId());
         return user.getId();
     }
 
+    /**
+     * 批量查询账号是否可注册
+     * 布隆过滤器判定一定不存在的账号直接返回可用，其余账号一次查询确认
+     *
+     * @param userAccounts 用户账号
+     * @return 账号 -> 是否可用（格式不合法或已被占用时为 false），按请求顺序去重
+     */
+    @Override
+    public Map<String, Boolean> checkAccountAvailability(List<String> userAccounts) {
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        List<String> candidates = new ArrayList<>();
+        for (String userAccount : userAccounts) {
+            if (userAccount == null || result.containsKey(userAccount)) {
+                continue;
+            }
+            boolean valid = REGISTER_ACCOUNT.isValid(userAccount);
+            result.put(userAccount, valid);
+            if (valid && accountBloomFilter.mightContain(userAccount)) {
+                candidates.add(userAccount);
+            }
+        }
+        if (!candidates.isEmpty()) {
+            for (String existing : userMapper.selectExistingAccounts(candidates)) {
+                result.replace(existing, false);
+            }
+        }
+        return result;
+    }
+
     /**
      * 用户登录
      *
@@ -96,40 +241,63 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User>
      */
     @Override
     public User userLogin(String userAccount, String userPassword, HttpServletRequest request) {
-        // 1. 校验
-        if (StringUtils.isAnyBlank(userAccount, userPassword)) {
-            throw new BusinessException(ErrorCode.PARAMS_ERROR, "参数为空");
-        }
-        if (userAccount.length() < 4) {
-            throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户账号过短");
-        }
-        if (userPassword.length() < 8) {
-            throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户密码过短");
-        }
-        // 账户不能包含特殊字符
-        String validPattern = "[`~!@#$%^&*()+=|{}':;',\\\\[\\\\].<>/?~！@#￥%……&*（）——+|{}【】'；：\"\"'。，、？]";
-        Matcher matcher = Pattern.compile(validPattern).matcher(userAccount);
-        if (matcher.find()) {
-            throw new BusinessException(ErrorCode.PARAMS_ERROR, "账号包含特殊字符");
-        }
+        // 1. 校验（规则见 UserLoginRequest 上的注解，先检查必填）
+        LOGIN_ACCOUNT.checkRequired(userAccount);
+        LOGIN_PASSWORD.checkRequired(userPassword);
+        LOGIN_ACCOUNT.check(userAccount);
+        LOGIN_PASSWORD.check(userPassword);
         // 2. 查询用户是否存在
-        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
-        queryWrapper.eq("userAccount", userAccount);
-        User user = userMapper.selectOne(queryWrapper);
+        User user = userMapper.selectLoginUser(userAccount);
         // 用户不存在
         if (user == null) {
+            loginUnknownAccountCounter.increment();
             log.info("user login failed, userAccount not found: {}", userAccount);
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户不存在或密码错误");
         }
-        // 3. 使用 BCrypt 验证密码
-        if (!passwordEncoder.matches(userPassword, user.getUserPassword())) {
+        // 3. 使用 BCrypt 验证密码（在专用线程池中执行，饱和时返回系统繁忙）
+        if (!passwordHashExecutor.matches(userPassword, user.getUserPassword())) {
+            loginBadPasswordCounter.increment();
             log.info("user login failed, password mismatch for userAccount: {}", userAccount);
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户不存在或密码错误");
         }
-        // 4. 用户脱敏
+        // 4. 封禁用户不允许登录（在密码校验之后判断，避免泄露账号状态）
+        if (STATUS_BANNED.equals(user.getUserStatus())) {
+            loginBannedCounter.increment();
+            log.info("user login rejected, userAccount is banned: {}", userAccount);
+            throw new BusinessException(ErrorCode.NO_AUTH, "账号已被封禁");
+        }
+        loginSuccessCounter.increment();
+        // 5. 哈希算法或强度过时则异步重新哈希，不影响本次登录
+        rehashIfNeeded(user, userPassword);
+        // 6. 用户脱敏
         return getSafetyUser(user);
     }
 
+    /**
+     * 登录成功后按当前配置重新哈希密码
+     * 在哈希线程池中异步计算哈希，写回数据库切换到异步任务执行器，线程池繁忙或更新失败时跳过，下次登录再尝试
+     *
+     * @param user         用户（含当前密码哈希）
+     * @param userPassword 已校验通过的明文密码
+     */
+    private void rehashIfNeeded(User user, String userPassword) {
+        String oldHash = user.getUserPassword();
+        if (!passwordHashExecutor.upgradeEncoding(oldHash)) {
+            return;
+        }
+        passwordHashExecutor.encodeAsync(userPassword)
+                .thenAcceptAsync(newHash -> {
+                    int rows = userMapper.updatePasswordHash(user.getId(), oldHash, newHash);
+                    if (rows > 0) {
+                        log.info("password hash upgraded for userId: {}", user.getId());
+                    }
+                }, applicationTaskExecutor)
+                .exceptionally(e -> {
+                    log.warn("password hash upgrade skipped for userId: {}, reason: {}", user.getId(), e.getMessage());
+                    return null;
+                });
+    }
+
     /**
      * 用户脱敏
      *
@@ -138,21 +306,219 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User>
      */
     @Override
     public User getSafetyUser(User originUser) {
-        if (originUser == null) {
-            return null;
-        }
-        User safetyUser = new User();
-        safetyUser.setId(originUser.getId());
-        safetyUser.setUsername(originUser.getUsername());
-        safetyUser.setUserAccount(originUser.getUserAccount());
-        safetyUser.setAvatarUrl(originUser.getAvatarUrl());
-        safetyUser.setGender(originUser.getGender());
-        safetyUser.setPhone(originUser.getPhone());
-        safetyUser.setEmail(originUser.getEmail());
-        safetyUser.setUserRole(originUser.getUserRole());
-        safetyUser.setUserStatus(originUser.getUserStatus());
-        safetyUser.setCreateTime(originUser.getCreateTime());
-        return safetyUser;
+        return UserConvertor.toSafetyUser(originUser);
+    }
+
+    /**
+     * 按 ID 获取脱敏后的用户（经过 L1/L2 缓存）
+     *
+     * @param userId 用户 ID
+     * @return 脱敏后的用户（副本），不存在时返回 null
+     */
+    @Override
+    public User getSafetyUserById(Long userId) {
+        User cached = userCache.get(userId, id -> getSafetyUser(this.getById(id)));
+        return getSafetyUser(cached);
+    }
+
+    /**
+     * 根据 ID 更新，成功后清除该用户的缓存；封禁用户时吊销其全部会话
+     *
+     * @param entity 用户
+     * @return 是否成功
+     */
+    @Override
+    public boolean updateById(User entity) {
+        boolean result = super.updateById(entity);
+        if (entity != null && entity.getId() != null) {
+            if (result && STATUS_BANNED.equals(entity.getUserStatus())) {
+                tokenUtils.revokeAllSessions(entity.getId());
+            }
+            evictUserCache(entity.getId());
+        }
+        return result;
+    }
+
+    /**
+     * 根据 ID 删除（逻辑删除），成功后吊销其全部会话并清除该用户的缓存
+     *
+     * @param id 用户 ID
+     * @return 是否成功
+     */
+    @Override
+    public boolean removeById(Serializable id) {
+        boolean result = super.removeById(id);
+        if (id instanceof Long userId) {
+            if (result) {
+                tokenUtils.revokeAllSessions(userId);
+            }
+            evictUserCache(userId);
+        }
+        return result;
+    }
+
+    /**
+     * 批量修改状态、角色或逻辑删除
+     *
+     * @param action     操作：status / role / delete
+     * @param value      目标状态或角色（delete 时忽略）
+     * @param userIds    用户 ID
+     * @param operatorId 当前管理员 ID
+     * @return 每个用户的处理结果
+     */
+    @Override
+    public BulkOperationResponse bulkUpdate(String action, String value, List<Long> userIds, Long operatorId) {
+        checkBulkAction(action, value);
+        if (userIds == null || userIds.isEmpty()) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户ID列表为空");
+        }
+        // 去重并保持请求顺序
+        Set<Long> uniqueIds = new LinkedHashSet<>(userIds);
+        if (uniqueIds.size() > bulkProperties.getMaxTargets()) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "单次最多处理 " + bulkProperties.getMaxTargets() + " 个用户");
+        }
+        BulkOperationResponse response = new BulkOperationResponse(action);
+        List<Long> chunk = new ArrayList<>(bulkProperties.getChunkSize());
+        for (Long userId : uniqueIds) {
+            chunk.add(userId);
+            if (chunk.size() == bulkProperties.getChunkSize()) {
+                processBulkChunk(action, value, chunk, operatorId, response);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processBulkChunk(action, value, chunk, operatorId, response);
+        }
+        log.info("bulk {} {} by admin {}: total {}, succeeded {}, failed {}", action, value, operatorId,
+                response.getTotal(), response.getSucceeded(), response.getFailed());
+        return response;
+    }
+
+    private void checkBulkAction(String action, String value) {
+        switch (action == null ? "" : action) {
+            case BULK_STATUS -> {
+                if (!BULK_STATUS_VALUES.contains(value)) {
+                    throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户状态取值错误");
+                }
+            }
+            case BULK_ROLE -> {
+                if (!BULK_ROLE_VALUES.contains(value)) {
+                    throw new BusinessException(ErrorCode.PARAMS_ERROR, "用户角色取值错误");
+                }
+            }
+            case BULK_DELETE -> {
+            }
+            default -> throw new BusinessException(ErrorCode.PARAMS_ERROR, "批量操作类型错误");
+        }
+    }
+
+    /**
+     * 处理一个分块：在一个事务中锁定仍存在的用户并用一条语句更新，提交后批量清除缓存、吊销会话
+     * 整块失败时逐个重试，定位失败的用户
+     */
+    private void processBulkChunk(String action, String value, List<Long> chunk, Long operatorId,
+                                  BulkOperationResponse response) {
+        Map<Long, String> failures = new HashMap<>();
+        List<Long> targets = new ArrayList<>(chunk.size());
+        for (Long userId : chunk) {
+            if (userId == null || userId <= 0) {
+                failures.put(userId, "用户ID无效");
+            } else if (userId.equals(operatorId)) {
+                failures.put(userId, "不能对当前登录的管理员执行批量操作");
+            } else {
+                targets.add(userId);
+            }
+        }
+        Set<Long> updated = new HashSet<>();
+        if (!targets.isEmpty()) {
+            try {
+                updated.addAll(applyBulkInTransaction(action, value, targets));
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("bulk {} chunk failed, retrying one by one: {}", action, e.getMostSpecificCause().getMessage());
+                for (Long userId : targets) {
+                    try {
+                        updated.addAll(applyBulkInTransaction(action, value, List.of(userId)));
+                    } catch (DataAccessException | TransactionException ex) {
+                        log.error("bulk {} failed for userId: {}", action, userId, ex);
+                        failures.put(userId, "操作失败");
+                    }
+                }
+            }
+        }
+        for (Long userId : chunk) {
+            if (updated.contains(userId)) {
+                response.addSuccess(userId);
+            } else {
+                response.addFailure(userId, failures.getOrDefault(userId, "用户不存在"));
+            }
+        }
+        if (!updated.isEmpty()) {
+            afterBulkCommit(action, value, updated);
+        }
+    }
+
+    private List<Long> applyBulkInTransaction(String action, String value, List<Long> userIds) {
+        return bulkTransaction.execute(status -> {
+            List<Long> existing = userMapper.selectActiveIdsForUpdate(userIds);
+            if (existing.isEmpty()) {
+                return existing;
+            }
+            switch (action) {
+                case BULK_STATUS -> userMapper.updateStatusByIds(existing, value);
+                case BULK_ROLE -> userMapper.updateRoleByIds(existing, value);
+                default -> userMapper.logicDeleteByIds(existing);
+            }
+            return existing;
+        });
+    }
+
+    /**
+     * 批量操作提交后的缓存与会话处理：每个分块各一次 Redis 调用和一条失效广播，而不是每个用户各一次
+     * 数据库已提交，Redis 失败时只记录日志（会话在用户版本或缓存过期后自然刷新）
+     */
+    private void afterBulkCommit(String action, String value, Set<Long> userIds) {
+        try {
+            userCache.evictShared(userIds);
+            tokenUtils.bumpUserVersions(userIds);
+            if (BULK_DELETE.equals(action) || STATUS_BANNED.equals(value)) {
+                // 吊销会话时同时广播用户失效
+                tokenUtils.revokeAllSessions(userIds);
+            } else {
+                invalidationBroadcaster.publishUsersInvalidation(userIds);
+            }
+        } catch (Exception e) {
+            log.error("Failed to propagate bulk {} to caches and sessions for {} users", action, userIds.size(), e);
+        }
+    }
+
+    /**
+     * 清除用户缓存：删除 Redis 中的缓存，标记用户版本使已有会话在下次访问时刷新，
+     * 并通知所有节点清除进程内的用户缓存和 Token 近端缓存
+     *
+     * @param userId 用户 ID
+     */
+    private void evictUserCache(Long userId) {
+        userCache.evictShared(userId);
+        tokenUtils.bumpUserVersion(userId);
+        invalidationBroadcaster.publishUserInvalidation(userId);
+    }
+
+    /**
+     * 搜索用户
+     * 关键词不短于 ngram 分词长度时走全文索引，否则只做账号前缀匹配
+     *
+     * @param keyword 关键词
+     * @param limit   最大条数
+     * @return 按相关度排序的用户列表（不含密码）
+     */
+    @Override
+    public List<User> searchUsers(String keyword, int limit) {
+        if (StringUtils.isBlank(keyword)) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "搜索关键词为空");
+        }
+        String trimmed = keyword.trim();
+        String phrase = FullTextUtils.isFullTextSearchable(trimmed) ? FullTextUtils.toBooleanPhrase(trimmed) : null;
+        return userMapper.searchUsers(trimmed, FullTextUtils.toPrefixPattern(trimmed), phrase, limit);
     }
 
     /**
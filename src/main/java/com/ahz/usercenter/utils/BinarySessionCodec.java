@@ -0,0 +1,285 @@
+package com.ahz.usercenter.utils;
+
+import com.ahz.usercenter.model.dto.UserDTO;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * 紧凑二进制会话编解码器
+ * <p>
+ * 格式：[魔数 1B][格式版本 1B][字段位图 2B][字段...]
+ * <ul>
+ *     <li>只写入非空字段，字段顺序固定，由位图标识是否存在</li>
+ *     <li>整数（id、创建时间）使用 varint 编码</li>
+ *     <li>字符串为 varint 长度 + UTF-8 字节</li>
+ *     <li>性别、状态、角色为枚举码，未知取值以字符串原样保存</li>
+ * </ul>
+ * 格式版本不兼容或数据截断、损坏时解码返回 null，会话视为失效，用户重新登录即可
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Component
+public class BinarySessionCodec implements SessionCodec {
+
+    public static final String NAME = "binary";
+
+    /**
+     * 魔数，不是合法的 UTF-8 首字节，不会与 JSON 格式冲突
+     */
+    static final byte MAGIC = (byte) 0xB5;
+
+    /**
+     * 当前格式版本
+     */
+    static final byte FORMAT_VERSION = 1;
+
+    private static final int F_ID = 0;
+    private static final int F_USERNAME = 1;
+    private static final int F_USER_ACCOUNT = 2;
+    private static final int F_AVATAR_URL = 3;
+    private static final int F_GENDER = 4;
+    private static final int F_PHONE = 5;
+    private static final int F_EMAIL = 6;
+    private static final int F_USER_STATUS = 7;
+    private static final int F_CREATE_TIME = 8;
+    private static final int F_USER_ROLE = 9;
+
+    private static final String[] GENDERS = {"male", "female", "unknown"};
+    private static final String[] STATUSES = {"active", "inactive", "banned"};
+    private static final String[] ROLES = {"user", "admin"};
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean supports(byte[] data) {
+        return data != null && data.length > 0 && data[0] == MAGIC;
+    }
+
+    @Override
+    public byte[] encode(UserDTO user) {
+        int mask = 0;
+        mask |= bit(F_ID, user.getId() != null);
+        mask |= bit(F_USERNAME, user.getUsername() != null);
+        mask |= bit(F_USER_ACCOUNT, user.getUserAccount() != null);
+        mask |= bit(F_AVATAR_URL, user.getAvatarUrl() != null);
+        mask |= bit(F_GENDER, user.getGender() != null);
+        mask |= bit(F_PHONE, user.getPhone() != null);
+        mask |= bit(F_EMAIL, user.getEmail() != null);
+        mask |= bit(F_USER_STATUS, user.getUserStatus() != null);
+        mask |= bit(F_CREATE_TIME, user.getCreateTime() != null);
+        mask |= bit(F_USER_ROLE, user.getUserRole() != null);
+
+        Writer writer = new Writer();
+        writer.writeByte(MAGIC);
+        writer.writeByte(FORMAT_VERSION);
+        writer.writeByte(mask >>> 8);
+        writer.writeByte(mask);
+        if (user.getId() != null) {
+            writer.writeVarLong(user.getId());
+        }
+        writer.writeString(user.getUsername());
+        writer.writeString(user.getUserAccount());
+        writer.writeString(user.getAvatarUrl());
+        writer.writeEnum(user.getGender(), GENDERS);
+        writer.writeString(user.getPhone());
+        writer.writeString(user.getEmail());
+        writer.writeEnum(user.getUserStatus(), STATUSES);
+        if (user.getCreateTime() != null) {
+            writer.writeVarLong(user.getCreateTime().getTime());
+        }
+        writer.writeEnum(user.getUserRole(), ROLES);
+        return writer.toByteArray();
+    }
+
+    @Override
+    public UserDTO decode(byte[] data) {
+        if (!supports(data) || data.length < 4 || data[1] != FORMAT_VERSION) {
+            return null;
+        }
+        try {
+            return read(new Reader(data, 2));
+        } catch (CorruptDataException e) {
+            return null;
+        }
+    }
+
+    private static UserDTO read(Reader reader) {
+        int mask = (reader.readByte() << 8) | reader.readByte();
+        UserDTO user = new UserDTO();
+        if (has(mask, F_ID)) {
+            user.setId(reader.readVarLong());
+        }
+        if (has(mask, F_USERNAME)) {
+            user.setUsername(reader.readString());
+        }
+        if (has(mask, F_USER_ACCOUNT)) {
+            user.setUserAccount(reader.readString());
+        }
+        if (has(mask, F_AVATAR_URL)) {
+            user.setAvatarUrl(reader.readString());
+        }
+        if (has(mask, F_GENDER)) {
+            user.setGender(reader.readEnum(GENDERS));
+        }
+        if (has(mask, F_PHONE)) {
+            user.setPhone(reader.readString());
+        }
+        if (has(mask, F_EMAIL)) {
+            user.setEmail(reader.readString());
+        }
+        if (has(mask, F_USER_STATUS)) {
+            user.setUserStatus(reader.readEnum(STATUSES));
+        }
+        if (has(mask, F_CREATE_TIME)) {
+            user.setCreateTime(new Date(reader.readVarLong()));
+        }
+        if (has(mask, F_USER_ROLE)) {
+            user.setUserRole(reader.readEnum(ROLES));
+        }
+        return user;
+    }
+
+    private static int bit(int field, boolean present) {
+        return present ? 1 << field : 0;
+    }
+
+    private static boolean has(int mask, int field) {
+        return (mask & (1 << field)) != 0;
+    }
+
+    /**
+     * 字节写入器（非线程安全，每次编码新建）
+     */
+    private static final class Writer {
+
+        private byte[] buffer = new byte[128];
+
+        private int position;
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            // zigzag，兼容负数
+            long zigzag = (value << 1) ^ (value >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                writeByte((int) ((zigzag & 0x7F) | 0x80));
+                zigzag >>>= 7;
+            }
+            writeByte((int) zigzag);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void writeEnum(String value, String[] values) {
+            if (value == null) {
+                return;
+            }
+            for (int i = 0; i < values.length; i++) {
+                if (values[i].equals(value)) {
+                    writeByte(i + 1);
+                    return;
+                }
+            }
+            // 0 表示未知取值，后面跟原始字符串
+            writeByte(0);
+            writeString(value);
+        }
+
+        private void ensureCapacity(int length) {
+            if (position + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    /**
+     * 数据截断或损坏（读取越界、长度或枚举码无效）
+     */
+    private static final class CorruptDataException extends RuntimeException {
+
+        CorruptDataException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * 字节读取器，读取越界或遇到无效取值时抛出 {@link CorruptDataException}
+     */
+    private static final class Reader {
+
+        private final byte[] data;
+
+        private int position;
+
+        Reader(byte[] data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        int readByte() {
+            if (position >= data.length) {
+                throw new CorruptDataException();
+            }
+            return data[position++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long zigzag = 0;
+            int shift = 0;
+            int b;
+            do {
+                if (shift > 63) {
+                    throw new CorruptDataException();
+                }
+                b = readByte();
+                zigzag |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        String readString() {
+            long length = readVarLong();
+            if (length < 0 || length > data.length - position) {
+                throw new CorruptDataException();
+            }
+            String value = new String(data, position, (int) length, StandardCharsets.UTF_8);
+            position += (int) length;
+            return value;
+        }
+
+        String readEnum(String[] values) {
+            int code = readByte();
+            if (code == 0) {
+                return readString();
+            }
+            if (code > values.length) {
+                throw new CorruptDataException();
+            }
+            return values[code - 1];
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.ahz.usercenter.utils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 布隆过滤器（单层，固定容量）
+ * 位的排列与 Redis 位图相同（偏移量 n 位于第 n / 8 个字节的高位起第 n % 8 位），
+ * 因此 {@link #toByteArray()} 可以直接写入 Redis，Redis 中 GET 得到的字节也可以直接 {@link #merge(byte[])}
+ * <p>
+ * 写入需由调用方串行化；读取不加锁，与写入并发时可能看不到刚写入的值（等同于写入稍后发生）
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+public final class BloomFilter {
+
+    /**
+     * Redis 位图最多 2^32 位（512MB），本地位图与 Redis 位图一一对应，不能超过该值
+     */
+    public static final long MAX_BITS = 1L << 32;
+
+    private static final double LN2 = Math.log(2);
+
+    private final byte[] bits;
+
+    private final long bitSize;
+
+    private final int hashCount;
+
+    private final long capacity;
+
+    /**
+     * 按预期元素数和误判率创建
+     *
+     * @param capacity          预期元素数
+     * @param falsePositiveRate 元素数达到 capacity 时的误判率
+     * @throws IllegalArgumentException 参数无效，或达到该误判率所需的位数超过 {@link #MAX_BITS}
+     */
+    public BloomFilter(long capacity, double falsePositiveRate) {
+        if (capacity <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid bloom filter parameters: " + capacity + ", " + falsePositiveRate);
+        }
+        long requiredBits = (optimalBits(capacity, falsePositiveRate) + 7) / 8 * 8;
+        if (requiredBits > MAX_BITS) {
+            // 截断位数会让实际误判率高于配置值，直接拒绝，由调用方拆分为多层
+            throw new IllegalArgumentException("Bloom filter needs " + requiredBits + " bits for capacity " + capacity
+                    + " at false positive rate " + falsePositiveRate + ", exceeds the Redis bitmap limit of " + MAX_BITS);
+        }
+        this.bitSize = requiredBits;
+        this.bits = new byte[(int) (bitSize / 8)];
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / capacity * LN2));
+        this.capacity = capacity;
+    }
+
+    /**
+     * 在 {@link #MAX_BITS} 以内、给定误判率下单层可容纳的最大元素数
+     *
+     * @param falsePositiveRate 误判率
+     * @return 最大元素数
+     */
+    public static long maxCapacity(double falsePositiveRate) {
+        long capacity = (long) (MAX_BITS * LN2 * LN2 / -Math.log(falsePositiveRate));
+        // 浮点误差可能使反算的位数略超上限
+        while (capacity > 1 && optimalBits(capacity, falsePositiveRate) > MAX_BITS) {
+            capacity--;
+        }
+        return capacity;
+    }
+
+    /**
+     * 计算元素的哈希（64 位 FNV-1a 再经 SplitMix64 混合，得到两个独立的 64 位值用于双重哈希）
+     *
+     * @param value 元素
+     * @return 两个哈希值
+     */
+    public static long[] hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return new long[]{mix(h), mix(h + 0x9e3779b97f4a7c15L) | 1};
+    }
+
+    /**
+     * 元素可能存在（false 表示一定不存在）
+     *
+     * @param hash {@link #hash(String)} 的结果
+     * @return 是否可能存在
+     */
+    public boolean mightContain(long[] hash) {
+        for (int i = 0; i < hashCount; i++) {
+            long offset = offset(hash, i);
+            if ((bits[(int) (offset >>> 3)] & (0x80 >>> (offset & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 写入元素
+     *
+     * @param hash {@link #hash(String)} 的结果
+     * @return 写入的位偏移量（用于同步到 Redis 位图）
+     */
+    public long[] put(long[] hash) {
+        long[] offsets = new long[hashCount];
+        for (int i = 0; i < hashCount; i++) {
+            long offset = offset(hash, i);
+            bits[(int) (offset >>> 3)] |= (byte) (0x80 >>> (offset & 7));
+            offsets[i] = offset;
+        }
+        return offsets;
+    }
+
+    /**
+     * 合并另一份位图（按位或），长度不同时只合并重叠部分
+     *
+     * @param other 位图字节
+     */
+    public void merge(byte[] other) {
+        int length = Math.min(bits.length, other.length);
+        for (int i = 0; i < length; i++) {
+            bits[i] |= other[i];
+        }
+    }
+
+    /**
+     * 位图字节的副本
+     */
+    public byte[] toByteArray() {
+        return bits.clone();
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private static long optimalBits(long capacity, double falsePositiveRate) {
+        return (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (LN2 * LN2));
+    }
+
+    private long offset(long[] hash, int i) {
+        return Math.floorMod(hash[0] + i * hash[1], bitSize);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
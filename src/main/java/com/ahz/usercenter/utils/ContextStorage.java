@@ -0,0 +1,80 @@
+package com.ahz.usercenter.utils;
+
+/**
+ * 用户上下文的作用域存储
+ * 目前基于 ThreadLocal，绑定在作用域结束时恢复为之前的值；
+ * ScopedValue 在 Java 21 仍是预览 API，成为正式 API 后可在此增加实现，调用方不受影响
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+interface ContextStorage {
+
+    /**
+     * 当前绑定的作用域
+     *
+     * @return 作用域，未绑定时返回 null
+     */
+    UserContext.Scope current();
+
+    /**
+     * 绑定作用域并执行任务，任务结束后恢复之前的绑定
+     *
+     * @param scope 作用域
+     * @param task  任务
+     * @param <E>   受检异常类型
+     * @throws E 任务抛出的异常
+     */
+    <E extends Exception> void run(UserContext.Scope scope, UserContext.ScopedTask<E> task) throws E;
+
+    /**
+     * 存储实现名称
+     *
+     * @return 名称
+     */
+    String name();
+
+    /**
+     * 创建存储实现
+     *
+     * @return 存储实现
+     */
+    static ContextStorage create() {
+        return new ThreadLocalStorage();
+    }
+
+    /**
+     * 基于 ThreadLocal 的存储
+     */
+    final class ThreadLocalStorage implements ContextStorage {
+
+        static final String NAME = "thread-local";
+
+        private final ThreadLocal<UserContext.Scope> holder = new ThreadLocal<>();
+
+        @Override
+        public UserContext.Scope current() {
+            return holder.get();
+        }
+
+        @Override
+        public <E extends Exception> void run(UserContext.Scope scope, UserContext.ScopedTask<E> task) throws E {
+            UserContext.Scope previous = holder.get();
+            holder.set(scope);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    holder.set(previous);
+                } else {
+                    holder.remove();
+                }
+            }
+        }
+
+        @Override
+        public String name() {
+            return NAME;
+        }
+    }
+}
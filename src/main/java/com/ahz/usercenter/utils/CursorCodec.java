@@ -0,0 +1,95 @@
+package com.ahz.usercenter.utils;
+
+import com.ahz.usercenter.common.ErrorCode;
+import com.ahz.usercenter.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 分页游标编解码
+ * 游标对客户端不透明，内容为 v1:{上一页最后一条的 user_id}；
+ * 按时间排序的列表使用 v1:{上一页最后一条的时间戳（毫秒）}:{ID}
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+public final class CursorCodec {
+
+    private static final String VERSION_PREFIX = "v1:";
+
+    private CursorCodec() {
+    }
+
+    /**
+     * 编码游标
+     *
+     * @param lastId 上一页最后一条记录的 ID
+     * @return 游标
+     */
+    public static String encode(long lastId) {
+        return encode(String.valueOf(lastId));
+    }
+
+    /**
+     * 解码游标
+     *
+     * @param cursor 游标
+     * @return 上一页最后一条记录的 ID
+     */
+    public static long decode(String cursor) {
+        try {
+            return Long.parseLong(decodeValue(cursor));
+        } catch (NumberFormatException e) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "游标无效");
+        }
+    }
+
+    /**
+     * 编码按时间排序的游标
+     *
+     * @param lastTime 上一页最后一条记录的时间（毫秒）
+     * @param lastId   上一页最后一条记录的 ID
+     * @return 游标
+     */
+    public static String encode(long lastTime, long lastId) {
+        return encode(lastTime + ":" + lastId);
+    }
+
+    /**
+     * 解码按时间排序的游标
+     *
+     * @param cursor 游标
+     * @return [时间（毫秒）, ID]
+     */
+    public static long[] decodeTimeAndId(String cursor) {
+        String value = decodeValue(cursor);
+        int separator = value.indexOf(':');
+        if (separator <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "游标无效");
+        }
+        try {
+            return new long[]{Long.parseLong(value.substring(0, separator)), Long.parseLong(value.substring(separator + 1))};
+        } catch (NumberFormatException e) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "游标无效");
+        }
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((VERSION_PREFIX + value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeValue(String cursor) {
+        String value;
+        try {
+            value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "游标无效");
+        }
+        if (!value.startsWith(VERSION_PREFIX)) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "游标无效");
+        }
+        return value.substring(VERSION_PREFIX.length());
+    }
+}
@@ -0,0 +1,51 @@
+package com.ahz.usercenter.utils;
+
+/**
+ * 全文检索关键词工具类
+ * 配合 ft_user_search（ngram 分词）索引使用
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+public final class FullTextUtils {
+
+    /**
+     * ngram 分词长度（与 MySQL 参数 ngram_token_size 保持一致）
+     */
+    public static final int NGRAM_TOKEN_SIZE = 2;
+
+    private FullTextUtils() {
+    }
+
+    /**
+     * 关键词是否足够长，可以使用全文索引
+     * 短于分词长度的关键词不会产生任何 ngram，全文检索永远无结果
+     *
+     * @param keyword 关键词
+     * @return 是否可以使用全文索引
+     */
+    public static boolean isFullTextSearchable(String keyword) {
+        return keyword != null && keyword.codePointCount(0, keyword.length()) >= NGRAM_TOKEN_SIZE;
+    }
+
+    /**
+     * 转换为 BOOLEAN MODE 短语
+     * 短语要求所有 ngram 连续出现，即子串匹配；去掉双引号避免破坏短语
+     *
+     * @param keyword 关键词
+     * @return 短语（带双引号）
+     */
+    public static String toBooleanPhrase(String keyword) {
+        return '"' + keyword.replace("\"", "") + '"';
+    }
+
+    /**
+     * 转换为 LIKE 前缀匹配模式，转义通配符
+     *
+     * @param keyword 关键词
+     * @return 前缀匹配模式
+     */
+    public static String toPrefixPattern(String keyword) {
+        return keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+}
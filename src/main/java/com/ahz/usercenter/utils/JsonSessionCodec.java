@@ -0,0 +1,38 @@
+package com.ahz.usercenter.utils;
+
+import com.ahz.usercenter.model.dto.UserDTO;
+import com.alibaba.fastjson2.JSON;
+import org.springframework.stereotype.Component;
+
+/**
+ * JSON 会话编解码器
+ * 与历史版本写入 Redis 的格式完全一致（fastjson2 序列化的 UTF-8 JSON）
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Component
+public class JsonSessionCodec implements SessionCodec {
+
+    public static final String NAME = "json";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean supports(byte[] data) {
+        return data != null && data.length > 0 && data[0] == '{';
+    }
+
+    @Override
+    public byte[] encode(UserDTO user) {
+        return JSON.toJSONBytes(user);
+    }
+
+    @Override
+    public UserDTO decode(byte[] data) {
+        return JSON.parseObject(data, UserDTO.class);
+    }
+}
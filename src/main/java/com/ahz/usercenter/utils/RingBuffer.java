@@ -0,0 +1,138 @@
+package com.ahz.usercenter.utils;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 有界无锁环形缓冲区（多生产者、单消费者）
+ * 每个槽位带一个序号：序号等于写入位置时可写，等于写入位置 + 1 时可读；
+ * 生产者只通过 CAS 竞争写入位置，缓冲区满时 {@link #offer(Object)} 立即返回 false，不阻塞、不加锁
+ * <p>
+ * {@link #poll()} 和 {@link #drainTo(Collection, int)} 只能由同一时刻唯一的消费者线程调用
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+public final class RingBuffer<E> {
+
+    private final AtomicReferenceArray<E> elements;
+
+    private final AtomicLongArray sequences;
+
+    private final int mask;
+
+    /**
+     * 下一个写入位置（生产者竞争）
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * 下一个读取位置（只由消费者修改，volatile 用于 {@link #size()}）
+     */
+    private volatile long head;
+
+    /**
+     * @param capacity 容量，向上取整为 2 的幂
+     */
+    public RingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid ring buffer capacity: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * 写入元素
+     *
+     * @param element 元素（不能为 null）
+     * @return 缓冲区已满时返回 false
+     */
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException("element");
+        }
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    // 序号在元素之后发布，消费者看到序号时一定能看到元素
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                // 槽位仍未被消费者读走，缓冲区已满
+                return false;
+            }
+            // diff > 0：其他生产者已占用该位置，重新读取写入位置
+        }
+    }
+
+    /**
+     * 读取一个元素
+     *
+     * @return 缓冲区为空（或下一个元素尚未发布完成）时返回 null
+     */
+    public E poll() {
+        long position = head;
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = elements.get(index);
+        elements.lazySet(index, null);
+        // 槽位交还给下一圈的生产者
+        sequences.set(index, position + mask + 1);
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * 批量读取元素
+     *
+     * @param target 目标集合
+     * @param limit  最多读取的个数
+     * @return 实际读取的个数
+     */
+    public int drainTo(Collection<? super E> target, int limit) {
+        int count = 0;
+        while (count < limit) {
+            E element = poll();
+            if (element == null) {
+                break;
+            }
+            target.add(element);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 当前元素数（并发写入时为近似值）
+     */
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
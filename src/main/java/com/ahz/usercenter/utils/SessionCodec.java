@@ -0,0 +1,45 @@
+package com.ahz.usercenter.utils;
+
+import com.ahz.usercenter.model.dto.UserDTO;
+
+/**
+ * 会话编解码器（SPI）
+ * 负责 Redis 中会话内容（UserDTO）的序列化格式，实现类注册为 Spring Bean 即可被 TokenUtils 使用
+ * 读取时按 {@link #supports(byte[])} 自动识别格式，因此新旧格式可以同时存在，便于平滑迁移
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+public interface SessionCodec {
+
+    /**
+     * 编解码器名称，对应配置 userhub.token.session-codec
+     *
+     * @return 名称
+     */
+    String name();
+
+    /**
+     * 是否能解码该数据（通常根据首字节判断）
+     *
+     * @param data 原始数据
+     * @return 是否支持
+     */
+    boolean supports(byte[] data);
+
+    /**
+     * 编码
+     *
+     * @param user 用户信息
+     * @return 编码后的数据
+     */
+    byte[] encode(UserDTO user);
+
+    /**
+     * 解码
+     *
+     * @param data 原始数据
+     * @return 用户信息，数据无法识别时返回 null
+     */
+    UserDTO decode(byte[] data);
+}
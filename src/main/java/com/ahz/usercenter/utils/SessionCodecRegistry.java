@@ -0,0 +1,66 @@
+package com.ahz.usercenter.utils;
+
+import com.ahz.usercenter.config.TokenProperties;
+import com.ahz.usercenter.model.dto.UserDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 会话编解码器注册表
+ * 写入时使用配置指定的编解码器，读取时按数据头自动识别，支持新旧格式并存
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Component
+@Slf4j
+public class SessionCodecRegistry {
+
+    @Resource
+    private List<SessionCodec> codecs;
+
+    @Resource
+    private TokenProperties tokenProperties;
+
+    private SessionCodec writeCodec;
+
+    @PostConstruct
+    public void init() {
+        String name = tokenProperties.getSessionCodec();
+        writeCodec = codecs.stream()
+                .filter(codec -> codec.name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown session codec: " + name));
+        log.info("Session codec for writing: {}", name);
+    }
+
+    /**
+     * 使用当前配置的编解码器编码
+     *
+     * @param user 用户信息
+     * @return 编码后的数据
+     */
+    public byte[] encode(UserDTO user) {
+        return writeCodec.encode(user);
+    }
+
+    /**
+     * 按数据头识别格式并解码
+     *
+     * @param data 原始数据
+     * @return 用户信息，无法识别时返回 null
+     */
+    public UserDTO decode(byte[] data) {
+        for (SessionCodec codec : codecs) {
+            if (codec.supports(data)) {
+                return codec.decode(data);
+            }
+        }
+        log.warn("Unrecognized session data format");
+        return null;
+    }
+}
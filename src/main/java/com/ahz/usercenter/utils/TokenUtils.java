@@ -1,19 +1,52 @@
 package com.ahz.usercenter.utils;
 
-import com.alibaba.fastjson2.JSON;
+import com.ahz.usercenter.cache.CacheInvalidationBroadcaster;
+import com.ahz.usercenter.cache.TokenNearCache;
+import com.ahz.usercenter.cache.UserCache;
+import com.ahz.usercenter.config.TokenProperties;
+import com.ahz.usercenter.model.domain.User;
+import com.ahz.usercenter.model.dto.SessionDTO;
 import com.ahz.usercenter.model.dto.UserDTO;
+import com.ahz.usercenter.service.UserService;
+import com.alibaba.fastjson2.JSON;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.annotation.Resource;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Token 工具类
- * 基于 Redis 的 Token 管理
+ * 支持两种 Token：
+ * 1. 不透明 Token（opaque）：会话存储在 Redis，内容格式由 SessionCodec 决定，并按用户维护会话索引
+ * 2. 签名 Token（signed）：HMAC 签名的自包含 Token，本地校验，仅在近端缓存未命中时查询 Redis 吊销列表
+ * 两种 Token 按格式自动识别，可在迁移期间同时有效
  *
  * @author ahz
  * @version 2.0
@@ -22,8 +55,33 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class TokenUtils {
 
-    @Resource(name = "stringRedisTemplate")
-    private StringRedisTemplate redisTemplate;
+    @Resource(name = "sessionRedisTemplate")
+    private RedisTemplate<String, byte[]> redisTemplate;
+
+    @Resource
+    private SessionCodecRegistry sessionCodecRegistry;
+
+    @Resource
+    private TokenNearCache tokenNearCache;
+
+    @Resource
+    private CacheInvalidationBroadcaster invalidationBroadcaster;
+
+    @Resource
+    private TokenProperties tokenProperties;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
+    @Resource
+    private UserCache userCache;
+
+    /**
+     * 延迟注入，避免与 UserService（封禁时吊销会话）形成循环依赖
+     */
+    @Lazy
+    @Resource
+    private UserService userService;
 
     /**
      * Token 前缀
@@ -31,18 +89,241 @@ public class TokenUtils {
     private static final String TOKEN_PREFIX = "USER_TOKEN:";
 
     /**
-     * Token 过期时间（小时）
+     * 已吊销签名 Token 的 Key 前缀（后接 jti，过期时间与 Token 剩余有效期一致）
+     */
+    private static final String REVOKED_PREFIX = "USER_TOKEN_REVOKED:";
+
+    private static final byte[] REVOKED_MARKER = "1".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 签名 Token 按用户吊销的时间点（后接用户 ID，早于该时间签发的签名 Token 均失效）
+     */
+    private static final String REVOKED_BEFORE_PREFIX = "USER_TOKEN_REVOKED_BEFORE:";
+
+    /**
+     * 用户会话索引（ZSET，成员为 Token，分数为最近活跃时间）
+     */
+    private static final String SESSION_INDEX_PREFIX = "USER_SESSIONS:";
+
+    /**
+     * 用户会话信息（HASH，字段为 Token，值为登录时间、IP、设备）
+     */
+    private static final String SESSION_INFO_PREFIX = "USER_SESSION_INFO:";
+
+    /**
+     * 用户版本（后接用户 ID，值为最近一次用户数据变更的 Redis 服务器时间）
+     */
+    private static final String USER_VERSION_PREFIX = "USER_VERSION:";
+
+    /**
+     * 全局纪元（值为最近一次全员下线的 Redis 服务器时间，此前登录的会话全部失效）
+     */
+    private static final String SESSION_EPOCH_KEY = "SESSION_EPOCH";
+
+    /**
+     * 会话头部前缀：@v1:{用户ID}:{登录时间}:{版本戳}|{会话内容}
+     */
+    private static final byte[] ENVELOPE_PREFIX = "@v1:".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 会话 ID 长度（Token 的 SHA-256 十六进制摘要前缀）
+     */
+    private static final int SESSION_ID_LENGTH = 16;
+
+    private static final String MODE_OPAQUE = "opaque";
+
+    private static final String MODE_SIGNED = "signed";
+
+    private static final String STATUS_BANNED = "banned";
+
+    /**
+     * 验证并按需续期的 Lua 脚本
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> VERIFY_TOKEN_SCRIPT = new DefaultRedisScript<>();
+
+    /**
+     * 存储会话并维护会话索引的 Lua 脚本，返回被淘汰的 Token
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> STORE_SESSION_SCRIPT = new DefaultRedisScript<>();
+
+    /**
+     * 删除会话的 Lua 脚本
+     */
+    private static final DefaultRedisScript<Long> DELETE_SESSION_SCRIPT = new DefaultRedisScript<>();
+
+    /**
+     * 续期时刷新会话索引的 Lua 脚本
+     */
+    private static final DefaultRedisScript<Long> TOUCH_SESSION_SCRIPT = new DefaultRedisScript<>();
+
+    /**
+     * 刷新过时会话的 Lua 脚本
+     */
+    private static final DefaultRedisScript<Long> REFRESH_SESSION_SCRIPT = new DefaultRedisScript<>();
+
+    /**
+     * 写入版本时间戳的 Lua 脚本
      */
-    private static final int TOKEN_EXPIRE_HOURS = 2;
+    private static final DefaultRedisScript<Long> BUMP_VERSION_SCRIPT = new DefaultRedisScript<>();
 
     /**
-     * 生成 Token
+     * 吊销用户全部会话的 Lua 脚本
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> REVOKE_SESSIONS_SCRIPT = new DefaultRedisScript<>();
+
+    static {
+        VERIFY_TOKEN_SCRIPT.setLocation(new ClassPathResource("lua/verify_token.lua"));
+        VERIFY_TOKEN_SCRIPT.setResultType(List.class);
+        STORE_SESSION_SCRIPT.setLocation(new ClassPathResource("lua/store_session.lua"));
+        STORE_SESSION_SCRIPT.setResultType(List.class);
+        DELETE_SESSION_SCRIPT.setLocation(new ClassPathResource("lua/delete_session.lua"));
+        DELETE_SESSION_SCRIPT.setResultType(Long.class);
+        TOUCH_SESSION_SCRIPT.setLocation(new ClassPathResource("lua/touch_session.lua"));
+        TOUCH_SESSION_SCRIPT.setResultType(Long.class);
+        REVOKE_SESSIONS_SCRIPT.setLocation(new ClassPathResource("lua/revoke_sessions.lua"));
+        REVOKE_SESSIONS_SCRIPT.setResultType(List.class);
+        REFRESH_SESSION_SCRIPT.setLocation(new ClassPathResource("lua/refresh_session.lua"));
+        REFRESH_SESSION_SCRIPT.setResultType(Long.class);
+        BUMP_VERSION_SCRIPT.setLocation(new ClassPathResource("lua/bump_version.lua"));
+        BUMP_VERSION_SCRIPT.setResultType(Long.class);
+    }
+
+    /**
+     * 脚本返回值保持原始字节，由 SessionCodec 解码
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisSerializer<List> RAW_RESULT_SERIALIZER = (RedisSerializer) RedisSerializer.byteArray();
+
+    /**
+     * 续期次数（实际执行 / 跳过）
+     */
+    private Counter renewalPerformedCounter;
+
+    private Counter renewalSkippedCounter;
+
+    /**
+     * 因用户数据变更而刷新的会话数
+     */
+    private Counter sessionRefreshedCounter;
+
+    /**
+     * Token 校验耗时（按 Token 类型和结果区分）
+     */
+    private Timer opaqueValidTimer;
+
+    private Timer opaqueInvalidTimer;
+
+    private Timer signedValidTimer;
+
+    private Timer signedInvalidTimer;
+
+    /**
+     * 吊销列表查询失败次数（查询失败时放行，依赖签名和过期时间保证安全）
+     */
+    private Counter revocationCheckFailedCounter;
+
+    /**
+     * 签名编解码器，未配置密钥时为 null（不接受签名 Token）
+     */
+    private SignedTokenCodec signedTokenCodec;
+
+    @PostConstruct
+    public void init() {
+        String secret = tokenProperties.getSigningSecret();
+        if (secret != null && !secret.isBlank()) {
+            signedTokenCodec = new SignedTokenCodec(secret.getBytes(StandardCharsets.UTF_8));
+        } else if (isSignedMode()) {
+            throw new IllegalStateException("userhub.token.signing-secret is required when userhub.token.mode=signed");
+        }
+        if (!isSignedMode() && !MODE_OPAQUE.equalsIgnoreCase(tokenProperties.getMode())) {
+            throw new IllegalStateException("Unknown token mode: " + tokenProperties.getMode());
+        }
+        revocationCheckFailedCounter = Counter.builder("userhub.token.revocation.check.failed")
+                .description("签名 Token 吊销列表查询失败次数")
+                .register(meterRegistry);
+        opaqueValidTimer = verifyTimer(MODE_OPAQUE, "valid");
+        opaqueInvalidTimer = verifyTimer(MODE_OPAQUE, "invalid");
+        signedValidTimer = verifyTimer(MODE_SIGNED, "valid");
+        signedInvalidTimer = verifyTimer(MODE_SIGNED, "invalid");
+        sessionRefreshedCounter = Counter.builder("userhub.token.session.refreshed")
+                .description("因用户数据变更而刷新的会话数")
+                .register(meterRegistry);
+        renewalPerformedCounter = Counter.builder("userhub.token.renewal")
+                .description("Token 续期次数")
+                .tag("result", "performed")
+                .register(meterRegistry);
+        renewalSkippedCounter = Counter.builder("userhub.token.renewal")
+                .description("Token 续期次数")
+                .tag("result", "skipped")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 签发 Token（按配置的模式）
+     * opaque 模式生成随机 Token 并把会话写入 Redis；signed 模式只做本地签名，不访问 Redis
+     *
+     * @param user 用户信息（脱敏后的 UserDTO）
+     * @return Token 字符串
+     */
+    public String issueToken(@NonNull UserDTO user) {
+        return issueToken(user, null, null);
+    }
+
+    /**
+     * 签发 Token（按配置的模式），并记录登录 IP 和设备
+     *
+     * @param user      用户信息（脱敏后的 UserDTO）
+     * @param clientIp  登录 IP
+     * @param userAgent 登录设备（User-Agent）
+     * @return Token 字符串
+     */
+    public String issueToken(@NonNull UserDTO user, String clientIp, String userAgent) {
+        if (isSignedMode()) {
+            long now = System.currentTimeMillis();
+            return signedTokenCodec.sign(new SignedTokenCodec.Claims(
+                    UUID.randomUUID().toString().replace("-", ""),
+                    user.getId(),
+                    user.getUserRole(),
+                    user.getUserStatus(),
+                    now,
+                    now + tokenProperties.getExpire().toMillis()));
+        }
+        String token = generateToken(user.getId());
+        storeToken(token, user, clientIp, userAgent);
+        return token;
+    }
+
+    /**
+     * 生成不透明 Token
+     * 格式为 USER_TOKEN:{用户 ID}:{随机串}，验证时无需先读取会话即可得到用户版本 Key
      *
      * @param userId 用户 ID
      * @return Token 字符串
      */
     public String generateToken(Long userId) {
-        return TOKEN_PREFIX + UUID.randomUUID().toString().replace("-", "");
+        return TOKEN_PREFIX + userId + ":" + UUID.randomUUID().toString().replace("-", "");
+    }
+
+    /**
+     * 从不透明 Token 中解析用户 ID
+     *
+     * @param token Token
+     * @return 用户 ID，旧格式 Token（不含用户 ID）返回 null
+     */
+    private static Long opaqueTokenUserId(String token) {
+        int start = TOKEN_PREFIX.length();
+        int end = token.indexOf(':', start);
+        if (!token.startsWith(TOKEN_PREFIX) || end <= start) {
+            return null;
+        }
+        try {
+            return Long.valueOf(token.substring(start, end));
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 
     /**
@@ -52,22 +333,48 @@ public class TokenUtils {
      * @param user  用户信息（脱敏后的 UserDTO）
      */
     public void storeToken(@NonNull String token, @NonNull UserDTO user) {
+        storeToken(token, user, null, null);
+    }
+
+    /**
+     * 存储 Token 和用户信息到 Redis，同时加入用户会话索引
+     * 会话数超过上限时淘汰最久未活跃的会话，并通知各节点清除被淘汰 Token 的近端缓存
+     *
+     * @param token     Token
+     * @param user      用户信息（脱敏后的 UserDTO）
+     * @param clientIp  登录 IP
+     * @param userAgent 登录设备（User-Agent）
+     */
+    public void storeToken(@NonNull String token, @NonNull UserDTO user, String clientIp, String userAgent) {
         if (redisTemplate == null) {
             log.error("RedisTemplate is null, Redis may not be configured properly");
             throw new RuntimeException("Token 存储失败: Redis 未配置或连接失败，请检查 Redis 服务是否启动");
         }
         try {
-            String userJson = JSON.toJSONString(user);
-            if (userJson == null) {
+            byte[] sessionData = sessionCodecRegistry.encode(user);
+            if (sessionData == null) {
                 throw new RuntimeException("用户信息序列化失败");
             }
-            redisTemplate.opsForValue().set(
-                    token,
-                    userJson,
-                    TOKEN_EXPIRE_HOURS,
-                    TimeUnit.HOURS
-            );
+            SessionDTO sessionInfo = new SessionDTO();
+            sessionInfo.setCreateTime(new Date());
+            sessionInfo.setIp(clientIp);
+            sessionInfo.setUserAgent(userAgent);
+            List<?> evicted = redisTemplate.execute(STORE_SESSION_SCRIPT,
+                    RedisSerializer.byteArray(),
+                    RAW_RESULT_SERIALIZER,
+                    List.of(token, SESSION_INDEX_PREFIX + user.getId(), SESSION_INFO_PREFIX + user.getId()),
+                    sessionData,
+                    bytes(tokenProperties.getExpire().toMillis()),
+                    bytes(System.currentTimeMillis()),
+                    bytes(tokenProperties.getMaxSessionsPerUser()),
+                    JSON.toJSONBytes(sessionInfo),
+                    bytes(user.getId()));
             log.info("Token stored successfully: {}", token);
+            if (evicted != null && !evicted.isEmpty()) {
+                List<String> evictedTokens = decodeTokens(evicted);
+                redisTemplate.delete(evictedTokens);
+                evictedTokens.forEach(invalidationBroadcaster::publishTokenInvalidation);
+            }
         } catch (Exception e) {
             log.error("Failed to store token: {}", e.getMessage(), e);
             String errorMsg = "Token 存储失败";
@@ -86,38 +393,536 @@ public class TokenUtils {
 
     /**
      * 验证 Token 并自动续期
+     * 优先查询近端缓存，命中时不访问 Redis（近端缓存 TTL 远小于 Token 过期时间，未命中时再续期）
+     * 未命中时通过 Lua 脚本一次往返完成读取、续期和版本检查，只有剩余有效期低于阈值时才真正续期
+     * 用户数据在会话写入后有变更时（版本戳过时），从用户缓存重新加载并刷新会话，角色等变更无需重新登录即可生效
      *
      * @param token Token
      * @return 用户信息，如果 Token 无效或过期则返回 null
      */
     public UserDTO verifyToken(@NonNull String token) {
+        long start = System.nanoTime();
+        UserDTO user;
+        if (SignedTokenCodec.isSignedToken(token)) {
+            user = verifySignedToken(token);
+            (user != null ? signedValidTimer : signedInvalidTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } else {
+            user = verifyOpaqueToken(token);
+            (user != null ? opaqueValidTimer : opaqueInvalidTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return user;
+    }
+
+    /**
+     * 验证不透明 Token
+     *
+     * @param token Token
+     * @return 用户信息，无效或过期时返回 null
+     */
+    private UserDTO verifyOpaqueToken(String token) {
+        UserDTO cachedUser = tokenNearCache.get(token);
+        if (cachedUser != null) {
+            return cachedUser;
+        }
         try {
-            String userJson = redisTemplate.opsForValue().get(token);
-            if (userJson == null || userJson.isEmpty()) {
+            Long tokenUserId = opaqueTokenUserId(token);
+            List<?> result = redisTemplate.execute(VERIFY_TOKEN_SCRIPT,
+                    RedisSerializer.string(),
+                    RAW_RESULT_SERIALIZER,
+                    tokenUserId != null
+                            ? List.of(token, SESSION_EPOCH_KEY, USER_VERSION_PREFIX + tokenUserId,
+                                    REVOKED_BEFORE_PREFIX + tokenUserId,
+                                    SESSION_INDEX_PREFIX + tokenUserId, SESSION_INFO_PREFIX + tokenUserId)
+                            : List.of(token, SESSION_EPOCH_KEY),
+                    String.valueOf(tokenProperties.getExpire().toMillis()),
+                    String.valueOf(tokenProperties.getRenewThreshold().toMillis()),
+                    String.valueOf(System.currentTimeMillis()));
+            if (result == null || result.isEmpty()) {
+                log.info("Token not found or expired: {}", token);
+                return null;
+            }
+            byte[] sessionData = (byte[]) result.get(0);
+            if (sessionData == null || sessionData.length == 0) {
                 log.info("Token not found or expired: {}", token);
                 return null;
             }
-            // 验证成功后自动续期（刷新过期时间为2小时）
-            redisTemplate.expire(token, TOKEN_EXPIRE_HOURS, TimeUnit.HOURS);
-            return JSON.parseObject(userJson, UserDTO.class);
+            boolean renewed = Long.valueOf(1L).equals(result.get(1));
+            if (renewed) {
+                renewalPerformedCounter.increment();
+            } else {
+                renewalSkippedCounter.increment();
+            }
+            UserDTO user = sessionCodecRegistry.decode(sessionData);
+            if (user == null) {
+                return null;
+            }
+            Object stale = result.get(2);
+            if (tokenUserId == null) {
+                Boolean changed = checkLegacySession(user.getId(), token, (Long) result.get(4), (Long) result.get(5));
+                if (changed == null) {
+                    return null;
+                }
+                if (changed) {
+                    stale = 1L;
+                }
+            }
+            if (Long.valueOf(1L).equals(stale)) {
+                user = refreshSession(token, user.getId(), (Long) result.get(4), (Long) result.get(3));
+                if (user == null) {
+                    return null;
+                }
+            }
+            if (renewed && tokenUserId == null) {
+                touchSession(user.getId(), token);
+            }
+            tokenNearCache.put(token, user);
+            return user;
         } catch (Exception e) {
             log.error("Failed to verify token", e);
             return null;
         }
     }
 
+    /**
+     * 检查旧格式 Token 的吊销时间点和用户版本（Token 不含用户 ID，脚本内无法检查）
+     * 在吊销时间点之前登录的会话直接删除
+     *
+     * @param userId   用户 ID
+     * @param token    Token
+     * @param issuedAt 登录时间
+     * @param stampAt  会话版本戳
+     * @return 用户数据在版本戳之后是否有变更，会话已吊销时返回 null
+     */
+    private Boolean checkLegacySession(Long userId, String token, Long issuedAt, Long stampAt) {
+        List<byte[]> states = redisTemplate.opsForValue().multiGet(List.of(
+                REVOKED_BEFORE_PREFIX + userId,
+                USER_VERSION_PREFIX + userId));
+        if (states == null) {
+            return false;
+        }
+        if (states.get(0) != null && Long.parseLong(new String(states.get(0), StandardCharsets.UTF_8)) >= issuedAt) {
+            log.info("Token revoked: {}", token);
+            deleteSession(userId, token);
+            return null;
+        }
+        return states.get(1) != null && Long.parseLong(new String(states.get(1), StandardCharsets.UTF_8)) >= stampAt;
+    }
+
+    /**
+     * 验证签名 Token
+     * 签名和过期时间在本地校验；通过后若近端缓存未命中，再查询一次吊销列表并缓存结果
+     * 吊销列表查询失败时放行（fail-open），Redis 故障不影响已登录用户
+     * 用户数据在签发后有变更时，使用用户缓存中的最新数据代替 Token 中的角色和状态
+     * 注意签发时间来自应用节点时钟，版本时间来自 Redis 服务器时钟，两者应保持时间同步
+     *
+     * @param token Token
+     * @return 用户信息（通常仅包含 id、角色、状态），无效、过期或已吊销时返回 null
+     */
+    private UserDTO verifySignedToken(String token) {
+        if (signedTokenCodec == null) {
+            log.warn("Signed token received but no signing secret is configured");
+            return null;
+        }
+        SignedTokenCodec.Claims claims = signedTokenCodec.verify(token);
+        if (claims == null) {
+            log.info("Invalid token signature: {}", token);
+            return null;
+        }
+        if (claims.isExpired(System.currentTimeMillis())) {
+            log.info("Token expired: {}", token);
+            return null;
+        }
+        UserDTO cachedUser = tokenNearCache.get(token);
+        if (cachedUser != null) {
+            return cachedUser;
+        }
+        boolean stale = false;
+        try {
+            List<byte[]> states = redisTemplate.opsForValue().multiGet(List.of(
+                    REVOKED_PREFIX + claims.jti(),
+                    REVOKED_BEFORE_PREFIX + claims.userId(),
+                    SESSION_EPOCH_KEY,
+                    USER_VERSION_PREFIX + claims.userId()));
+            if (states != null) {
+                if (states.get(0) != null || issuedNotAfter(claims, states.get(1)) || issuedNotAfter(claims, states.get(2))) {
+                    log.info("Token revoked: {}", token);
+                    return null;
+                }
+                stale = issuedNotAfter(claims, states.get(3));
+            }
+        } catch (Exception e) {
+            revocationCheckFailedCounter.increment();
+            log.warn("Failed to check token revocation, allowing request: {}", e.getMessage());
+        }
+        UserDTO user;
+        if (stale) {
+            sessionRefreshedCounter.increment();
+            user = loadFreshUser(claims.userId());
+            if (user == null) {
+                return null;
+            }
+        } else {
+            user = new UserDTO();
+            user.setId(claims.userId());
+            user.setUserRole(claims.userRole());
+            user.setUserStatus(claims.userStatus());
+        }
+        tokenNearCache.put(token, user);
+        return user;
+    }
+
     /**
      * 删除 Token（用于退出登录）
+     * 不透明 Token 直接删除会话；签名 Token 将 jti 写入吊销列表，保留到 Token 自然过期
+     * 同时通知所有节点清除近端缓存中的该 Token
      *
      * @param token Token
      */
     public void deleteToken(@NonNull String token) {
+        if (SignedTokenCodec.isSignedToken(token)) {
+            revokeSignedToken(token);
+            invalidationBroadcaster.publishTokenInvalidation(token);
+            return;
+        }
         try {
-            redisTemplate.delete(token);
+            byte[] sessionData = redisTemplate.opsForValue().get(token);
+            Long userId = sessionData == null ? null : sessionUserId(sessionData);
+            if (userId != null) {
+                deleteSession(userId, token);
+            } else {
+                redisTemplate.delete(token);
+            }
             log.info("Token deleted successfully: {}", token);
         } catch (Exception e) {
             log.error("Failed to delete token", e);
         }
+        invalidationBroadcaster.publishTokenInvalidation(token);
+    }
+
+    /**
+     * 查询用户的会话列表（按最近活跃时间倒序）
+     * 仅包含不透明 Token 会话，签名 Token 不在服务端保存
+     *
+     * @param userId       用户 ID
+     * @param currentToken 当前请求使用的 Token（用于标记当前会话，可为 null）
+     * @return 会话列表
+     */
+    public List<SessionDTO> listSessions(@NonNull Long userId, String currentToken) {
+        Set<ZSetOperations.TypedTuple<byte[]>> entries =
+                redisTemplate.opsForZSet().reverseRangeWithScores(SESSION_INDEX_PREFIX + userId, 0, -1);
+        if (entries == null || entries.isEmpty()) {
+            return Collections.emptyList();
+        }
+        HashOperations<String, String, byte[]> hashOperations = redisTemplate.opsForHash();
+        Map<String, byte[]> infos = hashOperations.entries(SESSION_INFO_PREFIX + userId);
+        long activeSince = System.currentTimeMillis() - tokenProperties.getExpire().toMillis();
+        List<SessionDTO> sessions = new ArrayList<>(entries.size());
+        for (ZSetOperations.TypedTuple<byte[]> entry : entries) {
+            if (entry.getValue() == null || entry.getScore() == null || entry.getScore() < activeSince) {
+                continue;
+            }
+            String token = new String(entry.getValue(), StandardCharsets.UTF_8);
+            byte[] info = infos.get(token);
+            SessionDTO session = info == null ? new SessionDTO() : JSON.parseObject(info, SessionDTO.class);
+            session.setSessionId(sessionId(token));
+            session.setLastActiveTime(new Date(entry.getScore().longValue()));
+            session.setCurrent(token.equals(currentToken));
+            sessions.add(session);
+        }
+        return sessions;
+    }
+
+    /**
+     * 吊销用户的指定会话
+     *
+     * @param userId    用户 ID
+     * @param sessionId 会话 ID
+     * @return 是否找到并吊销
+     */
+    public boolean revokeSession(@NonNull Long userId, @NonNull String sessionId) {
+        Set<byte[]> members = redisTemplate.opsForZSet().range(SESSION_INDEX_PREFIX + userId, 0, -1);
+        if (members == null) {
+            return false;
+        }
+        for (byte[] member : members) {
+            String token = new String(member, StandardCharsets.UTF_8);
+            if (sessionId(token).equals(sessionId)) {
+                deleteSession(userId, token);
+                invalidationBroadcaster.publishTokenInvalidation(token);
+                log.info("Session revoked, userId: {}, sessionId: {}", userId, sessionId);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 吊销用户的全部会话（封禁、删除用户时调用）
+     * 不透明 Token 按会话索引逐个删除；签名 Token 记录吊销时间点，此前签发的全部失效
+     *
+     * @param userId 用户 ID
+     * @return 吊销的不透明 Token 数量
+     */
+    public int revokeAllSessions(@NonNull Long userId) {
+        int count = revokeSessions(Collections.singletonList(userId));
+        // 按用户清除各节点的近端缓存（同时覆盖不透明 Token 和签名 Token）
+        invalidationBroadcaster.publishUserInvalidation(userId);
+        log.info("All sessions revoked, userId: {}, count: {}", userId, count);
+        return count;
+    }
+
+    /**
+     * 批量吊销多个用户的全部会话（批量封禁、删除时调用）
+     * 一次脚本调用处理全部用户，近端缓存失效合并为一条广播
+     *
+     * @param userIds 用户 ID
+     * @return 吊销的不透明 Token 数量
+     */
+    public int revokeAllSessions(@NonNull Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        int count = revokeSessions(userIds);
+        invalidationBroadcaster.publishUsersInvalidation(userIds);
+        log.info("All sessions revoked for {} users, count: {}", userIds.size(), count);
+        return count;
+    }
+
+    private int revokeSessions(Collection<Long> userIds) {
+        List<String> keys = new ArrayList<>(userIds.size() * 3);
+        for (Long userId : userIds) {
+            keys.add(SESSION_INDEX_PREFIX + userId);
+            keys.add(SESSION_INFO_PREFIX + userId);
+            keys.add(REVOKED_BEFORE_PREFIX + userId);
+        }
+        List<?> revoked = redisTemplate.execute(REVOKE_SESSIONS_SCRIPT,
+                RedisSerializer.byteArray(),
+                RAW_RESULT_SERIALIZER,
+                keys,
+                bytes(tokenProperties.getExpire().toMillis()));
+        if (revoked == null || revoked.isEmpty()) {
+            return 0;
+        }
+        redisTemplate.delete(decodeTokens(revoked));
+        return revoked.size();
+    }
+
+    /**
+     * 标记用户数据已变更（每次写用户数据后调用）
+     * 此后访问的会话会从用户缓存重新加载用户信息，不需要逐个改写会话
+     *
+     * @param userId 用户 ID
+     */
+    public void bumpUserVersion(@NonNull Long userId) {
+        bumpUserVersions(Collections.singletonList(userId));
+    }
+
+    /**
+     * 批量标记用户数据已变更，一次脚本调用写入全部用户的版本
+     *
+     * @param userIds 用户 ID
+     */
+    public void bumpUserVersions(@NonNull Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            keys.add(USER_VERSION_PREFIX + userId);
+        }
+        try {
+            // 版本只需保留到该时间点之前写入的会话都完成刷新：会话每个过期周期内至少访问一次，保留两个周期足够
+            redisTemplate.execute(BUMP_VERSION_SCRIPT,
+                    RedisSerializer.byteArray(),
+                    new GenericToStringSerializer<>(Long.class),
+                    keys,
+                    bytes(tokenProperties.getExpire().toMillis() * 2));
+        } catch (Exception e) {
+            log.error("Failed to bump user version, userIds: {}", userIds, e);
+        }
+    }
+
+    /**
+     * 全员下线：推进全局纪元，此前登录的会话（包括签名 Token）全部失效
+     */
+    public void revokeAllUsersSessions() {
+        redisTemplate.execute(BUMP_VERSION_SCRIPT,
+                RedisSerializer.byteArray(),
+                new GenericToStringSerializer<>(Long.class),
+                Collections.singletonList(SESSION_EPOCH_KEY),
+                bytes(0));
+        invalidationBroadcaster.publishAllTokensInvalidation();
+        log.warn("Session epoch advanced, all sessions revoked");
+    }
+
+    /**
+     * 计算会话 ID（不向客户端暴露 Token 本身）
+     *
+     * @param token Token
+     * @return 会话 ID
+     */
+    public static String sessionId(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest).substring(0, SESSION_ID_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void deleteSession(Long userId, String token) {
+        redisTemplate.execute(DELETE_SESSION_SCRIPT,
+                RedisSerializer.byteArray(),
+                new GenericToStringSerializer<>(Long.class),
+                List.of(token, SESSION_INDEX_PREFIX + userId, SESSION_INFO_PREFIX + userId));
+    }
+
+    /**
+     * 旧格式 Token 续期后刷新会话索引中的最近活跃时间，失败不影响本次验证
+     * 新格式 Token 在验证脚本内同时刷新
+     */
+    private void touchSession(Long userId, String token) {
+        try {
+            redisTemplate.execute(TOUCH_SESSION_SCRIPT,
+                    RedisSerializer.byteArray(),
+                    new GenericToStringSerializer<>(Long.class),
+                    List.of(SESSION_INDEX_PREFIX + userId, SESSION_INFO_PREFIX + userId),
+                    bytes(token),
+                    bytes(System.currentTimeMillis()),
+                    bytes(tokenProperties.getExpire().toMillis()));
+        } catch (Exception e) {
+            log.warn("Failed to touch session index, userId: {}, reason: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 刷新过时的会话：从用户缓存加载最新数据，以读取前的时间作为新版本戳写回
+     * 读取期间如果再次发生变更，版本时间晚于新版本戳，下次访问会再次刷新
+     *
+     * @param token    Token
+     * @param userId   用户 ID
+     * @param issuedAt 登录时间（毫秒）
+     * @param stampAt  新版本戳（毫秒）
+     * @return 最新的用户信息，用户已不存在或被封禁时返回 null
+     */
+    private UserDTO refreshSession(String token, Long userId, Long issuedAt, Long stampAt) {
+        sessionRefreshedCounter.increment();
+        UserDTO user = loadFreshUser(userId);
+        if (user == null) {
+            deleteSession(userId, token);
+            return null;
+        }
+        byte[] sessionData = sessionCodecRegistry.encode(user);
+        if (sessionData != null) {
+            redisTemplate.execute(REFRESH_SESSION_SCRIPT,
+                    RedisSerializer.byteArray(),
+                    new GenericToStringSerializer<>(Long.class),
+                    Collections.singletonList(token),
+                    sessionData,
+                    bytes(userId),
+                    bytes(issuedAt),
+                    bytes(stampAt));
+        }
+        return user;
     }
-}
 
+    /**
+     * 加载最新的用户信息
+     * 先清除本节点的用户缓存（失效广播可能尚未到达），Redis 中的缓存在写用户数据时已同步删除
+     *
+     * @param userId 用户 ID
+     * @return 用户信息，不存在或被封禁时返回 null
+     */
+    private UserDTO loadFreshUser(Long userId) {
+        userCache.onUserInvalidated(userId);
+        User user = userService.getSafetyUserById(userId);
+        if (user == null || STATUS_BANNED.equals(user.getUserStatus())) {
+            return null;
+        }
+        return UserConvertor.toDTO(user);
+    }
+
+    /**
+     * 从会话头部读取用户 ID，旧版本会话没有头部时解码会话内容
+     */
+    private Long sessionUserId(byte[] sessionData) {
+        if (startsWith(sessionData, ENVELOPE_PREFIX)) {
+            int end = ENVELOPE_PREFIX.length;
+            while (end < sessionData.length && sessionData[end] != ':') {
+                end++;
+            }
+            return Long.valueOf(new String(sessionData, ENVELOPE_PREFIX.length, end - ENVELOPE_PREFIX.length,
+                    StandardCharsets.UTF_8));
+        }
+        UserDTO user = sessionCodecRegistry.decode(sessionData);
+        return user == null ? null : user.getId();
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Timer verifyTimer(String mode, String result) {
+        return Timer.builder("userhub.token.verify")
+                .description("Token 校验耗时（含近端缓存命中）")
+                .tag("mode", mode)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                // 下限 10 微秒：近端缓存命中和签名校验都在微秒级
+                .minimumExpectedValue(Duration.ofNanos(10_000))
+                .maximumExpectedValue(Duration.ofSeconds(1))
+                .register(meterRegistry);
+    }
+
+    /**
+     * 解码脚本返回的 Token 列表
+     */
+    private static List<String> decodeTokens(List<?> tokens) {
+        List<String> result = new ArrayList<>(tokens.size());
+        for (Object token : tokens) {
+            result.add(new String((byte[]) token, StandardCharsets.UTF_8));
+        }
+        return result;
+    }
+
+    /**
+     * 签名 Token 是否在指定时间点（含）之前签发
+     */
+    private static boolean issuedNotAfter(SignedTokenCodec.Claims claims, byte[] timestamp) {
+        return timestamp != null
+                && claims.issuedAt() <= Long.parseLong(new String(timestamp, StandardCharsets.UTF_8));
+    }
+
+    private static byte[] bytes(Object value) {
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void revokeSignedToken(String token) {
+        SignedTokenCodec.Claims claims = signedTokenCodec == null ? null : signedTokenCodec.verify(token);
+        if (claims == null) {
+            return;
+        }
+        long remaining = claims.expiresAt() - System.currentTimeMillis();
+        if (remaining <= 0) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(REVOKED_PREFIX + claims.jti(), REVOKED_MARKER, remaining, TimeUnit.MILLISECONDS);
+            log.info("Token revoked successfully: {}", token);
+        } catch (Exception e) {
+            log.error("Failed to revoke token", e);
+        }
+    }
+
+    private boolean isSignedMode() {
+        return MODE_SIGNED.equalsIgnoreCase(tokenProperties.getMode());
+    }
+}
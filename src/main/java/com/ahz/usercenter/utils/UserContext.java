@@ -2,16 +2,31 @@ package com.ahz.usercenter.utils;
 
 import com.ahz.usercenter.model.dto.UserDTO;
 
+import java.util.concurrent.Callable;
+
 /**
  * 用户上下文工具类
- * 使用 ThreadLocal 保存当前登录用户信息，方便在 Service 层获取
+ * 保存当前登录用户信息，方便在 Service 层获取
+ * <p>
+ * 上下文按作用域绑定：请求进入时由 UserContextFilter 建立作用域，请求结束时作用域自动失效，不需要手动清除；
+ * 作用域基于 ThreadLocal，嵌套作用域结束时恢复外层作用域。
+ * 提交到线程池的任务通过 {@link #wrap(Runnable)}（或 ContextTaskDecorator）继承提交时的用户。
+ * 不在任何作用域内调用 {@link #set(UserDTO)} 时（如单元测试），退回当前线程的 ThreadLocal，需要调用 {@link #clear()} 清除
  *
  * @author ahz
- * @version 2.0
+ * @version 3.1.0
  */
 public class UserContext {
 
-    private static final ThreadLocal<UserDTO> userHolder = new ThreadLocal<>();
+    /**
+     * 作用域存储
+     */
+    private static final ContextStorage storage = ContextStorage.create();
+
+    /**
+     * 作用域之外的退回存储
+     */
+    private static final ThreadLocal<Scope> fallback = new ThreadLocal<>();
 
     /**
      * 设置当前用户
@@ -19,7 +34,15 @@ public class UserContext {
      * @param user 用户信息
      */
     public static void set(UserDTO user) {
-        userHolder.set(user);
+        Scope scope = storage.current();
+        if (scope == null) {
+            scope = fallback.get();
+            if (scope == null) {
+                scope = new Scope(null);
+                fallback.set(scope);
+            }
+        }
+        scope.user = user;
     }
 
     /**
@@ -28,7 +51,8 @@ public class UserContext {
      * @return 用户信息
      */
     public static UserDTO get() {
-        return userHolder.get();
+        Scope scope = currentScope();
+        return scope != null ? scope.user : null;
     }
 
     /**
@@ -37,16 +61,113 @@ public class UserContext {
      * @return 用户 ID
      */
     public static Long getUserId() {
-        UserDTO user = userHolder.get();
+        UserDTO user = get();
         return user != null ? user.getId() : null;
     }
 
     /**
      * 清除当前用户信息
-     * 注意：在请求结束后必须调用，避免内存泄漏
+     * 在作用域内只清除用户，作用域本身随请求结束失效
      */
     public static void clear() {
-        userHolder.remove();
+        Scope scope = storage.current();
+        if (scope != null) {
+            scope.user = null;
+        }
+        fallback.remove();
+    }
+
+    /**
+     * 创建新的（空）作用域
+     *
+     * @return 作用域
+     */
+    public static Scope newScope() {
+        return new Scope(null);
+    }
+
+    /**
+     * 在指定作用域内执行任务，任务结束后作用域自动解绑
+     *
+     * @param scope 作用域
+     * @param task  任务
+     * @param <E>   任务抛出的受检异常类型
+     * @throws E 任务抛出的异常
+     */
+    public static <E extends Exception> void runInScope(Scope scope, ScopedTask<E> task) throws E {
+        storage.run(scope, task);
+    }
+
+    /**
+     * 包装任务：执行时绑定提交时的用户
+     *
+     * @param task 任务
+     * @return 包装后的任务，提交时没有用户则返回原任务
+     */
+    public static Runnable wrap(Runnable task) {
+        UserDTO user = get();
+        if (user == null) {
+            return task;
+        }
+        return () -> storage.run(new Scope(user), task::run);
+    }
+
+    /**
+     * 包装任务：执行时绑定提交时的用户
+     *
+     * @param task 任务
+     * @param <T>  返回值类型
+     * @return 包装后的任务，提交时没有用户则返回原任务
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        UserDTO user = get();
+        if (user == null) {
+            return task;
+        }
+        return () -> {
+            Object[] result = new Object[1];
+            storage.run(new Scope(user), () -> result[0] = task.call());
+            @SuppressWarnings("unchecked")
+            T value = (T) result[0];
+            return value;
+        };
+    }
+
+    /**
+     * 当前存储实现的名称（thread-local）
+     *
+     * @return 名称
+     */
+    public static String storageName() {
+        return storage.name();
     }
-}
 
+    private static Scope currentScope() {
+        Scope scope = storage.current();
+        return scope != null ? scope : fallback.get();
+    }
+
+    /**
+     * 一次请求（或一个异步任务）的上下文
+     * 作用域先于认证建立，拦截器认证通过后再写入用户，因此用户字段可变
+     */
+    public static final class Scope {
+
+        private volatile UserDTO user;
+
+        Scope(UserDTO user) {
+            this.user = user;
+        }
+    }
+
+    /**
+     * 在作用域内执行的任务
+     *
+     * @param <E> 受检异常类型
+     */
+    @FunctionalInterface
+    public interface ScopedTask<E extends Exception> {
+
+        void run() throws E;
+    }
+}
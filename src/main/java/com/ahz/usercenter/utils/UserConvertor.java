@@ -1,31 +1,79 @@
 package com.ahz.usercenter.utils;
 
 import com.ahz.usercenter.model.domain.User;
+import com.ahz.usercenter.model.domain.request.AdminUpdateUserRequest;
+import com.ahz.usercenter.model.domain.request.UserUpdateRequest;
 import com.ahz.usercenter.model.dto.UserDTO;
-import org.springframework.beans.BeanUtils;
+import org.mapstruct.factory.Mappers;
 
 /**
  * 用户对象转换工具类
- * 将 User 转换为 UserDTO（脱敏）
+ * 将 User 转换为 UserDTO（脱敏）、生成脱敏副本，以及把更新请求转换为部分更新的 User；
+ * 转换代码由 MapStruct 在编译期生成（见 UserMapping、UserUpdateMapping），运行时不使用反射
  *
  * @author ahz
- * @version 2.1
+ * @version 3.1.0
  */
 public class UserConvertor {
 
+    private static final UserMapping USER_MAPPING = Mappers.getMapper(UserMapping.class);
+
+    private static final UserUpdateMapping UPDATE_MAPPING = Mappers.getMapper(UserUpdateMapping.class);
+
     /**
      * 将 User 转换为 UserDTO
+     * UserDTO 不含敏感字段，原始实体可直接转换，不需要先经过 {@link #toSafetyUser(User)}
      *
      * @param user 用户实体
      * @return 用户 DTO
      */
     public static UserDTO toDTO(User user) {
-        if (user == null) {
-            return null;
-        }
-        UserDTO userDTO = new UserDTO();
-        BeanUtils.copyProperties(user, userDTO);
-        return userDTO;
+        return USER_MAPPING.toDTO(user);
+    }
+
+    /**
+     * 将 User 转换为管理员接口使用的 UserDTO（包含最近登录时间、IP 和登录次数）
+     *
+     * @param user 用户实体
+     * @return 用户 DTO
+     */
+    public static UserDTO toAdminDTO(User user) {
+        return USER_MAPPING.toAdminDTO(user);
+    }
+
+    /**
+     * 生成脱敏副本（不含密码、更新时间和逻辑删除标记）
+     *
+     * @param user 用户实体
+     * @return 脱敏后的用户
+     */
+    public static User toSafetyUser(User user) {
+        return USER_MAPPING.toSafetyUser(user);
     }
-}
 
+    /**
+     * 用户本人的更新请求 → 部分更新的 User
+     *
+     * @param request 更新请求
+     * @param userId  用户 ID
+     * @return 只包含 ID 和已提供字段的 User
+     */
+    public static User fromUpdateRequest(UserUpdateRequest request, Long userId) {
+        User user = UPDATE_MAPPING.fromUpdateRequest(request);
+        user.setId(userId);
+        return user;
+    }
+
+    /**
+     * 管理员的更新请求 → 部分更新的 User
+     *
+     * @param request 更新请求
+     * @param userId  用户 ID
+     * @return 只包含 ID 和已提供字段的 User
+     */
+    public static User fromUpdateRequest(AdminUpdateUserRequest request, Long userId) {
+        User user = UPDATE_MAPPING.fromAdminUpdateRequest(request);
+        user.setId(userId);
+        return user;
+    }
+}
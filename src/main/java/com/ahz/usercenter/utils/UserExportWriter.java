@@ -0,0 +1,141 @@
+package com.ahz.usercenter.utils;
+
+import com.ahz.usercenter.model.dto.UserDTO;
+import com.alibaba.fastjson2.JSON;
+
+import java.io.BufferedOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * 用户导出的流式写出器
+ * 逐个用户写出 NDJSON 或 CSV，只缓冲固定大小的字节，缓冲区满时写入下游输出流
+ * <p>
+ * CSV 首行为表头（与 {@link UserDTO} 的字段名相同），包含逗号、双引号或换行的字段用双引号包裹，双引号写为 ""
+ * 以 = + - @ 制表符或回车开头的字段会被电子表格当作公式执行，写出时加 ' 前缀并用双引号包裹
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+public class UserExportWriter implements Flushable {
+
+    private static final String CSV_HEADER = "id,userAccount,username,avatarUrl,gender,phone,email,userStatus,userRole,createTime,"
+            + "lastLoginTime,lastLoginIp,loginCount\n";
+
+    private static final DateTimeFormatter CSV_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+            .withZone(ZoneId.systemDefault());
+
+    private static final byte NEW_LINE = '\n';
+
+    private final OutputStream output;
+
+    private final boolean csv;
+
+    private final StringBuilder line = new StringBuilder(256);
+
+    private UserExportWriter(OutputStream output, boolean csv) {
+        this.output = new BufferedOutputStream(output, 16 * 1024);
+        this.csv = csv;
+    }
+
+    /**
+     * 创建写出器，CSV 会先写出表头
+     *
+     * @param output 输出流（不会被关闭）
+     * @param format 格式：csv / ndjson
+     * @return 写出器
+     * @throws IOException 写出失败
+     */
+    public static UserExportWriter open(OutputStream output, String format) throws IOException {
+        boolean csv = UserImportReader.FORMAT_CSV.equals(format);
+        UserExportWriter writer = new UserExportWriter(output, csv);
+        if (csv) {
+            writer.output.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+        return writer;
+    }
+
+    /**
+     * 写出一个用户
+     *
+     * @param user 用户
+     * @throws IOException 写出失败（如客户端断开）
+     */
+    public void write(UserDTO user) throws IOException {
+        if (!csv) {
+            output.write(JSON.toJSONBytes(user));
+            output.write(NEW_LINE);
+            return;
+        }
+        line.setLength(0);
+        line.append(user.getId()).append(',');
+        appendCsv(user.getUserAccount()).append(',');
+        appendCsv(user.getUsername()).append(',');
+        appendCsv(user.getAvatarUrl()).append(',');
+        appendCsv(user.getGender()).append(',');
+        appendCsv(user.getPhone()).append(',');
+        appendCsv(user.getEmail()).append(',');
+        appendCsv(user.getUserStatus()).append(',');
+        appendCsv(user.getUserRole()).append(',');
+        appendTime(user.getCreateTime()).append(',');
+        appendTime(user.getLastLoginTime()).append(',');
+        appendCsv(user.getLastLoginIp()).append(',');
+        if (user.getLoginCount() != null) {
+            line.append(user.getLoginCount());
+        }
+        line.append('\n');
+        output.write(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    private StringBuilder appendTime(Date time) {
+        return time != null ? line.append(CSV_TIME.format(time.toInstant())) : line;
+    }
+
+    private StringBuilder appendCsv(String value) {
+        if (value == null) {
+            return line;
+        }
+        boolean formula = isFormulaStart(value);
+        boolean quote = formula;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            return line.append(value);
+        }
+        line.append('"');
+        if (formula) {
+            line.append('\'');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        return line.append('"');
+    }
+
+    /**
+     * 是否以电子表格会解析为公式的字符开头（CSV 注入）
+     */
+    private static boolean isFormulaStart(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char c = value.charAt(0);
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+}
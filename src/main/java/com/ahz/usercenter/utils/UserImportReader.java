@@ -0,0 +1,274 @@
+package com.ahz.usercenter.utils;
+
+import com.ahz.usercenter.common.ErrorCode;
+import com.ahz.usercenter.exception.BusinessException;
+import com.ahz.usercenter.model.domain.request.UserImportRow;
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONException;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * 批量导入文件的流式读取器
+ * 逐行读取 CSV 或 NDJSON，任意时刻只持有当前一行，文件大小不影响内存占用
+ * <p>
+ * CSV：首行为表头（列名与 {@link UserImportRow} 的字段名相同，不区分大小写），字段可用双引号包裹，
+ * 双引号内的 "" 表示一个双引号，不支持跨行字段；NDJSON：每行一个 JSON 对象，空行忽略
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+public class UserImportReader implements Closeable {
+
+    public static final String FORMAT_CSV = "csv";
+
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    /**
+     * CSV 列名到字段的写入方法
+     */
+    private static final Map<String, BiConsumer<UserImportRow, String>> CSV_COLUMNS = new HashMap<>();
+
+    static {
+        CSV_COLUMNS.put("useraccount", UserImportRow::setUserAccount);
+        CSV_COLUMNS.put("userpassword", UserImportRow::setUserPassword);
+        CSV_COLUMNS.put("passwordhash", UserImportRow::setPasswordHash);
+        CSV_COLUMNS.put("username", UserImportRow::setUsername);
+        CSV_COLUMNS.put("avatarurl", UserImportRow::setAvatarUrl);
+        CSV_COLUMNS.put("gender", UserImportRow::setGender);
+        CSV_COLUMNS.put("phone", UserImportRow::setPhone);
+        CSV_COLUMNS.put("email", UserImportRow::setEmail);
+        CSV_COLUMNS.put("userstatus", UserImportRow::setUserStatus);
+        CSV_COLUMNS.put("userrole", UserImportRow::setUserRole);
+    }
+
+    private final BufferedReader reader;
+
+    private final boolean csv;
+
+    /**
+     * CSV 各列对应的写入方法（按列顺序）
+     */
+    private List<BiConsumer<UserImportRow, String>> columns;
+
+    private long lineNumber;
+
+    private UserImportRow row;
+
+    private String error;
+
+    private UserImportReader(InputStream input, boolean csv) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.csv = csv;
+    }
+
+    /**
+     * 打开读取器，CSV 会立即读取并校验表头
+     *
+     * @param input  输入流
+     * @param format 格式：csv / ndjson
+     * @return 读取器
+     * @throws IOException 读取失败
+     */
+    public static UserImportReader open(InputStream input, String format) throws IOException {
+        boolean csv = FORMAT_CSV.equals(format);
+        if (!csv && !FORMAT_NDJSON.equals(format)) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "不支持的导入格式，仅支持 csv 和 ndjson");
+        }
+        UserImportReader reader = new UserImportReader(input, csv);
+        if (csv) {
+            reader.readHeader();
+        }
+        return reader;
+    }
+
+    /**
+     * 按请求参数或 Content-Type 确定导入格式
+     *
+     * @param format      请求参数中的格式（可选）
+     * @param contentType 请求的 Content-Type（可选）
+     * @return csv / ndjson，无法确定时返回 null
+     */
+    public static String resolveFormat(String format, String contentType) {
+        if (StringUtils.isNotBlank(format)) {
+            return format.trim().toLowerCase(Locale.ROOT);
+        }
+        if (contentType == null) {
+            return null;
+        }
+        String type = contentType.toLowerCase(Locale.ROOT);
+        if (type.contains("csv")) {
+            return FORMAT_CSV;
+        }
+        if (type.contains("ndjson") || type.contains("jsonl") || type.contains("json-seq")) {
+            return FORMAT_NDJSON;
+        }
+        return null;
+    }
+
+    /**
+     * 读取下一条数据
+     * 解析失败的行同样返回 true，此时 {@link #row()} 为 null，{@link #error()} 为错误原因
+     *
+     * @return 是否还有数据
+     * @throws IOException 读取失败
+     */
+    public boolean next() throws IOException {
+        row = null;
+        error = null;
+        String line;
+        do {
+            line = readLine();
+            if (line == null) {
+                return false;
+            }
+        } while (line.isBlank());
+        if (csv) {
+            parseCsv(line);
+        } else {
+            parseJson(line);
+        }
+        return true;
+    }
+
+    /**
+     * 当前数据的行号（从 1 开始，CSV 包括表头行）
+     */
+    public long line() {
+        return lineNumber;
+    }
+
+    /**
+     * 当前数据，解析失败时为 null
+     */
+    public UserImportRow row() {
+        return row;
+    }
+
+    /**
+     * 当前行的解析错误，解析成功时为 null
+     */
+    public String error() {
+        return error;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        String header = readLine();
+        if (header == null || header.isBlank()) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "CSV 文件缺少表头");
+        }
+        List<String> names = splitCsv(header);
+        if (names == null) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "CSV 表头格式错误");
+        }
+        columns = new ArrayList<>(names.size());
+        for (String name : names) {
+            BiConsumer<UserImportRow, String> setter = CSV_COLUMNS.get(name.trim().toLowerCase(Locale.ROOT));
+            if (setter == null) {
+                throw new BusinessException(ErrorCode.PARAMS_ERROR, "CSV 表头包含未知列: " + name.trim());
+            }
+            columns.add(setter);
+        }
+        if (!columns.contains(CSV_COLUMNS.get("useraccount"))) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "CSV 表头缺少 userAccount 列");
+        }
+    }
+
+    private void parseCsv(String line) {
+        List<String> values = splitCsv(line);
+        if (values == null) {
+            error = "CSV 引号不匹配";
+            return;
+        }
+        if (values.size() != columns.size()) {
+            error = "列数与表头不一致";
+            return;
+        }
+        UserImportRow parsed = new UserImportRow();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i);
+            if (!value.isEmpty()) {
+                columns.get(i).accept(parsed, value);
+            }
+        }
+        row = parsed;
+    }
+
+    private void parseJson(String line) {
+        try {
+            row = JSON.parseObject(line, UserImportRow.class);
+            if (row == null) {
+                error = "JSON 格式错误";
+            }
+        } catch (JSONException e) {
+            error = "JSON 格式错误";
+        }
+    }
+
+    private String readLine() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNumber++;
+        // 去掉 UTF-8 BOM（部分表格软件导出的 CSV 带 BOM）
+        if (lineNumber == 1 && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+            line = line.substring(1);
+        }
+        return line;
+    }
+
+    /**
+     * 拆分一行 CSV
+     *
+     * @param line 行内容
+     * @return 字段列表，引号不匹配时返回 null
+     */
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    current.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else if (c != '\r') {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        values.add(current.toString());
+        return values;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ahz.usercenter.utils;
+
+import com.ahz.usercenter.model.domain.User;
+import com.ahz.usercenter.model.dto.UserDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * 用户对象转换（编译期由 MapStruct 生成 UserMappingImpl，逐字段调用 getter/setter，不使用反射）
+ * 目标对象新增字段而未映射时编译失败，避免漏拷贝或误拷贝敏感字段
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Mapper(unmappedTargetPolicy = ReportingPolicy.ERROR)
+interface UserMapping {
+
+    /**
+     * User → UserDTO（UserDTO 不含密码等敏感字段，一次复制即完成脱敏）
+     * 不复制登录统计：该 DTO 会写入会话并返回给用户本人
+     *
+     * @param user 用户实体
+     * @return 用户 DTO
+     */
+    @Mapping(target = "lastLoginTime", ignore = true)
+    @Mapping(target = "lastLoginIp", ignore = true)
+    @Mapping(target = "loginCount", ignore = true)
+    UserDTO toDTO(User user);
+
+    /**
+     * User → UserDTO（管理员接口，包含登录统计）
+     *
+     * @param user 用户实体
+     * @return 用户 DTO
+     */
+    UserDTO toAdminDTO(User user);
+
+    /**
+     * 脱敏副本：不复制密码、更新时间和逻辑删除标记
+     *
+     * @param user 用户实体
+     * @return 脱敏后的用户
+     */
+    @Mapping(target = "userPassword", ignore = true)
+    @Mapping(target = "updateTime", ignore = true)
+    @Mapping(target = "isDelete", ignore = true)
+    User toSafetyUser(User user);
+}
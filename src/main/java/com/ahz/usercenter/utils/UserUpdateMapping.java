@@ -0,0 +1,63 @@
+package com.ahz.usercenter.utils;
+
+import com.ahz.usercenter.model.domain.User;
+import com.ahz.usercenter.model.domain.request.AdminUpdateUserRequest;
+import com.ahz.usercenter.model.domain.request.UserUpdateRequest;
+import org.apache.commons.lang3.StringUtils;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Condition;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * 更新请求 → User（部分更新，编译期由 MapStruct 生成 UserUpdateMappingImpl）
+ * 请求中为 null 或空白的字段视为未提供，不写入 User，更新时保持数据库原值
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Mapper(unmappedTargetPolicy = ReportingPolicy.ERROR)
+interface UserUpdateMapping {
+
+    /**
+     * 用户本人更新资料
+     *
+     * @param request 更新请求
+     * @return 只包含已提供字段的 User
+     */
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "username")
+    @Mapping(target = "avatarUrl")
+    @Mapping(target = "gender")
+    @Mapping(target = "phone")
+    @Mapping(target = "email")
+    User fromUpdateRequest(UserUpdateRequest request);
+
+    /**
+     * 管理员更新用户（id 由调用方按路径参数设置）
+     *
+     * @param request 更新请求
+     * @return 只包含已提供字段的 User
+     */
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "username")
+    @Mapping(target = "avatarUrl")
+    @Mapping(target = "gender")
+    @Mapping(target = "phone")
+    @Mapping(target = "email")
+    @Mapping(target = "userStatus")
+    @Mapping(target = "userRole")
+    User fromAdminUpdateRequest(AdminUpdateUserRequest request);
+
+    /**
+     * 字段是否已提供（生成代码在每次赋值前调用）
+     *
+     * @param value 字段值
+     * @return 非空白时返回 true
+     */
+    @Condition
+    default boolean isProvided(String value) {
+        return StringUtils.isNotBlank(value);
+    }
+}
@@ -0,0 +1,52 @@
+package com.ahz.usercenter.validation;
+
+/**
+ * 字符集合规则
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+public enum CharRule {
+
+    /**
+     * 账号：不能包含标点和特殊符号（旧版注册、登录正则字符类的并集，另补上正则写法漏掉的方括号）
+     * 字母、数字、空格、- 和 _ 以及其他文字不受限制
+     */
+    ACCOUNT(false, "!\"#$%&'()*+,./:;<=>?@[\\]^`{|}~"
+            + "—‘’“”…、。【】"
+            + "！（），：；？￥"),
+
+    /**
+     * 电话：只允许数字、+、- 和空格
+     */
+    PHONE(true, "0123456789+- ");
+
+    /**
+     * true 表示只允许集合内的字符，false 表示禁止集合内的字符
+     */
+    private final boolean allowList;
+
+    private final CodePointSet set;
+
+    CharRule(boolean allowList, String codePoints) {
+        this.allowList = allowList;
+        this.set = CodePointSet.of(codePoints);
+    }
+
+    /**
+     * 校验字符串中的每个码点
+     *
+     * @param value 字符串
+     * @return 是否全部符合规则
+     */
+    public boolean accepts(String value) {
+        for (int i = 0, n = value.length(); i < n; ) {
+            int cp = value.codePointAt(i);
+            if (set.contains(cp) != allowList) {
+                return false;
+            }
+            i += Character.charCount(cp);
+        }
+        return true;
+    }
+}
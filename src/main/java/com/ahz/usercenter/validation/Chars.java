@@ -0,0 +1,21 @@
+package com.ahz.usercenter.validation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 字符集合规则
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Chars {
+
+    CharRule value();
+
+    String message() default "参数包含非法字符";
+}
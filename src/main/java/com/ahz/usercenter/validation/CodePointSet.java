@@ -0,0 +1,35 @@
+package com.ahz.usercenter.validation;
+
+/**
+ * 码点集合（位图）
+ * 规则编译时一次性构建，校验时按码点查表，不分配对象
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+final class CodePointSet {
+
+    private final long[] words;
+
+    private CodePointSet(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * 由字符串中的全部码点构建集合
+     *
+     * @param codePoints 码点
+     * @return 集合
+     */
+    static CodePointSet of(String codePoints) {
+        int max = codePoints.codePoints().max().orElse(0);
+        long[] words = new long[(max >>> 6) + 1];
+        codePoints.codePoints().forEach(cp -> words[cp >>> 6] |= 1L << cp);
+        return new CodePointSet(words);
+    }
+
+    boolean contains(int codePoint) {
+        int index = codePoint >>> 6;
+        return index < words.length && (words[index] & (1L << codePoint)) != 0;
+    }
+}
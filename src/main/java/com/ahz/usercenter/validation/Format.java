@@ -0,0 +1,21 @@
+package com.ahz.usercenter.validation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 格式规则
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Format {
+
+    FormatRule value();
+
+    String message() default "参数格式错误";
+}
@@ -0,0 +1,63 @@
+package com.ahz.usercenter.validation;
+
+/**
+ * 格式规则
+ * 只做结构检查（不做 DNS 等外部校验），不使用正则
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+public enum FormatRule {
+
+    /**
+     * 邮箱：local@domain，有且只有一个 @，域名中包含不在首尾的点，不含空白和控制字符
+     */
+    EMAIL {
+        @Override
+        public boolean accepts(String value) {
+            int at = value.indexOf('@');
+            if (at <= 0 || value.indexOf('@', at + 1) >= 0) {
+                return false;
+            }
+            int dot = value.indexOf('.', at + 2);
+            return dot > 0 && dot < value.length() - 1 && value.charAt(value.length() - 1) != '.'
+                    && noWhitespace(value);
+        }
+    },
+
+    /**
+     * http/https 地址：协议后必须有主机名，不含空白和控制字符
+     */
+    HTTP_URL {
+        @Override
+        public boolean accepts(String value) {
+            int prefix;
+            if (value.regionMatches(true, 0, "https://", 0, 8)) {
+                prefix = 8;
+            } else if (value.regionMatches(true, 0, "http://", 0, 7)) {
+                prefix = 7;
+            } else {
+                return false;
+            }
+            return value.length() > prefix && value.charAt(prefix) != '/' && noWhitespace(value);
+        }
+    };
+
+    /**
+     * 校验字符串格式
+     *
+     * @param value 字符串
+     * @return 是否符合格式
+     */
+    public abstract boolean accepts(String value);
+
+    private static boolean noWhitespace(String value) {
+        for (int i = 0, n = value.length(); i < n; i++) {
+            char c = value.charAt(i);
+            if (c <= ' ' || Character.isWhitespace(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
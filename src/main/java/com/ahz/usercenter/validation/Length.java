@@ -0,0 +1,31 @@
+package com.ahz.usercenter.validation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 字符串长度（按码点计算，与 utf8mb4 列的字符数一致）
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Length {
+
+    int min() default 0;
+
+    int max() default Integer.MAX_VALUE;
+
+    /**
+     * 短于 min 时的提示
+     */
+    String tooShort() default "参数过短";
+
+    /**
+     * 长于 max 时的提示
+     */
+    String tooLong() default "参数过长";
+}
@@ -0,0 +1,21 @@
+package com.ahz.usercenter.validation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 取值只能是给定值之一（区分大小写）
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface OneOf {
+
+    String[] value();
+
+    String message() default "参数取值不合法";
+}
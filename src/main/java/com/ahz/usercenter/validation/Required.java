@@ -0,0 +1,20 @@
+package com.ahz.usercenter.validation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 必填字段：字符串不能为空白，其他类型不能为 null
+ * 未标注的字段为可选字段，值为 null（字符串为空白）时跳过其余规则
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Required {
+
+    String message() default "参数为空";
+}
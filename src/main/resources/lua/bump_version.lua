@@ -0,0 +1,15 @@
+-- 以 Redis 服务器时间写入版本时间戳（用户版本 / 全局纪元），批量操作时一次写入多个 Key
+-- @author ahz
+-- KEYS: 版本 Key
+-- ARGV[1]: 过期时间（毫秒，0 表示不过期）
+-- 返回: 写入的时间戳（毫秒）
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+for _, key in ipairs(KEYS) do
+    if tonumber(ARGV[1]) > 0 then
+        redis.call('SET', key, now, 'PX', ARGV[1])
+    else
+        redis.call('SET', key, now)
+    end
+end
+return now
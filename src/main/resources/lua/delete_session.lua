@@ -0,0 +1,9 @@
+-- 删除会话并从用户会话索引中移除
+-- @author ahz
+-- KEYS[1]: Token
+-- KEYS[2]: 用户会话索引
+-- KEYS[3]: 用户会话信息
+-- 返回: 删除的 Token 数量
+redis.call('ZREM', KEYS[2], KEYS[1])
+redis.call('HDEL', KEYS[3], KEYS[1])
+return redis.call('DEL', KEYS[1])
@@ -0,0 +1,42 @@
+-- 登录限流：滑动窗口计数 + 递增锁定，一次调用同时检查账号和 IP
+-- @author ahz
+-- 每个维度占 3 个 KEYS：尝试记录（有序集合）、锁定标记、锁定次数
+-- ARGV[1]: 当前时间（毫秒）
+-- ARGV[2]: 本次尝试的唯一标识
+-- ARGV[3]: 锁定次数的保留时间（毫秒）
+-- 每个维度占 4 个 ARGV（从 ARGV[4] 开始）：窗口内最多尝试次数、窗口长度、首次锁定时长、最长锁定时长（毫秒）
+-- 返回: {0, 0}（放行，已记录本次尝试）或 {维度序号（从 1 开始）, 剩余锁定时间（毫秒）}
+local now = tonumber(ARGV[1])
+local dimensions = #KEYS / 3
+
+-- 已锁定的维度直接拒绝，不记录尝试
+for i = 1, dimensions do
+    local ttl = redis.call('PTTL', KEYS[i * 3 - 1])
+    if ttl > 0 then
+        return {i, ttl}
+    end
+end
+
+for i = 1, dimensions do
+    local window = KEYS[i * 3 - 2]
+    local base = 3 + (i - 1) * 4
+    local limit = tonumber(ARGV[base + 1])
+    local windowMs = tonumber(ARGV[base + 2])
+    redis.call('ZREMRANGEBYSCORE', window, '-inf', now - windowMs)
+    if redis.call('ZCARD', window) >= limit then
+        -- 超出限制：锁定时长随锁定次数翻倍，锁定后清空窗口，解锁后重新计数
+        local strikes = redis.call('INCR', KEYS[i * 3])
+        redis.call('PEXPIRE', KEYS[i * 3], ARGV[3])
+        local lockMs = math.min(tonumber(ARGV[base + 3]) * 2 ^ math.min(strikes - 1, 30), tonumber(ARGV[base + 4]))
+        redis.call('SET', KEYS[i * 3 - 1], strikes, 'PX', math.floor(lockMs))
+        redis.call('DEL', window)
+        return {i, math.floor(lockMs)}
+    end
+end
+
+for i = 1, dimensions do
+    local window = KEYS[i * 3 - 2]
+    redis.call('ZADD', window, now, ARGV[2])
+    redis.call('PEXPIRE', window, ARGV[3 + (i - 1) * 4 + 2])
+end
+return {0, 0}
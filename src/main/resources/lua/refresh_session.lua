@@ -0,0 +1,14 @@
+-- 刷新过时会话的内容和版本戳，保留剩余有效期
+-- @author ahz
+-- KEYS[1]: Token
+-- ARGV[1]: 会话内容
+-- ARGV[2]: 用户 ID
+-- ARGV[3]: 登录时间（毫秒）
+-- ARGV[4]: 版本戳（读取用户数据之前的时间，毫秒）
+-- 返回: 1（已刷新）或 0（Token 已不存在）
+local ttl = redis.call('PTTL', KEYS[1])
+if ttl <= 0 then
+    return 0
+end
+redis.call('SET', KEYS[1], '@v1:' .. ARGV[2] .. ':' .. ARGV[3] .. ':' .. ARGV[4] .. '|' .. ARGV[1], 'PX', ttl)
+return 1
@@ -0,0 +1,20 @@
+-- 吊销用户的全部会话（批量操作时一次调用处理多个用户，每个用户占 3 个 Key）
+-- @author ahz
+-- KEYS[3n+1]: 用户会话索引
+-- KEYS[3n+2]: 用户会话信息
+-- KEYS[3n+3]: 吊销时间点（在该时间之前登录的会话和签发的签名 Token 均失效）
+-- ARGV[1]: 吊销时间点的保留时间（毫秒，即 Token 最长有效期）
+-- 吊销时间点取 Redis 服务器时间，与会话头部的登录时间同一时钟，验证脚本据此拒绝此前登录的会话
+-- 返回: 被吊销的 Token 列表（只从索引中移除，Token 本身由调用方删除：脚本内不访问未通过 KEYS 传入的 Key）
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local revoked = {}
+for i = 1, #KEYS, 3 do
+    local tokens = redis.call('ZRANGE', KEYS[i], 0, -1)
+    for _, token in ipairs(tokens) do
+        revoked[#revoked + 1] = token
+    end
+    redis.call('DEL', KEYS[i], KEYS[i + 1])
+    redis.call('SET', KEYS[i + 2], now, 'PX', ARGV[1])
+end
+return revoked
@@ -0,0 +1,48 @@
+-- 存储会话并维护用户会话索引（一次往返完成写入、清理和超限淘汰）
+-- @author ahz
+-- KEYS[1]: Token
+-- KEYS[2]: 用户会话索引（ZSET，成员为 Token，分数为最近活跃时间）
+-- KEYS[3]: 用户会话信息（HASH，字段为 Token，值为登录信息）
+-- ARGV[1]: 会话内容
+-- ARGV[2]: 过期时间（毫秒）
+-- ARGV[3]: 当前时间（毫秒）
+-- ARGV[4]: 每个用户最多会话数（0 表示不限制）
+-- ARGV[5]: 登录信息
+-- ARGV[6]: 用户 ID
+-- 返回: 被淘汰的 Token 列表（只从索引中移除，Token 本身由调用方删除：脚本内不访问未通过 KEYS 传入的 Key）
+local expire = tonumber(ARGV[2])
+local now = tonumber(ARGV[3])
+local maxSessions = tonumber(ARGV[4])
+
+-- 会话头部记录用户 ID、登录时间和版本戳（均为 Redis 服务器时间），用于版本检查和全员下线
+local time = redis.call('TIME')
+local stamp = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+redis.call('SET', KEYS[1], '@v1:' .. ARGV[6] .. ':' .. stamp .. ':' .. stamp .. '|' .. ARGV[1], 'PX', expire)
+
+-- 清理已过期的会话（最近活跃时间早于一个过期周期，Token 本身已被 Redis 删除）
+local stale = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', '(' .. (now - expire))
+for _, token in ipairs(stale) do
+    redis.call('ZREM', KEYS[2], token)
+    redis.call('HDEL', KEYS[3], token)
+end
+
+redis.call('ZADD', KEYS[2], now, KEYS[1])
+redis.call('HSET', KEYS[3], KEYS[1], ARGV[5])
+
+-- 超出上限时淘汰最久未活跃的会话
+local evicted = {}
+if maxSessions > 0 then
+    local count = redis.call('ZCARD', KEYS[2])
+    if count > maxSessions then
+        evicted = redis.call('ZRANGE', KEYS[2], 0, count - maxSessions - 1)
+        for _, token in ipairs(evicted) do
+            redis.call('ZREM', KEYS[2], token)
+            redis.call('HDEL', KEYS[3], token)
+        end
+    end
+end
+
+-- 索引与最新的会话同时过期
+redis.call('PEXPIRE', KEYS[2], expire)
+redis.call('PEXPIRE', KEYS[3], expire)
+return evicted
@@ -0,0 +1,15 @@
+-- Token 续期时刷新会话索引中的最近活跃时间，并延长索引的过期时间
+-- @author ahz
+-- KEYS[1]: 用户会话索引
+-- KEYS[2]: 用户会话信息
+-- ARGV[1]: Token
+-- ARGV[2]: 当前时间（毫秒）
+-- ARGV[3]: 过期时间（毫秒）
+-- 返回: 1（已刷新）或 0（会话不在索引中）
+if not redis.call('ZSCORE', KEYS[1], ARGV[1]) then
+    return 0
+end
+redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+redis.call('PEXPIRE', KEYS[1], ARGV[3])
+redis.call('PEXPIRE', KEYS[2], ARGV[3])
+return 1
@@ -0,0 +1,14 @@
+-- 写入用户缓存（L2），加载期间发生过删除时放弃写入，避免旧数据在删除之后写回并保留整个 TTL
+-- @author ahz
+-- KEYS[1]: 用户缓存 Key
+-- KEYS[2]: 用户缓存版本 Key（每次删除缓存时递增）
+-- ARGV[1]: 加载前读取的版本（不存在时为空串）
+-- ARGV[2]: 缓存内容
+-- ARGV[3]: 过期时间（毫秒）
+-- 返回: 1 已写入，0 版本已变化未写入
+local version = redis.call('GET', KEYS[2]) or ''
+if version ~= ARGV[1] then
+    return 0
+end
+redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+return 1
@@ -0,0 +1,78 @@
+-- 验证 Token 并按需续期，同时检查吊销、会话索引和会话版本戳（一次往返完成）
+-- @author ahz
+-- 会话值格式：@v1:{用户ID}:{登录时间}:{版本戳}|{会话内容}，旧版本会话没有头部
+-- 脚本访问的 Key 全部通过 KEYS 传入
+-- KEYS[1]: Token
+-- KEYS[2]: 全局纪元 Key（值为最近一次全员下线的时间）
+-- KEYS[3]: 用户版本 Key（值为最近一次用户数据变更的时间）
+-- KEYS[4]: 用户吊销时间点 Key（值为最近一次吊销该用户全部会话的时间）
+-- KEYS[5]: 用户会话索引（ZSET，成员为 Token，分数为最近活跃时间）
+-- KEYS[6]: 用户会话信息（HASH）
+-- KEYS[3..6] 只在 Token 含用户 ID 时传入，旧格式 Token 只传 KEYS[1..2]
+-- ARGV[1]: 过期时间（毫秒）
+-- ARGV[2]: 续期阈值（毫秒），剩余有效期低于该值时才续期
+-- ARGV[3]: 当前时间（毫秒，应用节点时钟，与写入会话索引时一致）
+-- 返回: nil（Token 不存在、已吊销、已被淘汰或已被全员下线）或
+--       {会话内容, 是否续期(1/0), 是否过时(1/0/-1), 当前时间, 登录时间, 版本戳}
+-- 未传入用户 Key 时不检查吊销和会话索引、也不刷新索引，是否过时为 -1（旧版本会话为 1），由调用方检查
+local value = redis.call('GET', KEYS[1])
+if not value then
+    return nil
+end
+
+local userId, issuedAt, stampAt, payloadStart = string.match(value, '^@v1:(%d+):(%d+):(%d+)|()')
+local payload = value
+if userId then
+    issuedAt = tonumber(issuedAt)
+    stampAt = tonumber(stampAt)
+    payload = string.sub(value, payloadStart)
+else
+    issuedAt = 0
+    stampAt = 0
+end
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+-- 全员下线之前登录的会话直接删除
+local epoch = redis.call('GET', KEYS[2])
+if epoch and tonumber(epoch) >= issuedAt then
+    redis.call('DEL', KEYS[1])
+    return nil
+end
+
+local indexed = #KEYS >= 6
+local stale = -1
+if indexed then
+    -- 吊销全部会话之前登录的会话、以及已不在会话索引中的会话（被吊销或超限淘汰）直接删除：
+    -- 吊销和淘汰只需原子地修改索引，Token 本身之后由调用方删除，删除失败也不会继续有效
+    local revokedBefore = redis.call('GET', KEYS[4])
+    if (revokedBefore and tonumber(revokedBefore) >= issuedAt) or not redis.call('ZSCORE', KEYS[5], KEYS[1]) then
+        redis.call('DEL', KEYS[1])
+        return nil
+    end
+    -- 用户数据在版本戳之后有变更（或旧版本会话没有版本戳），由调用方刷新会话内容
+    stale = 1
+    if userId then
+        local version = redis.call('GET', KEYS[3])
+        if not version or tonumber(version) < stampAt then
+            stale = 0
+        end
+    end
+elseif not userId then
+    stale = 1
+end
+
+local renewed = 0
+local ttl = redis.call('PTTL', KEYS[1])
+if ttl >= 0 and ttl < tonumber(ARGV[2]) then
+    redis.call('PEXPIRE', KEYS[1], ARGV[1])
+    renewed = 1
+    if indexed then
+        -- 续期同时刷新会话索引中的最近活跃时间，索引与最新的会话同时过期
+        redis.call('ZADD', KEYS[5], ARGV[3], KEYS[1])
+        redis.call('PEXPIRE', KEYS[5], ARGV[1])
+        redis.call('PEXPIRE', KEYS[6], ARGV[1])
+    end
+end
+return {payload, renewed, stale, now, issuedAt, stampAt}
@@ -16,15 +16,41 @@ create table user
     user_account varchar(256)                       null comment '账号',
     avatar_url   varchar(1024)                      null comment '用户头像',
     gender       enum('male', 'female', 'unknown')  default 'unknown' comment '性别',
-    password_hash varchar(60)                       not null comment '密码哈希(bcrypt)',
+    password_hash varchar(255)                      not null comment '密码哈希({算法}哈希，无前缀为旧版bcrypt)',
     phone        varchar(128)                       null comment '电话',
     email        varchar(512)                       null comment '邮箱',
     status       enum('active', 'inactive', 'banned') default 'active' comment '状态',
     create_time  datetime default CURRENT_TIMESTAMP null comment '创建时间',
     update_time  datetime default CURRENT_TIMESTAMP null on update CURRENT_TIMESTAMP,
-    is_delete    tinyint  default 0                 not null comment '是否删除',
+    is_delete    bigint   default 0                 not null comment '是否删除(0-未删除，已删除时为user_id)',
     user_role    enum('user', 'admin')              default 'user' comment '用户角色',
+    last_login_time datetime                        null comment '最近登录时间',
+    last_login_ip   varchar(64)                     null comment '最近登录IP',
+    login_count     int      default 0              not null comment '登录次数',
+    unique index uk_user_account (user_account, is_delete),
     index idx_email (email),
-    index idx_phone (phone)
+    index idx_phone (phone),
+    index idx_last_login_time (last_login_time),
+    index idx_login_count (login_count),
+    fulltext index ft_user_search (username, user_account, email) with parser ngram
 )
     comment '用户';
+
+# 审计日志表（由后台线程批量写入，create_time 为事件发生时间）
+create table audit_log
+(
+    audit_id     bigint auto_increment comment '日志id' primary key,
+    event_type   varchar(64)                         not null comment '事件类型',
+    user_id      bigint                              null comment '操作人id',
+    user_account varchar(256)                        null comment '操作人账号',
+    target_id    bigint                              null comment '被操作的用户id',
+    client_ip    varchar(64)                         null comment '客户端IP',
+    success      tinyint  default 1                  not null comment '是否成功',
+    detail       varchar(1024)                       null comment '详情',
+    create_time  datetime(3) default CURRENT_TIMESTAMP(3) not null comment '事件时间',
+    index idx_create_time (create_time, audit_id),
+    index idx_user_time (user_id, create_time, audit_id),
+    index idx_target_time (target_id, create_time, audit_id),
+    index idx_event_time (event_type, create_time, audit_id)
+)
+    comment '审计日志';
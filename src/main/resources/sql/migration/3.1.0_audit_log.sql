@@ -0,0 +1,23 @@
+# 为已有数据库创建审计日志表（新库直接使用 create_table.sql）
+# @author ahz
+# @version 3.1.0
+
+use ahz_userhub;
+
+create table if not exists audit_log
+(
+    audit_id     bigint auto_increment comment '日志id' primary key,
+    event_type   varchar(64)                         not null comment '事件类型',
+    user_id      bigint                              null comment '操作人id',
+    user_account varchar(256)                        null comment '操作人账号',
+    target_id    bigint                              null comment '被操作的用户id',
+    client_ip    varchar(64)                         null comment '客户端IP',
+    success      tinyint  default 1                  not null comment '是否成功',
+    detail       varchar(1024)                       null comment '详情',
+    create_time  datetime(3) default CURRENT_TIMESTAMP(3) not null comment '事件时间',
+    index idx_create_time (create_time, audit_id),
+    index idx_user_time (user_id, create_time, audit_id),
+    index idx_target_time (target_id, create_time, audit_id),
+    index idx_event_time (event_type, create_time, audit_id)
+)
+    comment '审计日志';
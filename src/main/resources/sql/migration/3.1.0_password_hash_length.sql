@@ -0,0 +1,8 @@
+# 加宽密码哈希字段，支持 {算法}哈希 格式（Argon2 / PBKDF2 哈希长度超过 60）
+# @author ahz
+# @version 3.1.0
+
+use ahz_userhub;
+
+alter table user
+    modify password_hash varchar(255) not null comment '密码哈希({算法}哈希，无前缀为旧版bcrypt)';
@@ -0,0 +1,25 @@
+# 为已有数据库添加账号唯一索引（新库直接使用 create_table.sql）
+# 逻辑删除改为写入本行的 user_id：原来已删除记录统一为 1，同一账号删除过两次时无法建立 uk_user_account(user_account, is_delete)
+# 因此先改写已删除记录，再建立唯一索引
+# @author ahz
+# @version 3.1.0
+
+use ahz_userhub;
+
+alter table user
+    modify column is_delete bigint default 0 not null comment '是否删除(0-未删除，已删除时为user_id)';
+
+update user
+set is_delete = user_id
+where is_delete <> 0;
+
+-- 改写后只有未删除的记录可能重复；该查询只用于排查，不会中断脚本
+-- 有结果时需要先人工处理，否则下面的 alter 会因重复键失败
+select user_account, count(*)
+from user
+where is_delete = 0
+group by user_account
+having count(*) > 1;
+
+alter table user
+    add unique index uk_user_account (user_account, is_delete);
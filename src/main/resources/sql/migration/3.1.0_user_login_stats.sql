@@ -0,0 +1,12 @@
+# 为已有数据库添加登录统计字段（新库直接使用 create_table.sql）
+# @author ahz
+# @version 3.1.0
+
+use ahz_userhub;
+
+alter table user
+    add column last_login_time datetime    null comment '最近登录时间',
+    add column last_login_ip   varchar(64) null comment '最近登录IP',
+    add column login_count     int default 0 not null comment '登录次数',
+    add index idx_last_login_time (last_login_time),
+    add index idx_login_count (login_count);
@@ -0,0 +1,9 @@
+# 为已有数据库添加用户搜索全文索引（ngram 分词，支持中文和子串搜索）
+# 分词长度由 MySQL 参数 ngram_token_size 决定（默认 2），少于该长度的关键词只做账号前缀匹配
+# @author ahz
+# @version 3.1.0
+
+use ahz_userhub;
+
+alter table user
+    add fulltext index ft_user_search (username, user_account, email) with parser ngram;
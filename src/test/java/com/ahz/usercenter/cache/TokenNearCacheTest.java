@@ -0,0 +1,81 @@
+package com.ahz.usercenter.cache;
+
+import com.ahz.usercenter.config.TokenProperties;
+import com.ahz.usercenter.model.dto.UserDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Token 近端缓存测试
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+class TokenNearCacheTest {
+
+    private TokenNearCache tokenNearCache;
+
+    @BeforeEach
+    void setUp() {
+        tokenNearCache = new TokenNearCache();
+        ReflectionTestUtils.setField(tokenNearCache, "tokenProperties", new TokenProperties());
+        ReflectionTestUtils.setField(tokenNearCache, "meterRegistry", new SimpleMeterRegistry());
+        tokenNearCache.init();
+    }
+
+    private UserDTO user(long id) {
+        UserDTO user = new UserDTO();
+        user.setId(id);
+        return user;
+    }
+
+    /**
+     * 测试缓存命中
+     */
+    @Test
+    void testPutAndGet() {
+        tokenNearCache.put("token-1", user(1L));
+        assertNotNull(tokenNearCache.get("token-1"));
+        assertNull(tokenNearCache.get("token-2"));
+    }
+
+    /**
+     * 测试按 Token 失效
+     */
+    @Test
+    void testTokenInvalidation() {
+        tokenNearCache.put("token-1", user(1L));
+        tokenNearCache.onTokenInvalidated("token-1");
+        assertNull(tokenNearCache.get("token-1"));
+    }
+
+    /**
+     * 测试按用户失效 - 只清除该用户的所有 Token
+     */
+    @Test
+    void testUserInvalidation() {
+        tokenNearCache.put("token-1", user(1L));
+        tokenNearCache.put("token-2", user(1L));
+        tokenNearCache.put("token-3", user(2L));
+        tokenNearCache.onUserInvalidated(1L);
+        assertNull(tokenNearCache.get("token-1"));
+        assertNull(tokenNearCache.get("token-2"));
+        assertNotNull(tokenNearCache.get("token-3"));
+    }
+
+    /**
+     * 测试关闭近端缓存
+     */
+    @Test
+    void testDisabled() {
+        TokenProperties properties = new TokenProperties();
+        properties.getNearCache().setEnabled(false);
+        ReflectionTestUtils.setField(tokenNearCache, "tokenProperties", properties);
+        tokenNearCache.put("token-1", user(1L));
+        assertNull(tokenNearCache.get("token-1"));
+    }
+}
@@ -0,0 +1,192 @@
+package com.ahz.usercenter.cache;
+
+import com.ahz.usercenter.config.UserCacheProperties;
+import com.ahz.usercenter.model.domain.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * 用户缓存测试
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+class UserCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private UserCache userCache;
+
+    private StringRedisTemplate redisTemplate;
+
+    private ValueOperations<String, String> valueOperations;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenReturn(Arrays.asList(null, null));
+        userCache = new UserCache();
+        ReflectionTestUtils.setField(userCache, "userCacheProperties", new UserCacheProperties());
+        ReflectionTestUtils.setField(userCache, "stringRedisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(userCache, "meterRegistry", meterRegistry);
+        userCache.init();
+    }
+
+    private User load(Long id) {
+        loads.incrementAndGet();
+        User user = new User();
+        user.setId(id);
+        user.setUserAccount("user" + id);
+        return user;
+    }
+
+    /**
+     * 测试 L1 命中 - 第二次不再加载
+     */
+    @Test
+    void testLocalHit() {
+        assertEquals("user1", userCache.get(1L, this::load).getUserAccount());
+        assertEquals("user1", userCache.get(1L, this::load).getUserAccount());
+        assertEquals(1, loads.get());
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("USER_CACHE:{1}", "USER_CACHE_VERSION:{1}")),
+                eq(""), anyString(), anyString());
+    }
+
+    /**
+     * 测试 L2 命中 - 不访问数据库
+     */
+    @Test
+    void testRedisHit() {
+        when(valueOperations.multiGet(List.of("USER_CACHE:{2}", "USER_CACHE_VERSION:{2}")))
+                .thenReturn(Arrays.asList("{\"id\":2,\"userAccount\":\"cached\"}", null));
+        assertEquals("cached", userCache.get(2L, this::load).getUserAccount());
+        assertEquals(0, loads.get());
+        assertEquals(1, meterRegistry.get("userhub.user.cache.requests").tag("result", "redis_hit").counter().count());
+    }
+
+    /**
+     * 测试并发未命中 - 同一 ID 只加载一次
+     */
+    @Test
+    void testSingleFlight() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<User>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> userCache.get(3L, id -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return load(id);
+            })));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        for (CompletableFuture<User> future : futures) {
+            assertEquals(3L, future.get(5, TimeUnit.SECONDS).getId());
+        }
+        assertEquals(1, loads.get());
+        // 其余 7 个请求等待同一次加载（加载完成后才到达的计为 L1 命中）
+        double waits = meterRegistry.get("userhub.user.cache.requests").tag("result", "load_wait").counter().count();
+        double localHits = meterRegistry.get("userhub.user.cache.requests").tag("result", "local_hit").counter().count();
+        assertTrue(waits > 0);
+        assertEquals(7, waits + localHits);
+    }
+
+    /**
+     * 测试写入 L2 时带上加载前读取的缓存版本，加载期间被删除（版本变化）时由脚本放弃写入
+     */
+    @Test
+    void testWriteCarriesVersionReadBeforeLoad() {
+        when(valueOperations.multiGet(List.of("USER_CACHE:{8}", "USER_CACHE_VERSION:{8}")))
+                .thenReturn(Arrays.asList(null, "3"));
+        userCache.get(8L, this::load);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("USER_CACHE:{8}", "USER_CACHE_VERSION:{8}")),
+                eq("3"), anyString(), anyString());
+    }
+
+    /**
+     * 测试读取 L2 失败 - 从数据库加载，但无法确认版本，不写入 L2
+     */
+    @Test
+    void testRedisReadFailureSkipsWrite() {
+        when(valueOperations.multiGet(anyList())).thenThrow(new IllegalStateException("redis down"));
+        assertEquals(9L, userCache.get(9L, this::load).getId());
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    /**
+     * 测试失效通知和不存在的用户 - 重新加载，null 不缓存
+     */
+    @Test
+    void testInvalidateAndNull() {
+        userCache.get(4L, this::load);
+        userCache.onUserInvalidated(4L);
+        userCache.get(4L, this::load);
+        assertEquals(2, loads.get());
+
+        assertNull(userCache.get(5L, id -> null));
+        assertEquals(5L, userCache.get(5L, this::load).getId());
+    }
+
+    /**
+     * 测试加载异常 - 不缓存异常结果
+     */
+    @Test
+    void testLoaderFailure() {
+        assertThrows(IllegalStateException.class, () -> userCache.get(6L, id -> {
+            throw new IllegalStateException("db down");
+        }));
+        assertEquals(6L, userCache.get(6L, this::load).getId());
+    }
+
+    /**
+     * 测试加载抛出 Error - 等待中的请求同样结束，不会永远阻塞
+     */
+    @Test
+    void testLoaderError() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<User> loader = CompletableFuture.supplyAsync(() -> userCache.get(7L, id -> {
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new OutOfMemoryError("simulated");
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<User> waiter = CompletableFuture.supplyAsync(() -> userCache.get(7L, this::load));
+        Thread.sleep(100);
+        release.countDown();
+        assertThrows(ExecutionException.class, () -> loader.get(5, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(7L, userCache.get(7L, this::load).getId());
+    }
+}
@@ -0,0 +1,66 @@
+package com.ahz.usercenter.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 密码编码器配置测试
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+class SecurityConfigTest {
+
+    private PasswordEncoder encoder(String algorithm, int bcryptStrength) {
+        PasswordProperties properties = new PasswordProperties();
+        properties.setAlgorithm(algorithm);
+        properties.setBcryptStrength(bcryptStrength);
+        return new SecurityConfig().passwordEncoder(properties);
+    }
+
+    /**
+     * 测试无前缀的旧 BCrypt 哈希 - 可以校验且需要升级
+     */
+    @Test
+    void testLegacyBcryptHash() {
+        PasswordEncoder encoder = encoder("bcrypt", 4);
+        String legacyHash = new BCryptPasswordEncoder(4).encode("12345678");
+        assertTrue(encoder.matches("12345678", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+    }
+
+    /**
+     * 测试强度提高后旧哈希需要升级，当前哈希不需要
+     */
+    @Test
+    void testBcryptStrengthUpgrade() {
+        String weakHash = encoder("bcrypt", 4).encode("12345678");
+        PasswordEncoder encoder = encoder("bcrypt", 5);
+        assertTrue(encoder.matches("12345678", weakHash));
+        assertTrue(encoder.upgradeEncoding(weakHash));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("12345678")));
+    }
+
+    /**
+     * 测试切换算法 - 新哈希使用新算法，旧算法哈希仍可校验
+     */
+    @Test
+    void testSwitchAlgorithm() {
+        String bcryptHash = encoder("bcrypt", 4).encode("12345678");
+        PasswordEncoder encoder = encoder("pbkdf2", 4);
+        assertTrue(encoder.encode("12345678").startsWith("{pbkdf2}"));
+        assertTrue(encoder.matches("12345678", bcryptHash));
+        assertTrue(encoder.upgradeEncoding(bcryptHash));
+    }
+
+    /**
+     * 测试未知算法 - 启动失败
+     */
+    @Test
+    void testUnknownAlgorithm() {
+        assertThrows(IllegalStateException.class, () -> encoder("md5", 4));
+    }
+}
@@ -1,15 +1,36 @@
 package com.ahz.usercenter.controller;
 
+import com.ahz.usercenter.cache.LoginStatsBuffer;
+import com.ahz.usercenter.cache.TokenNearCache;
 import com.ahz.usercenter.common.ErrorCode;
 import com.ahz.usercenter.common.Result;
+import com.ahz.usercenter.config.MybatisPlusConfig;
+import com.ahz.usercenter.config.TokenProperties;
 import com.ahz.usercenter.exception.BusinessException;
+import com.ahz.usercenter.model.domain.User;
 import com.ahz.usercenter.model.domain.request.AdminUpdateUserRequest;
+import com.ahz.usercenter.model.domain.request.BulkUserRequest;
+import com.ahz.usercenter.model.domain.request.UserLoginRequest;
+import com.ahz.usercenter.model.domain.response.BulkOperationResponse;
+import com.ahz.usercenter.model.domain.response.CursorPageResponse;
+import com.ahz.usercenter.model.domain.response.UserImportResponse;
 import com.ahz.usercenter.model.dto.UserDTO;
+import com.ahz.usercenter.service.UserService;
+import com.ahz.usercenter.utils.TokenUtils;
+import com.alibaba.fastjson2.JSON;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 import jakarta.annotation.Resource;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,12 +47,36 @@ class AdminControllerTest {
     @Resource
     private AdminController adminController;
 
+    @Resource
+    private UserService userService;
+
+    @Resource
+    private LoginStatsBuffer loginStatsBuffer;
+
+    @Resource
+    private AuthController authController;
+
+    @Resource
+    private TokenUtils tokenUtils;
+
+    @Resource
+    private TokenProperties tokenProperties;
+
+    @Resource
+    private TokenNearCache tokenNearCache;
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Resource
+    private MeterRegistry meterRegistry;
+
     /**
      * 测试分页查询用户列表 - 正常情况
      */
     @Test
     void testGetUserList() {
-        Result<Page<UserDTO>> result = adminController.getUserList(1L, 10L, null, null, null);
+        Result<Page<UserDTO>> result = adminController.getUserList(1L, 10L, null, null, null, null, null, null, "desc");
         assertEquals(0, result.getCode());
         assertNotNull(result.getData());
         assertNotNull(result.getData().getRecords());
@@ -42,7 +87,7 @@ class AdminControllerTest {
      */
     @Test
     void testGetUserListWithDefaults() {
-        Result<Page<UserDTO>> result = adminController.getUserList(1L, 10L, null, null, null);
+        Result<Page<UserDTO>> result = adminController.getUserList(1L, 10L, null, null, null, null, null, null, "desc");
         assertEquals(0, result.getCode());
         assertNotNull(result.getData());
     }
@@ -52,7 +97,7 @@ class AdminControllerTest {
      */
     @Test
     void testGetUserListWithUsername() {
-        Result<Page<UserDTO>> result = adminController.getUserList(1L, 10L, "test", null, null);
+        Result<Page<UserDTO>> result = adminController.getUserList(1L, 10L, "test", null, null, null, null, null, "desc");
         assertEquals(0, result.getCode());
         assertNotNull(result.getData());
     }
@@ -62,7 +107,7 @@ class AdminControllerTest {
      */
     @Test
     void testGetUserListWithRole() {
-        Result<Page<UserDTO>> result = adminController.getUserList(1L, 10L, null, "user", null);
+        Result<Page<UserDTO>> result = adminController.getUserList(1L, 10L, null, "user", null, null, null, null, "desc");
         assertEquals(0, result.getCode());
         assertNotNull(result.getData());
     }
@@ -72,7 +117,7 @@ class AdminControllerTest {
      */
     @Test
     void testGetUserListWithStatus() {
-        Result<Page<UserDTO>> result = adminController.getUserList(1L, 10L, null, null, 0);
+        Result<Page<UserDTO>> result = adminController.getUserList(1L, 10L, null, null, 0, null, null, null, "desc");
         assertEquals(0, result.getCode());
         assertNotNull(result.getData());
     }
@@ -82,11 +127,152 @@ class AdminControllerTest {
      */
     @Test
     void testGetUserListWithMultipleFilters() {
-        Result<Page<UserDTO>> result = adminController.getUserList(1L, 10L, "test", "user", 0);
+        Result<Page<UserDTO>> result = adminController.getUserList(1L, 10L, "test", "user", 0, null, null, null, "desc");
         assertEquals(0, result.getCode());
         assertNotNull(result.getData());
     }
 
+    /**
+     * 测试按登录次数排序、按最近登录时间过滤，管理员接口返回登录统计
+     */
+    @Test
+    void testGetUserListSortedByLoginCount() {
+        LocalDateTime start = LocalDateTime.now().minusSeconds(1);
+        long onceId = userService.userRegister("once" + System.nanoTime(), "12345678", "12345678");
+        long twiceId = userService.userRegister("twice" + System.nanoTime(), "12345678", "12345678");
+        loginStatsBuffer.record(onceId, "10.0.0.1");
+        loginStatsBuffer.record(twiceId, "10.0.0.2");
+        loginStatsBuffer.record(twiceId, "10.0.0.2");
+        loginStatsBuffer.flush();
+
+        Result<Page<UserDTO>> result = adminController.getUserList(1L, 100L, null, null, null,
+                start, null, "loginCount", "asc");
+        List<Long> ids = result.getData().getRecords().stream().map(UserDTO::getId).toList();
+        assertTrue(ids.indexOf(onceId) >= 0 && ids.indexOf(onceId) < ids.indexOf(twiceId));
+        UserDTO twice = result.getData().getRecords().get(ids.indexOf(twiceId));
+        assertEquals(2, twice.getLoginCount());
+        assertEquals("10.0.0.2", twice.getLastLoginIp());
+
+        // 上限早于登录时间时不返回
+        Result<Page<UserDTO>> before = adminController.getUserList(1L, 100L, null, null, null,
+                null, start, "lastLoginTime", "desc");
+        assertTrue(before.getData().getRecords().stream().noneMatch(user -> user.getId() == twiceId));
+
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> adminController.getUserList(1L, 10L, null, null, null, null, null, "password", "desc"));
+        assertEquals(ErrorCode.PARAMS_ERROR.getCode(), exception.getCode());
+    }
+
+    /**
+     * 测试分页查询用户列表 - 每页大小超出上限或不为正数时返回参数错误，而不是静默截断
+     */
+    @Test
+    void testGetUserListWithInvalidSize() {
+        for (Long size : new Long[]{MybatisPlusConfig.MAX_PAGE_SIZE + 1, 0L}) {
+            BusinessException exception = assertThrows(BusinessException.class,
+                    () -> adminController.getUserList(1L, size, null, null, null, null, null, null, "desc"));
+            assertEquals(ErrorCode.PARAMS_ERROR.getCode(), exception.getCode());
+            assertEquals("每页大小无效", exception.getDescription());
+        }
+    }
+
+    /**
+     * 测试同一周期内的多次登录合并写入（次数累加、IP 取最近一次、不修改 update_time），
+     * 写入后清除用户缓存，下个周期在已有值的基础上继续累加
+     */
+    @Test
+    void testLoginStatsCoalescedFlush() {
+        long userId = userService.userRegister("stats" + System.nanoTime(), "12345678", "12345678");
+        User before = userService.getById(userId);
+        assertEquals(0, before.getLoginCount());
+        assertNull(adminController.getUserById(userId).getData().getLastLoginTime());
+
+        loginStatsBuffer.record(userId, "10.0.0.1");
+        loginStatsBuffer.record(userId, "10.0.0.2");
+        loginStatsBuffer.record(userId, "10.0.0.3");
+        loginStatsBuffer.flush();
+        UserDTO after = adminController.getUserById(userId).getData();
+        assertEquals(3, after.getLoginCount());
+        assertEquals("10.0.0.3", after.getLastLoginIp());
+        assertNotNull(after.getLastLoginTime());
+        assertEquals(before.getUpdateTime(), userService.getById(userId).getUpdateTime());
+
+        loginStatsBuffer.record(userId, "10.0.0.4");
+        loginStatsBuffer.flush();
+        UserDTO again = adminController.getUserById(userId).getData();
+        assertEquals(4, again.getLoginCount());
+        assertEquals("10.0.0.4", again.getLastLoginIp());
+    }
+
+    /**
+     * 测试游标分页查询用户列表 - 逐页翻到末尾，ID 严格递增
+     */
+    @Test
+    void testGetUserListByCursor() {
+        String cursor = null;
+        long lastId = 0;
+        for (int i = 0; i < 1000; i++) {
+            Result<CursorPageResponse<UserDTO>> result = adminController.getUserListByCursor(cursor, 2, i == 0, null, null, null, null, null);
+            assertEquals(0, result.getCode());
+            CursorPageResponse<UserDTO> data = result.getData();
+            assertTrue(data.getRecords().size() <= 2);
+            if (i == 0) {
+                assertNotNull(data.getTotal());
+            }
+            for (UserDTO user : data.getRecords()) {
+                assertTrue(user.getId() > lastId);
+                lastId = user.getId();
+            }
+            if (!data.isHasMore()) {
+                assertNull(data.getNextCursor());
+                return;
+            }
+            cursor = data.getNextCursor();
+        }
+        fail("游标分页未结束");
+    }
+
+    /**
+     * 测试游标分页查询用户列表 - 游标无效
+     */
+    @Test
+    void testGetUserListByCursorWithInvalidCursor() {
+        BusinessException exception = assertThrows(BusinessException.class, () -> {
+            adminController.getUserListByCursor("not-a-cursor", 10, false, null, null, null, null, null);
+        });
+        assertEquals(ErrorCode.PARAMS_ERROR.getCode(), exception.getCode());
+        assertEquals("游标无效", exception.getDescription());
+    }
+
+    /**
+     * 测试搜索用户 - 账号完全匹配排在最前，前缀可以搜到
+     */
+    @Test
+    void testSearchUsers() {
+        String account = "search" + System.currentTimeMillis();
+        userService.userRegister(account, "12345678", "12345678");
+
+        Result<List<UserDTO>> result = adminController.searchUsers(account, 20);
+        assertEquals(0, result.getCode());
+        assertFalse(result.getData().isEmpty());
+        assertEquals(account, result.getData().get(0).getUserAccount());
+
+        result = adminController.searchUsers(account.substring(0, 10), 100);
+        assertTrue(result.getData().stream().anyMatch(user -> account.equals(user.getUserAccount())));
+    }
+
+    /**
+     * 测试搜索用户 - 最大条数无效
+     */
+    @Test
+    void testSearchUsersWithInvalidLimit() {
+        BusinessException exception = assertThrows(BusinessException.class, () -> {
+            adminController.searchUsers("test", 0);
+        });
+        assertEquals(ErrorCode.PARAMS_ERROR.getCode(), exception.getCode());
+        assertEquals("最大条数无效", exception.getDescription());
+    }
+
     /**
      * 测试获取单个用户信息 - 正常情况
      */
@@ -304,6 +490,20 @@ class AdminControllerTest {
         }
     }
 
+    /**
+     * 测试同一账号多次删除：删除 → 重新注册 → 再删除（已删除记录的 is_delete 各不相同，不违反唯一索引）
+     */
+    @Test
+    void testDeleteReRegisteredAccount() {
+        String account = "redel" + System.nanoTime();
+        long firstId = userService.userRegister(account, "12345678", "12345678");
+        assertTrue(adminController.deleteUser(firstId).getData());
+        long secondId = userService.userRegister(account, "12345678", "12345678");
+        assertNotEquals(firstId, secondId);
+        assertTrue(adminController.deleteUser(secondId).getData());
+        assertTrue(userService.userRegister(account, "12345678", "12345678") > secondId);
+    }
+
     /**
      * 测试删除用户 - 用户ID为null
      */
@@ -339,5 +539,225 @@ class AdminControllerTest {
         assertEquals(ErrorCode.PARAMS_ERROR.getCode(), exception.getCode());
         assertEquals("用户ID无效", exception.getDescription());
     }
-}
 
+    /**
+     * 测试批量修改状态 - 按请求顺序返回每个用户的结果，重复ID只处理一次
+     */
+    @Test
+    void testBulkUpdateUsers() {
+        long suffix = System.nanoTime();
+        long first = userService.userRegister("bulk" + suffix + "a", "12345678", "12345678");
+        long second = userService.userRegister("bulk" + suffix + "b", "12345678", "12345678");
+        BulkUserRequest request = new BulkUserRequest();
+        request.setAction("status");
+        request.setValue("inactive");
+        request.setIds(List.of(first, Long.MAX_VALUE, second, first));
+
+        Result<BulkOperationResponse> result = adminController.bulkUpdateUsers(request);
+
+        BulkOperationResponse response = result.getData();
+        assertEquals(3, response.getTotal());
+        assertEquals(2, response.getSucceeded());
+        assertEquals(List.of(first, Long.MAX_VALUE, second),
+                response.getResults().stream().map(BulkOperationResponse.ItemResult::getId).toList());
+        assertFalse(response.getResults().get(1).isSuccess());
+        assertEquals("用户不存在", response.getResults().get(1).getMessage());
+        assertEquals("inactive", userService.getSafetyUserById(second).getUserStatus());
+
+        request.setAction("delete");
+        request.setIds(List.of(first, second));
+        assertEquals(2, adminController.bulkUpdateUsers(request).getData().getSucceeded());
+        assertNull(userService.getSafetyUserById(first));
+    }
+
+    /**
+     * 测试批量操作 - 未指定用户ID也未指定筛选条件
+     */
+    @Test
+    void testBulkUpdateUsersWithoutTargets() {
+        BulkUserRequest request = new BulkUserRequest();
+        request.setAction("role");
+        request.setValue("admin");
+        request.setFilter(new BulkUserRequest.Filter());
+
+        BusinessException exception = assertThrows(BusinessException.class, () -> {
+            adminController.bulkUpdateUsers(request);
+        });
+        assertEquals(ErrorCode.PARAMS_ERROR.getCode(), exception.getCode());
+        assertEquals("请指定用户ID列表或筛选条件", exception.getDescription());
+    }
+
+    /**
+     * 测试批量导入用户 - CSV，失败行返回行号和原因，其余行正常导入
+     */
+    @Test
+    void testImportUsers() throws Exception {
+        long suffix = System.nanoTime();
+        String csv = "userAccount,userPassword,passwordHash,username,gender\n"
+                + "imp" + suffix + "a,12345678,,\"Alice, A\",female\n"
+                + "imp" + suffix + "b,,$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy,,\n"
+                + "imp" + suffix + "a,12345678,,,\n"
+                + "imp" + suffix + "c,123,,,\n";
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContentType("text/csv");
+        request.setContent(csv.getBytes(StandardCharsets.UTF_8));
+
+        UserImportResponse response = adminController.importUsers(null, request).getData();
+
+        assertEquals("completed", response.getStatus());
+        assertEquals(4, response.getRowsRead());
+        assertEquals(2, response.getImported());
+        assertEquals(2, response.getFailed());
+        assertEquals(List.of(4L, 5L), response.getErrors().stream().map(UserImportResponse.RowError::getLine).toList());
+        assertEquals("文件中账号重复", response.getErrors().get(0).getMessage());
+        assertNotNull(userService.userLogin("imp" + suffix + "a", "12345678", new MockHttpServletRequest()));
+        assertEquals(response.getJobId(), adminController.listImportJobs().getData().get(0).getJobId());
+    }
+
+    /**
+     * 测试批量导入用户 - 未指定格式
+     */
+    @Test
+    void testImportUsersWithoutFormat() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(new byte[0]);
+
+        BusinessException exception = assertThrows(BusinessException.class, () -> {
+            adminController.importUsers(null, request);
+        });
+        assertEquals(ErrorCode.PARAMS_ERROR.getCode(), exception.getCode());
+    }
+
+    /**
+     * 测试导出用户 - NDJSON 每行一个用户且不含密码，CSV 字段按需加引号，包含登录统计并支持按最近登录时间过滤
+     */
+    @Test
+    void testExportUsers() throws Exception {
+        LocalDateTime start = LocalDateTime.now().minusSeconds(1);
+        String account = "exp" + System.nanoTime();
+        long userId = userService.userRegister(account, "12345678", "12345678");
+        User update = new User();
+        update.setId(userId);
+        update.setUsername("Bob, \"B\"");
+        userService.updateById(update);
+        loginStatsBuffer.record(userId, "10.0.0.9");
+        loginStatsBuffer.flush();
+
+        MockHttpServletResponse ndjson = new MockHttpServletResponse();
+        adminController.exportUsers("ndjson", null, null, null, start, null, ndjson);
+        String ndjsonLine = ndjson.getContentAsString(StandardCharsets.UTF_8).lines()
+                .filter(line -> line.contains(account)).findFirst().orElseThrow();
+        UserDTO exported = JSON.parseObject(ndjsonLine, UserDTO.class);
+        assertEquals(account, exported.getUserAccount());
+        assertEquals(1, exported.getLoginCount());
+        assertFalse(ndjsonLine.contains("password"));
+
+        MockHttpServletResponse csv = new MockHttpServletResponse();
+        adminController.exportUsers("csv", null, null, null, start, null, csv);
+        List<String> lines = csv.getContentAsString(StandardCharsets.UTF_8).lines().toList();
+        assertTrue(lines.get(0).startsWith("id,userAccount,username,"));
+        assertTrue(lines.get(0).endsWith(",createTime,lastLoginTime,lastLoginIp,loginCount"));
+        String csvLine = lines.stream().filter(line -> line.startsWith(userId + ",")).findFirst().orElseThrow();
+        assertTrue(csvLine.startsWith(userId + "," + account + ",\"Bob, \"\"B\"\"\",,unknown,,,active,user,"), csvLine);
+        assertTrue(csvLine.endsWith(",10.0.0.9,1"), csvLine);
+
+        // 上限早于登录时间时不导出
+        MockHttpServletResponse before = new MockHttpServletResponse();
+        adminController.exportUsers("ndjson", null, null, null, null, start, before);
+        assertFalse(before.getContentAsString(StandardCharsets.UTF_8).contains(account));
+    }
+
+    /**
+     * 测试强制用户下线 - 该用户已签发的全部 Token 立即失效，其他用户的 Token 不受影响，重新登录后可以正常使用
+     */
+    @Test
+    void testRevokeUserSessions() {
+        String account = "revoke" + System.nanoTime();
+        long userId = userService.userRegister(account, "12345678", "12345678");
+        String otherAccount = "keep" + System.nanoTime();
+        userService.userRegister(otherAccount, "12345678", "12345678");
+        String first = login(account);
+        String second = login(account);
+        String other = login(otherAccount);
+        assertNotNull(tokenUtils.verifyToken(first));
+        assertNotNull(tokenUtils.verifyToken(second));
+        assertEquals(2, adminController.listUserSessions(userId).getData().size());
+
+        assertEquals(2, adminController.revokeUserSessions(userId).getData());
+        assertNull(tokenUtils.verifyToken(first));
+        assertNull(tokenUtils.verifyToken(second));
+        assertTrue(adminController.listUserSessions(userId).getData().isEmpty());
+        assertNotNull(tokenUtils.verifyToken(other));
+
+        assertNotNull(tokenUtils.verifyToken(login(account)));
+    }
+
+    /**
+     * 测试会话版本戳 - 管理员修改角色或状态后，已签发的 Token 在下一次验证时即返回最新数据，无需重新登录
+     */
+    @Test
+    void testUserChangeVisibleOnNextRequest() {
+        String account = "stamp" + System.nanoTime();
+        long userId = userService.userRegister(account, "12345678", "12345678");
+        String token = login(account);
+        UserDTO before = tokenUtils.verifyToken(token);
+        assertEquals("user", before.getUserRole());
+        assertEquals("active", before.getUserStatus());
+
+        AdminUpdateUserRequest promote = new AdminUpdateUserRequest();
+        promote.setUserRole("admin");
+        assertTrue(adminController.patchUser(userId, promote).getData());
+        assertEquals("admin", tokenUtils.verifyToken(token).getUserRole());
+
+        AdminUpdateUserRequest deactivate = new AdminUpdateUserRequest();
+        deactivate.setUserStatus("inactive");
+        assertTrue(adminController.patchUser(userId, deactivate).getData());
+        UserDTO after = tokenUtils.verifyToken(token);
+        assertEquals("inactive", after.getUserStatus());
+        assertEquals("admin", after.getUserRole());
+        assertEquals(1, adminController.listUserSessions(userId).getData().size());
+    }
+
+    /**
+     * 测试滑动续期 - 剩余有效期高于阈值时不续期（不写 Redis），低于阈值时才续期到完整的过期时间
+     */
+    @Test
+    void testRenewalSkippedAboveThreshold() {
+        String account = "renew" + System.nanoTime();
+        userService.userRegister(account, "12345678", "12345678");
+        String token = login(account);
+        long threshold = tokenProperties.getRenewThreshold().toMillis();
+        long expire = tokenProperties.getExpire().toMillis();
+        double skipped = renewalCount("skipped");
+        double performed = renewalCount("performed");
+
+        // 近端缓存命中时不访问 Redis，每次验证前清除，保证走续期脚本
+        long aboveThreshold = threshold + 60_000;
+        stringRedisTemplate.expire(token, aboveThreshold, TimeUnit.MILLISECONDS);
+        tokenNearCache.onTokenInvalidated(token);
+        assertNotNull(tokenUtils.verifyToken(token));
+        assertTrue(stringRedisTemplate.getExpire(token, TimeUnit.MILLISECONDS) <= aboveThreshold);
+        assertEquals(skipped + 1, renewalCount("skipped"));
+        assertEquals(performed, renewalCount("performed"));
+
+        stringRedisTemplate.expire(token, threshold - 60_000, TimeUnit.MILLISECONDS);
+        tokenNearCache.onTokenInvalidated(token);
+        assertNotNull(tokenUtils.verifyToken(token));
+        assertTrue(stringRedisTemplate.getExpire(token, TimeUnit.MILLISECONDS) > expire - 60_000);
+        assertEquals(performed + 1, renewalCount("performed"));
+    }
+
+    private double renewalCount(String result) {
+        return meterRegistry.get("userhub.token.renewal").tag("result", result).counter().count();
+    }
+
+    /**
+     * 登录并返回 Token
+     */
+    private String login(String account) {
+        UserLoginRequest request = new UserLoginRequest();
+        request.setUserAccount(account);
+        request.setUserPassword("12345678");
+        return authController.login(request, null).getData().getToken();
+    }
+}
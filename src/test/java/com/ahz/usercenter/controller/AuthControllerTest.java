@@ -3,6 +3,7 @@ package com.ahz.usercenter.controller;
 import com.ahz.usercenter.common.ErrorCode;
 import com.ahz.usercenter.common.Result;
 import com.ahz.usercenter.exception.BusinessException;
+import com.ahz.usercenter.model.domain.request.AccountAvailabilityRequest;
 import com.ahz.usercenter.model.domain.request.UserLoginRequest;
 import com.ahz.usercenter.model.domain.request.UserRegisterRequest;
 import com.ahz.usercenter.model.domain.response.LoginResponse;
@@ -11,6 +12,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import jakarta.annotation.Resource;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -100,6 +103,22 @@ class AuthControllerTest {
         assertEquals(ErrorCode.PARAMS_ERROR.getCode(), exception.getCode());
     }
 
+    /**
+     * 测试用户登录 - 注册规则收紧前的账号和密码（含特殊字符、密码过短）不在登录时拒绝，而是照常查询账号
+     */
+    @Test
+    void testLoginDoesNotApplyRegisterRules() {
+        UserLoginRequest request = new UserLoginRequest();
+        request.setUserAccount("[old]" + System.nanoTime());
+        request.setUserPassword("123");
+
+        BusinessException exception = assertThrows(BusinessException.class, () -> {
+            authController.login(request, null);
+        });
+        assertEquals(ErrorCode.PARAMS_ERROR.getCode(), exception.getCode());
+        assertEquals("用户不存在或密码错误", exception.getDescription());
+    }
+
     /**
      * 测试用户注册 - 正常情况
      */
@@ -119,6 +138,32 @@ class AuthControllerTest {
         assertTrue(result.getData() > 0);
     }
 
+    /**
+     * 测试批量查询账号是否可用 - 已注册、未注册、格式不合法的账号
+     */
+    @Test
+    void testCheckAccountAvailability() {
+        String account = "avail" + System.currentTimeMillis();
+        UserRegisterRequest registerRequest = new UserRegisterRequest();
+        registerRequest.setUserAccount(account);
+        registerRequest.setUserPassword("12345678");
+        registerRequest.setCheckPassword("12345678");
+        authController.register(registerRequest);
+
+        AccountAvailabilityRequest request = new AccountAvailabilityRequest();
+        request.setUserAccounts(List.of(account, account + "x", "a b"));
+        Result<Map<String, Boolean>> result = authController.checkAccountAvailability(request);
+        assertEquals(0, result.getCode());
+        assertEquals(Boolean.FALSE, result.getData().get(account));
+        assertEquals(Boolean.TRUE, result.getData().get(account + "x"));
+        assertEquals(Boolean.FALSE, result.getData().get("a b"));
+
+        AccountAvailabilityRequest emptyRequest = new AccountAvailabilityRequest();
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> authController.checkAccountAvailability(emptyRequest));
+        assertEquals(ErrorCode.PARAMS_ERROR.getCode(), exception.getCode());
+    }
+
     /**
      * 测试用户注册 - 请求为null
      */
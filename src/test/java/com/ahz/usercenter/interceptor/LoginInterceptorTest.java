@@ -0,0 +1,124 @@
+package com.ahz.usercenter.interceptor;
+
+import com.ahz.usercenter.common.ErrorCode;
+import com.ahz.usercenter.controller.AdminController;
+import com.ahz.usercenter.controller.AuditLogController;
+import com.ahz.usercenter.controller.UserController;
+import com.ahz.usercenter.exception.BusinessException;
+import com.ahz.usercenter.model.dto.UserDTO;
+import com.ahz.usercenter.utils.TokenUtils;
+import com.ahz.usercenter.utils.UserContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 登录拦截器测试
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+class LoginInterceptorTest {
+
+    private static final String USER_TOKEN = "USER_TOKEN:2:user";
+
+    private static final String ADMIN_TOKEN = "USER_TOKEN:1:admin";
+
+    private final LoginInterceptor interceptor = new LoginInterceptor();
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private HandlerMethod userListHandler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TokenUtils tokenUtils = mock(TokenUtils.class);
+        when(tokenUtils.verifyToken(anyString())).thenReturn(null);
+        when(tokenUtils.verifyToken(USER_TOKEN)).thenReturn(user(2L, "user"));
+        when(tokenUtils.verifyToken(ADMIN_TOKEN)).thenReturn(user(1L, "admin"));
+        ReflectionTestUtils.setField(interceptor, "tokenUtils", tokenUtils);
+        userListHandler = new HandlerMethod(new AdminController(), AdminController.class.getMethod("getUserList",
+                Long.class, Long.class, String.class, String.class, Integer.class,
+                LocalDateTime.class, LocalDateTime.class, String.class, String.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        UserContext.clear();
+    }
+
+    /**
+     * 测试普通用户访问管理员接口 - 无论请求路径如何书写（;参数、百分号编码），只要解析到管理员控制器即拒绝
+     */
+    @Test
+    void testAdminHandlerRejectsNonAdminForAnyPathSpelling() {
+        for (String uri : new String[]{"/api/v1/users", "/api/v1/users;x", "/api/v1/%75sers", "/api/v1/users/"}) {
+            BusinessException exception = assertThrows(BusinessException.class,
+                    () -> interceptor.preHandle(request("GET", uri, USER_TOKEN), response, userListHandler), uri);
+            assertEquals(ErrorCode.NO_AUTH.getCode(), exception.getCode(), uri);
+        }
+    }
+
+    /**
+     * 测试审计日志接口同样需要管理员角色
+     */
+    @Test
+    void testAuditLogHandlerRequiresAdmin() throws Exception {
+        HandlerMethod handler = new HandlerMethod(new AuditLogController(), AuditLogController.class.getMethod("listAuditLogs",
+                String.class, Integer.class, String.class, Long.class, Long.class));
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> interceptor.preHandle(request("GET", "/api/v1/audit-logs;x", USER_TOKEN), response, handler));
+        assertEquals(ErrorCode.NO_AUTH.getCode(), exception.getCode());
+        assertTrue(interceptor.preHandle(request("GET", "/api/v1/audit-logs", ADMIN_TOKEN), response, handler));
+    }
+
+    /**
+     * 测试管理员访问管理员接口、普通用户访问自己的接口 - 放行并写入用户上下文
+     */
+    @Test
+    void testAllowedRequests() throws Exception {
+        assertTrue(interceptor.preHandle(request("GET", "/api/v1/users", ADMIN_TOKEN), response, userListHandler));
+        assertEquals(1L, UserContext.getUserId());
+
+        HandlerMethod meHandler = new HandlerMethod(new UserController(), "getCurrentUser");
+        assertTrue(interceptor.preHandle(request("GET", "/api/v1/users/me", USER_TOKEN), response, meHandler));
+        assertEquals(2L, UserContext.getUserId());
+    }
+
+    /**
+     * 测试缺少或无效的 Token - 未登录
+     */
+    @Test
+    void testMissingOrInvalidToken() {
+        BusinessException missing = assertThrows(BusinessException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/users"), response, userListHandler));
+        assertEquals(ErrorCode.NOT_LOGIN.getCode(), missing.getCode());
+        BusinessException invalid = assertThrows(BusinessException.class,
+                () -> interceptor.preHandle(request("GET", "/api/v1/users", "USER_TOKEN:bad"), response, userListHandler));
+        assertEquals(ErrorCode.NOT_LOGIN.getCode(), invalid.getCode());
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.addHeader("Authorization", token);
+        return request;
+    }
+
+    private static UserDTO user(Long id, String role) {
+        UserDTO user = new UserDTO();
+        user.setId(id);
+        user.setUserRole(role);
+        return user;
+    }
+}
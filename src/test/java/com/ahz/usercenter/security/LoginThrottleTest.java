@@ -0,0 +1,73 @@
+package com.ahz.usercenter.security;
+
+import com.ahz.usercenter.common.ErrorCode;
+import com.ahz.usercenter.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import jakarta.annotation.Resource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 登录限流测试（使用真实 Redis 执行 Lua 脚本）
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@SpringBootTest(properties = {
+        "userhub.login-throttle.account.max-attempts=3",
+        "userhub.login-throttle.account.lockout=2s",
+        "userhub.login-throttle.account.max-lockout=3s"
+})
+class LoginThrottleTest {
+
+    @Resource
+    private LoginThrottle loginThrottle;
+
+    @Resource
+    private StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 测试超出次数后锁定，锁定期间由本地缓存直接拒绝，再次锁定时时长翻倍（不超过上限）
+     */
+    @Test
+    void testLockoutAndLocalPreFilter() {
+        String account = "throttle" + System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.check(account, null);
+        }
+        BusinessException exception = assertThrows(BusinessException.class, () -> loginThrottle.check(account, null));
+        assertEquals(ErrorCode.TOO_MANY_REQUESTS.getCode(), exception.getCode());
+        assertEquals("登录尝试过于频繁，请 2 秒后重试", exception.getDescription());
+
+        // 删除 Redis 中的锁定后仍被拒绝：说明没有访问 Redis
+        stringRedisTemplate.delete("LOGIN_THROTTLE:ACCOUNT:" + account + ":LOCK");
+        assertThrows(BusinessException.class, () -> loginThrottle.check(account, null));
+
+        // 第二次锁定：2s * 2 = 4s，受上限限制为 3s
+        assertDoesNotThrow(() -> Thread.sleep(2100));
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.check(account, null);
+        }
+        exception = assertThrows(BusinessException.class, () -> loginThrottle.check(account, null));
+        assertEquals("登录尝试过于频繁，请 3 秒后重试", exception.getDescription());
+    }
+
+    /**
+     * 测试登录成功后清除账号的尝试记录
+     */
+    @Test
+    void testReset() {
+        String account = "throttle" + System.nanoTime();
+        String clientIp = "ip-" + account;
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.check(account, clientIp);
+        }
+        loginThrottle.reset(account);
+        assertDoesNotThrow(() -> loginThrottle.check(account, clientIp));
+        // IP 维度不因登录成功清零
+        assertEquals(4L, stringRedisTemplate.opsForZSet().size("LOGIN_THROTTLE:IP:" + clientIp + ":ATTEMPTS"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.ahz.usercenter.security;
+
+import com.ahz.usercenter.common.ErrorCode;
+import com.ahz.usercenter.config.PasswordProperties;
+import com.ahz.usercenter.exception.BusinessException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 密码哈希执行器测试
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+class PasswordHashExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PasswordHashExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        PasswordEncoder blockingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return ("hash:" + rawPassword).equals(encodedPassword);
+            }
+        };
+        PasswordProperties properties = new PasswordProperties();
+        properties.getHashPool().setParallelism(1);
+        properties.getHashPool().setQueueCapacity(1);
+        executor = new PasswordHashExecutor();
+        ReflectionTestUtils.setField(executor, "passwordEncoder", blockingEncoder);
+        ReflectionTestUtils.setField(executor, "passwordProperties", properties);
+        ReflectionTestUtils.setField(executor, "meterRegistry", meterRegistry);
+        executor.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.destroy();
+    }
+
+    /**
+     * 测试正常加密和校验
+     */
+    @Test
+    void testEncodeAndMatches() {
+        release.countDown();
+        assertEquals("hash:12345678", executor.encode("12345678"));
+        assertTrue(executor.matches("12345678", "hash:12345678"));
+        assertFalse(executor.matches("wrong", "hash:12345678"));
+        assertEquals(2, meterRegistry.get("userhub.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    /**
+     * 测试线程池和队列都满时快速失败
+     */
+    @Test
+    void testSaturationFailsFast() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> executor.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> executor.encode("b"));
+        while (meterRegistry.get("userhub.password.hash.queue.size").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        BusinessException e = assertThrows(BusinessException.class, () -> executor.encode("c"));
+        assertEquals(ErrorCode.SYSTEM_BUSY.getCode(), e.getCode());
+        assertEquals(1, meterRegistry.get("userhub.password.hash.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("hash:a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash:b", queued.get(5, TimeUnit.SECONDS));
+    }
+}
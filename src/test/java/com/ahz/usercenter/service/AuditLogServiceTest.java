@@ -0,0 +1,54 @@
+package com.ahz.usercenter.service;
+
+import com.ahz.usercenter.contant.AuditConstant;
+import com.ahz.usercenter.model.domain.AuditLog;
+import com.ahz.usercenter.model.domain.response.CursorPageResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import jakarta.annotation.Resource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 审计日志服务测试
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+@SpringBootTest
+class AuditLogServiceTest {
+
+    @Resource
+    private AuditLogService auditLogService;
+
+    /**
+     * 测试事件经缓冲区批量写入后，可按时间倒序游标分页完整读出
+     */
+    @Test
+    void testRecordFlushAndKeysetPagination() {
+        long targetId = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            auditLogService.record(AuditConstant.ADMIN_UPDATE_USER, 1L, "admin", targetId, true, "e" + i);
+        }
+        auditLogService.flush();
+
+        List<String> details = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageResponse<AuditLog> page = auditLogService.listLogs(cursor, 2, null, null, targetId);
+            page.getRecords().forEach(log -> details.add(log.getDetail()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        assertEquals(3, pages);
+        assertEquals(List.of("e4", "e3", "e2", "e1", "e0"), details);
+
+        CursorPageResponse<AuditLog> filtered = auditLogService.listLogs(null, 10, AuditConstant.LOGOUT, null, targetId);
+        assertTrue(filtered.getRecords().isEmpty());
+        assertFalse(filtered.isHasMore());
+    }
+}
@@ -0,0 +1,66 @@
+package com.ahz.usercenter.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 布隆过滤器测试
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+class BloomFilterTest {
+
+    /**
+     * 测试已写入的元素一定命中，未写入元素的误判率接近配置值
+     */
+    @Test
+    void testNoFalseNegativesAndFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(BloomFilter.hash("user" + i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(BloomFilter.hash("user" + i)));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(BloomFilter.hash("other" + i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 1_500, "false positives: " + falsePositives);
+    }
+
+    /**
+     * 测试位图按 Redis SETBIT 的顺序排列（偏移量 0 为第一个字节的最高位），可与其他副本合并
+     */
+    @Test
+    void testRedisBitLayoutAndMerge() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        long[] offsets = filter.put(BloomFilter.hash("alice"));
+        byte[] bytes = filter.toByteArray();
+        for (long offset : offsets) {
+            assertNotEquals(0, bytes[(int) (offset / 8)] & (1 << (7 - offset % 8)));
+        }
+
+        BloomFilter replica = new BloomFilter(100, 0.01);
+        assertFalse(replica.mightContain(BloomFilter.hash("alice")));
+        replica.merge(bytes);
+        assertTrue(replica.mightContain(BloomFilter.hash("alice")));
+    }
+
+    /**
+     * 测试所需位数超过 Redis 位图上限（2^32 位）时拒绝创建，而不是截断位数放大误判率
+     */
+    @Test
+    void testRejectsBitmapOverRedisLimit() {
+        long maxCapacity = BloomFilter.maxCapacity(0.01);
+        assertTrue(maxCapacity > 400_000_000L, "max capacity: " + maxCapacity);
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(maxCapacity + maxCapacity / 100, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10_000_000_000L, 0.01));
+        // 误判率越低，单层可容纳的元素越少
+        assertTrue(BloomFilter.maxCapacity(0.0001) < maxCapacity);
+    }
+}
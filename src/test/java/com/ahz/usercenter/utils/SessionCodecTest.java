@@ -0,0 +1,133 @@
+package com.ahz.usercenter.utils;
+
+import com.ahz.usercenter.model.dto.UserDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 会话编解码器测试
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+class SessionCodecTest {
+
+    private final BinarySessionCodec binaryCodec = new BinarySessionCodec();
+
+    private final JsonSessionCodec jsonCodec = new JsonSessionCodec();
+
+    private UserDTO fullUser() {
+        UserDTO user = new UserDTO();
+        user.setId(123456789L);
+        user.setUsername("测试用户");
+        user.setUserAccount("testuser");
+        user.setAvatarUrl("https://example.com/avatar.jpg");
+        user.setGender("male");
+        user.setPhone("12345678901");
+        user.setEmail("test@example.com");
+        user.setUserStatus("active");
+        user.setCreateTime(new Date(1700000000000L));
+        user.setUserRole("admin");
+        return user;
+    }
+
+    /**
+     * 测试二进制编解码 - 全部字段
+     */
+    @Test
+    void testBinaryRoundTrip() {
+        UserDTO user = fullUser();
+        assertEquals(user, binaryCodec.decode(binaryCodec.encode(user)));
+    }
+
+    /**
+     * 测试二进制编解码 - 部分字段为 null
+     */
+    @Test
+    void testBinaryRoundTripWithNullFields() {
+        UserDTO user = new UserDTO();
+        user.setId(1L);
+        user.setUserRole("user");
+        assertEquals(user, binaryCodec.decode(binaryCodec.encode(user)));
+    }
+
+    /**
+     * 测试二进制编解码 - 枚举字段为未知取值
+     */
+    @Test
+    void testBinaryRoundTripWithUnknownEnumValue() {
+        UserDTO user = fullUser();
+        user.setGender("other");
+        user.setUserRole("auditor");
+        UserDTO decoded = binaryCodec.decode(binaryCodec.encode(user));
+        assertEquals("other", decoded.getGender());
+        assertEquals("auditor", decoded.getUserRole());
+    }
+
+    /**
+     * 测试二进制格式比 JSON 更紧凑
+     */
+    @Test
+    void testBinaryIsSmallerThanJson() {
+        UserDTO user = fullUser();
+        assertTrue(binaryCodec.encode(user).length < jsonCodec.encode(user).length);
+    }
+
+    /**
+     * 测试格式识别 - 两种格式互不冲突
+     */
+    @Test
+    void testSupports() {
+        UserDTO user = fullUser();
+        byte[] binary = binaryCodec.encode(user);
+        byte[] json = jsonCodec.encode(user);
+        assertTrue(binaryCodec.supports(binary));
+        assertFalse(jsonCodec.supports(binary));
+        assertTrue(jsonCodec.supports(json));
+        assertFalse(binaryCodec.supports(json));
+        assertEquals(user.getId(), jsonCodec.decode(json).getId());
+    }
+
+    /**
+     * 测试二进制解码 - 格式版本不兼容时返回 null
+     */
+    @Test
+    void testBinaryDecodeWithUnknownVersion() {
+        byte[] data = binaryCodec.encode(fullUser());
+        data[1] = 99;
+        assertNull(binaryCodec.decode(data));
+    }
+
+    /**
+     * 测试二进制解码 - 数据截断、字符串长度越界或枚举码无效时返回 null，而不是抛出异常
+     */
+    @Test
+    void testBinaryDecodeWithCorruptData() {
+        byte[] data = binaryCodec.encode(fullUser());
+        for (int length = 4; length < data.length; length++) {
+            assertNull(binaryCodec.decode(Arrays.copyOf(data, length)), "truncated at " + length);
+        }
+
+        UserDTO user = new UserDTO();
+        user.setGender("male");
+        byte[] gender = binaryCodec.encode(user);
+        gender[gender.length - 1] = 9;
+        assertNull(binaryCodec.decode(gender));
+
+        user = new UserDTO();
+        user.setUsername("abc");
+        byte[] username = binaryCodec.encode(user);
+        // 长度字段（zigzag varint）改为 63，超出剩余字节
+        username[4] = 0x7E;
+        assertNull(binaryCodec.decode(username));
+
+        byte[] varint = {BinarySessionCodec.MAGIC, BinarySessionCodec.FORMAT_VERSION, 0, 1,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 1};
+        assertNull(binaryCodec.decode(varint));
+    }
+}
@@ -0,0 +1,85 @@
+package com.ahz.usercenter.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 签名 Token 编解码测试
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+class SignedTokenCodecTest {
+
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+    private final SignedTokenCodec codec = new SignedTokenCodec(SECRET);
+
+    private SignedTokenCodec.Claims claims() {
+        return new SignedTokenCodec.Claims("abc123", 42L, "admin", "active", 1_700_000_000_000L, 1_700_007_200_000L);
+    }
+
+    /**
+     * 测试签发后校验 - 声明完整还原
+     */
+    @Test
+    void testSignAndVerify() {
+        String token = codec.sign(claims());
+        assertTrue(SignedTokenCodec.isSignedToken(token));
+        assertEquals(claims(), codec.verify(token));
+    }
+
+    /**
+     * 测试空角色和状态
+     */
+    @Test
+    void testNullRoleAndStatus() {
+        SignedTokenCodec.Claims claims = new SignedTokenCodec.Claims("x", 1L, null, null, 0L, 1L);
+        assertEquals(claims, codec.verify(codec.sign(claims)));
+    }
+
+    /**
+     * 测试篡改载荷或使用其他密钥 - 校验失败
+     */
+    @Test
+    void testTamperedToken() {
+        String token = codec.sign(claims());
+        String forged = codec.sign(new SignedTokenCodec.Claims("abc123", 42L, "admin", "active", 0L, Long.MAX_VALUE));
+        String tampered = forged.substring(0, forged.lastIndexOf('.')) + token.substring(token.lastIndexOf('.'));
+        assertNull(codec.verify(tampered));
+
+        SignedTokenCodec other = new SignedTokenCodec("fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8));
+        assertNull(other.verify(token));
+    }
+
+    /**
+     * 测试非签名格式 - 返回 null
+     */
+    @Test
+    void testMalformedToken() {
+        assertFalse(SignedTokenCodec.isSignedToken("USER_TOKEN:abc"));
+        assertNull(codec.verify("USER_TOKEN:abc"));
+        assertNull(codec.verify("v1.abc"));
+        assertNull(codec.verify("v1.!!!.???"));
+    }
+
+    /**
+     * 测试过期判断
+     */
+    @Test
+    void testExpired() {
+        assertFalse(claims().isExpired(1_700_000_000_000L));
+        assertTrue(claims().isExpired(1_700_007_200_000L));
+    }
+
+    /**
+     * 测试密钥过短 - 拒绝创建
+     */
+    @Test
+    void testShortSecret() {
+        assertThrows(IllegalArgumentException.class, () -> new SignedTokenCodec("short".getBytes(StandardCharsets.UTF_8)));
+    }
+}
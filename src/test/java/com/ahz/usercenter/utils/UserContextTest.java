@@ -0,0 +1,110 @@
+package com.ahz.usercenter.utils;
+
+import com.ahz.usercenter.model.dto.UserDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 用户上下文测试
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+class UserContextTest {
+
+    @AfterEach
+    void tearDown() {
+        UserContext.clear();
+    }
+
+    /**
+     * 测试默认使用 ThreadLocal 存储
+     */
+    @Test
+    void testDefaultStorage() {
+        assertEquals(ContextStorage.ThreadLocalStorage.NAME, UserContext.storageName());
+    }
+
+    /**
+     * 测试作用域内设置的用户在作用域结束后自动失效
+     */
+    @Test
+    void testScopeUnbindsAfterRun() {
+        UserContext.runInScope(UserContext.newScope(), () -> {
+            UserContext.set(user(1L));
+            assertEquals(1L, UserContext.getUserId());
+        });
+        assertNull(UserContext.get());
+    }
+
+    /**
+     * 测试作用域内抛出的受检异常原样抛出
+     */
+    @Test
+    void testCheckedExceptionPropagates() {
+        IOException expected = new IOException("boom");
+        IOException actual = assertThrows(IOException.class,
+                () -> UserContext.runInScope(UserContext.newScope(), () -> {
+                    throw expected;
+                }));
+        assertSame(expected, actual);
+    }
+
+    /**
+     * 测试包装后的任务在其他线程中继承提交时的用户
+     */
+    @Test
+    void testWrapPropagatesToExecutor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Long[] seen = new Long[1];
+            UserContext.runInScope(UserContext.newScope(), () -> {
+                UserContext.set(user(2L));
+                executor.submit(UserContext.wrap(() -> seen[0] = UserContext.getUserId())).get();
+            });
+            assertEquals(2L, seen[0]);
+            // 未包装的任务看不到用户
+            assertNull(executor.submit(UserContext::getUserId).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 测试 ThreadLocal 存储：嵌套作用域结束后恢复外层作用域
+     */
+    @Test
+    void testThreadLocalStorageRestoresOuterScope() {
+        ContextStorage storage = new ContextStorage.ThreadLocalStorage();
+        UserContext.Scope outer = new UserContext.Scope(user(3L));
+        UserContext.Scope inner = new UserContext.Scope(user(4L));
+        storage.run(outer, () -> {
+            storage.run(inner, () -> assertSame(inner, storage.current()));
+            assertSame(outer, storage.current());
+        });
+        assertNull(storage.current());
+    }
+
+    /**
+     * 测试作用域之外设置用户时退回当前线程，clear 后清除
+     */
+    @Test
+    void testFallbackOutsideScope() {
+        UserContext.set(user(5L));
+        assertEquals(5L, UserContext.getUserId());
+        UserContext.clear();
+        assertNull(UserContext.get());
+    }
+
+    private static UserDTO user(Long id) {
+        UserDTO user = new UserDTO();
+        user.setId(id);
+        return user;
+    }
+}
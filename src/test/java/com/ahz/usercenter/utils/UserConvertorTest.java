@@ -1,9 +1,13 @@
 package com.ahz.usercenter.utils;
 
 import com.ahz.usercenter.model.domain.User;
+import com.ahz.usercenter.model.domain.request.AdminUpdateUserRequest;
+import com.ahz.usercenter.model.domain.request.UserUpdateRequest;
 import com.ahz.usercenter.model.dto.UserDTO;
 import org.junit.jupiter.api.Test;
 
+import java.util.Date;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -87,5 +91,62 @@ class UserConvertorTest {
         assertNull(userDTO.getId());
         assertNull(userDTO.getUsername());
     }
-}
 
+    /**
+     * 测试脱敏副本 - 不包含密码、更新时间和逻辑删除标记
+     */
+    @Test
+    void testToSafetyUser() {
+        User user = new User();
+        user.setId(1L);
+        user.setUserAccount("test@example.com");
+        user.setUserStatus("active");
+        user.setUserPassword("encrypted_password");
+        user.setUpdateTime(new Date());
+        user.setIsDelete(0L);
+
+        User safetyUser = UserConvertor.toSafetyUser(user);
+
+        assertNotSame(user, safetyUser);
+        assertEquals(user.getId(), safetyUser.getId());
+        assertEquals(user.getUserAccount(), safetyUser.getUserAccount());
+        assertEquals(user.getUserStatus(), safetyUser.getUserStatus());
+        assertNull(safetyUser.getUserPassword());
+        assertNull(safetyUser.getUpdateTime());
+        assertNull(safetyUser.getIsDelete());
+    }
+
+    /**
+     * 测试更新请求转换 - 空白字段视为未提供
+     */
+    @Test
+    void testFromUpdateRequest() {
+        UserUpdateRequest request = new UserUpdateRequest();
+        request.setUsername("新昵称");
+        request.setPhone(" ");
+
+        User user = UserConvertor.fromUpdateRequest(request, 7L);
+
+        assertEquals(7L, user.getId());
+        assertEquals("新昵称", user.getUsername());
+        assertNull(user.getPhone());
+        assertNull(user.getEmail());
+    }
+
+    /**
+     * 测试管理员更新请求转换 - ID 使用调用方传入的值
+     */
+    @Test
+    void testFromAdminUpdateRequest() {
+        AdminUpdateUserRequest request = new AdminUpdateUserRequest();
+        request.setId(8L);
+        request.setUserRole("admin");
+        request.setUserStatus("");
+
+        User user = UserConvertor.fromUpdateRequest(request, 9L);
+
+        assertEquals(9L, user.getId());
+        assertEquals("admin", user.getUserRole());
+        assertNull(user.getUserStatus());
+    }
+}
@@ -0,0 +1,55 @@
+package com.ahz.usercenter.utils;
+
+import com.ahz.usercenter.model.dto.UserDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 用户导出写出器测试
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+class UserExportWriterTest {
+
+    /**
+     * 测试 CSV 字段转义：包含逗号、双引号的字段用双引号包裹，以公式字符开头的字段加 ' 前缀，普通字段原样写出
+     */
+    @Test
+    void testCsvEscaping() throws IOException {
+        assertEquals("plain", csvCell("plain"));
+        assertEquals("\"a,b\"", csvCell("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", csvCell("say \"hi\""));
+        assertEquals("\"'=HYPERLINK(\"\"http://x\"\")\"", csvCell("=HYPERLINK(\"http://x\")"));
+        assertEquals("\"'+1\"", csvCell("+1"));
+        assertEquals("\"'-2+3\"", csvCell("-2+3"));
+        assertEquals("\"'@SUM(A1)\"", csvCell("@SUM(A1)"));
+        assertEquals("\"'\tx\"", csvCell("\tx"));
+        assertEquals("\"'\rx\"", csvCell("\rx"));
+        assertEquals("a=b", csvCell("a=b"));
+    }
+
+    /**
+     * 写出只填写了用户名的用户，返回 CSV 数据行中的用户名字段
+     */
+    private static String csvCell(String username) throws IOException {
+        UserDTO user = new UserDTO();
+        user.setId(1L);
+        user.setUsername(username);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        UserExportWriter writer = UserExportWriter.open(output, UserImportReader.FORMAT_CSV);
+        writer.write(user);
+        writer.flush();
+        String csv = output.toString(StandardCharsets.UTF_8);
+        String row = csv.substring(csv.indexOf('\n') + 1);
+        String prefix = "1,,";
+        String suffix = ",,,,,,,,,,\n";
+        assertTrue(row.startsWith(prefix) && row.endsWith(suffix), row);
+        return row.substring(prefix.length(), row.length() - suffix.length());
+    }
+}
@@ -0,0 +1,126 @@
+package com.ahz.usercenter.validation;
+
+import com.ahz.usercenter.common.ErrorCode;
+import com.ahz.usercenter.exception.BusinessException;
+import com.ahz.usercenter.model.domain.request.AdminUpdateUserRequest;
+import com.ahz.usercenter.model.domain.request.UserRegisterRequest;
+import com.ahz.usercenter.model.domain.request.UserUpdateRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 请求参数校验器测试
+ *
+ * @author ahz
+ * @version 3.1.0
+ */
+class RequestValidatorTest {
+
+    /**
+     * 旧版注册、登录校验中的正则
+     */
+    private static final Pattern LEGACY_REGISTER = Pattern.compile("[`~!@#$%^&*()+=|{}':;',\\\\[\\\\].<>/?~！@#￥%……&*（）——+|{}【】‘；：”“’。，、？]");
+
+    private static final Pattern LEGACY_LOGIN = Pattern.compile("[`~!@#$%^&*()+=|{}':;',\\\\[\\\\].<>/?~！@#￥%……&*（）——+|{}【】'；：\"\"'。，、？]");
+
+    /**
+     * 测试账号字符规则与旧版正则一致（另外禁止方括号）
+     */
+    @Test
+    void testAccountRuleMatchesLegacyPattern() {
+        for (char c = 0; c < Character.MIN_SURROGATE; c++) {
+            String value = "user" + c;
+            boolean legacyRejects = LEGACY_REGISTER.matcher(value).find() || LEGACY_LOGIN.matcher(value).find()
+                    || c == '[' || c == ']';
+            assertEquals(legacyRejects, !CharRule.ACCOUNT.accepts(value), "char U+" + Integer.toHexString(c));
+        }
+        assertTrue(CharRule.ACCOUNT.accepts("用户_test-01 😀"));
+    }
+
+    /**
+     * 测试注册请求按字段声明顺序校验，并使用注解中的提示
+     */
+    @Test
+    void testRegisterRequest() {
+        RequestValidator<UserRegisterRequest> validator = RequestValidator.of(UserRegisterRequest.class);
+        UserRegisterRequest request = new UserRegisterRequest();
+        request.setUserAccount("testuser");
+        request.setUserPassword("12345678");
+        request.setCheckPassword("12345678");
+        validator.validate(request);
+
+        request.setUserAccount("abc");
+        assertDescription("用户账号过短（至少4个字符）", () -> validator.validate(request));
+        request.setUserAccount("test#user");
+        assertDescription("账号包含特殊字符", () -> validator.validate(request));
+        request.setUserAccount("testuser");
+        request.setCheckPassword(" ");
+        assertDescription("参数为空", () -> validator.validate(request));
+        assertSame(validator, RequestValidator.of(UserRegisterRequest.class));
+    }
+
+    /**
+     * 测试长度按码点计算
+     */
+    @Test
+    void testLengthCountsCodePoints() {
+        FieldValidator account = RequestValidator.of(UserRegisterRequest.class).field("userAccount");
+        // 3 个码点、6 个 char
+        assertDescription("用户账号过短（至少4个字符）", () -> account.check("😀😀😀"));
+        account.check("😀😀😀😀");
+    }
+
+    /**
+     * 测试可选字段为空时跳过，提供时按规则校验
+     */
+    @Test
+    void testOptionalFields() {
+        RequestValidator<UserUpdateRequest> validator = RequestValidator.of(UserUpdateRequest.class);
+        UserUpdateRequest request = new UserUpdateRequest();
+        request.setEmail("");
+        validator.validate(request);
+
+        request.setAvatarUrl("https://example.com/avatar.jpg");
+        request.setGender("male");
+        request.setPhone("+86 138-0013-8000");
+        request.setEmail("user@example.com");
+        validator.validate(request);
+
+        request.setGender("男");
+        assertDescription("性别取值错误", () -> validator.validate(request));
+        request.setGender("unknown");
+        request.setPhone("138abc");
+        assertDescription("电话号码格式错误", () -> validator.validate(request));
+        request.setPhone(null);
+        request.setEmail("user@localhost");
+        assertDescription("邮箱格式错误", () -> validator.validate(request));
+        request.setEmail(null);
+        request.setAvatarUrl("javascript:alert(1)");
+        assertDescription("头像地址格式错误", () -> validator.validate(request));
+    }
+
+    /**
+     * 测试管理员更新请求的状态和角色取值
+     */
+    @Test
+    void testAdminUpdateRequest() {
+        RequestValidator<AdminUpdateUserRequest> validator = RequestValidator.of(AdminUpdateUserRequest.class);
+        AdminUpdateUserRequest request = new AdminUpdateUserRequest();
+        request.setUserStatus("banned");
+        request.setUserRole("admin");
+        validator.validate(request);
+
+        request.setUserRole("root");
+        assertDescription("用户角色取值错误", () -> validator.validate(request));
+        assertThrows(IllegalArgumentException.class, () -> validator.field("id"));
+    }
+
+    private static void assertDescription(String description, Runnable action) {
+        BusinessException exception = assertThrows(BusinessException.class, action::run);
+        assertEquals(ErrorCode.PARAMS_ERROR.getCode(), exception.getCode());
+        assertEquals(description, exception.getDescription());
+    }
+}